@@ -0,0 +1,87 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.AvailabilityHeatmap;
+import com.google.sps.EventIndex;
+import com.google.sps.IntervalSet;
+import com.google.sps.TimeRange;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building an {@code AvailabilityHeatmap} for a group against checking every person at
+ * every minute of the day.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityHeatmapBenchmark {
+  /** The number of people in the group. */
+  @Param({"10", "1000", "5000"})
+  public int groupSize;
+
+  private EventIndex index;
+  private List<String> group;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    SyntheticCalendar calendar = SyntheticCalendar.withEventCount(
+        42, 100000, 8, new int[] {10, 40, 20, 10, 5, 5, 5, 5}, 0);
+    index = new EventIndex(calendar.generateEvents());
+    group = new ArrayList<>(groupSize);
+    for (int i = 0; i < groupSize; i++) {
+      group.add(SyntheticCalendar.person(i % calendar.getPeople()));
+    }
+    // Merge every timeline up front, as a server that has been running would have.
+    for (String person : group) {
+      index.getBusyTimeline(person);
+    }
+  }
+
+  @Benchmark
+  public AvailabilityHeatmap heatmap() {
+    return AvailabilityHeatmap.of(index, group);
+  }
+
+  @Benchmark
+  public int[] countEachMinute() {
+    int[] free = new int[TimeRange.WHOLE_DAY.duration()];
+    for (String person : group) {
+      IntervalSet busyTimes = index.getBusyTimeline(person);
+      for (int minute = 0; minute < free.length; minute++) {
+        free[minute] += busyTimes.contains(minute) ? 0 : 1;
+      }
+    }
+    return free;
+  }
+}
@@ -0,0 +1,123 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.Event;
+import com.google.sps.EventIndex;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A synthetic calendar shared by the benchmarks. The JMH parameters below can be overridden on
+ * the command line, e.g. {@code -p eventCount=10000 -p optionalRatio=0.5}.
+ */
+@State(Scope.Thread)
+public class CalendarState {
+  // Enough different requests and ranges that the benchmarks don't keep hitting the same one.
+  private static final int SAMPLES = 1024;
+
+  // The size of the groups in quorum requests, and the fraction of each that must attend.
+  private static final int QUORUM_GROUP_SIZE = 500;
+  private static final double QUORUM = 0.8;
+
+  /** The approximate number of events in the calendar. */
+  @Param({"10000", "100000", "1000000"})
+  public int eventCount;
+
+  /** The average number of events each person attends. */
+  @Param({"8"})
+  public int eventsPerPerson;
+
+  /** Comma-separated weights of meeting sizes 1, 2, 3 and so on. */
+  @Param({"10,40,20,10,5,5,5,5"})
+  public String meetingSizeWeights;
+
+  /** The fraction of each request's attendees that are optional. */
+  @Param({"0.25"})
+  public double optionalRatio;
+
+  /** The seed for the generator, so that runs on different commits see the same calendar. */
+  @Param({"42"})
+  public long seed;
+
+  public List<Event> events;
+  public EventIndex index;
+  public MeetingRequest[] requests;
+  /** The same requests, asking only for the earliest time. */
+  public MeetingRequest[] earliestRequests;
+  /** The same requests, with 10 minutes of padding before and after. */
+  public MeetingRequest[] paddedRequests;
+  /** Requests for 80% of a 500-person group. */
+  public MeetingRequest[] quorumRequests;
+  public TimeRange[] ranges;
+
+  private int next = 0;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    int[] weights =
+        Arrays.stream(meetingSizeWeights.split(",")).mapToInt(Integer::parseInt).toArray();
+    SyntheticCalendar calendar = SyntheticCalendar.withEventCount(
+        seed, eventCount, eventsPerPerson, weights, optionalRatio);
+    events = calendar.generateEvents();
+    index = new EventIndex(events);
+    requests = calendar.generateRequests(SAMPLES).toArray(new MeetingRequest[0]);
+    earliestRequests = new MeetingRequest[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      MeetingRequest request = requests[i];
+      earliestRequests[i] = new MeetingRequest(request.getAttendees(), request.getDuration());
+      for (String optional : request.getOptionalAttendees()) {
+        earliestRequests[i].addOptionalAttendee(optional);
+      }
+      earliestRequests[i].setResultLimit(1);
+    }
+    paddedRequests = new MeetingRequest[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      MeetingRequest request = requests[i];
+      paddedRequests[i] = new MeetingRequest(request.getAttendees(), request.getDuration());
+      for (String optional : request.getOptionalAttendees()) {
+        paddedRequests[i].addOptionalAttendee(optional);
+      }
+      paddedRequests[i].setPaddingBefore(10);
+      paddedRequests[i].setPaddingAfter(10);
+    }
+    ranges = calendar.generateRanges(SAMPLES);
+    quorumRequests = new MeetingRequest[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      List<String> group = new ArrayList<>(QUORUM_GROUP_SIZE);
+      for (int j = 0; j < QUORUM_GROUP_SIZE; j++) {
+        group.add(SyntheticCalendar.person((i * QUORUM_GROUP_SIZE + j) % calendar.getPeople()));
+      }
+      quorumRequests[i] = new MeetingRequest(group, requests[i].getDuration());
+      quorumRequests[i].setMinAttendance((int) (QUORUM * quorumRequests[i].getAttendees().size()));
+    }
+  }
+
+  /**
+   * Returns the next sample index, cycling through the pre-generated requests and ranges.
+   */
+  public int nextSample() {
+    next = (next + 1) % SAMPLES;
+    return next;
+  }
+}
@@ -0,0 +1,86 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON reports (written with {@code -rf json}) and prints the change in score of
+ * every benchmark that appears in both, e.g. a report from before a change and one from after.
+ *
+ * <p>Usage: {@code java -cp target/benchmarks.jar com.google.sps.benchmarks.CompareReports
+ * before.json after.json}
+ */
+public final class CompareReports {
+  private CompareReports() {}
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: CompareReports <before.json> <after.json>");
+      System.exit(2);
+    }
+
+    Map<String, JsonObject> before = readScores(args[0]);
+    Map<String, JsonObject> after = readScores(args[1]);
+
+    System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Before", "After", "Change");
+    for (Map.Entry<String, JsonObject> entry : after.entrySet()) {
+      JsonObject old = before.get(entry.getKey());
+      if (old == null) {
+        continue;
+      }
+      double oldScore = old.get("score").getAsDouble();
+      double newScore = entry.getValue().get("score").getAsDouble();
+      String unit = entry.getValue().get("scoreUnit").getAsString();
+      System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %s%n", entry.getKey(), oldScore, newScore,
+          100 * (newScore - oldScore) / oldScore, unit);
+    }
+  }
+
+  /**
+   * Returns the primary metric of each benchmark in a report, keyed by the benchmark name and its
+   * parameters.
+   */
+  private static Map<String, JsonObject> readScores(String path) throws IOException {
+    Map<String, JsonObject> scores = new LinkedHashMap<>();
+    try (Reader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+      for (JsonElement element : JsonParser.parseReader(reader).getAsJsonArray()) {
+        JsonObject result = element.getAsJsonObject();
+        StringBuilder key = new StringBuilder(result.get("benchmark").getAsString());
+        if (result.has("params")) {
+          // Sort the parameters so that the key doesn't depend on their order in the file.
+          Map<String, String> params = new TreeMap<>();
+          for (Map.Entry<String, JsonElement> param :
+              result.getAsJsonObject("params").entrySet()) {
+            params.put(param.getKey(), param.getValue().getAsString());
+          }
+          key.append(' ').append(params);
+        }
+        scores.put(key.toString(), result.getAsJsonObject("primaryMetric"));
+      }
+    }
+    return scores;
+  }
+}
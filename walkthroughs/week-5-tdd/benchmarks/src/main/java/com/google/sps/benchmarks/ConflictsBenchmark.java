@@ -0,0 +1,91 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.Event;
+import com.google.sps.MeetingRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures finding the events a proposed event would clash with, for each of its attendees: with
+ * the per-attendee interval trees of {@code EventIndex.findConflicts}, and with a scan of every
+ * one of the attendee's events. The trees only pull ahead once people have many events, so try
+ * larger values of {@code eventsPerPerson} too.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConflictsBenchmark {
+  /**
+   * Proposed events: the attendees of each sample request, at one of the sample ranges.
+   */
+  @State(Scope.Thread)
+  public static class Proposals {
+    Event[] events;
+
+    @Setup(Level.Trial)
+    public void setUp(CalendarState calendar) {
+      events = new Event[calendar.requests.length];
+      for (int i = 0; i < events.length; i++) {
+        MeetingRequest request = calendar.requests[i];
+        List<String> attendees = new ArrayList<>(request.getAttendees());
+        attendees.addAll(request.getOptionalAttendees());
+        events[i] = new Event("Proposed " + i, calendar.ranges[i], attendees);
+      }
+    }
+  }
+
+  @Benchmark
+  public Map<String, List<Event>> findInTrees(CalendarState calendar, Proposals proposals) {
+    return calendar.index.findConflicts(proposals.events[calendar.nextSample()]);
+  }
+
+  /** Checks every event of each attendee against the proposed time. */
+  @Benchmark
+  public Map<String, List<Event>> scanEachAttendee(CalendarState calendar, Proposals proposals) {
+    Event proposed = proposals.events[calendar.nextSample()];
+    Map<String, List<Event>> conflicts = new TreeMap<>();
+    for (String attendee : proposed.getAttendees()) {
+      List<Event> found = new ArrayList<>();
+      for (Event event : calendar.index.getEvents(attendee)) {
+        if (proposed.getWhen().overlaps(event.getWhen())) {
+          found.add(event);
+        }
+      }
+      if (!found.isEmpty()) {
+        conflicts.put(attendee, found);
+      }
+    }
+    return conflicts;
+  }
+}
@@ -0,0 +1,124 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.EpochEvent;
+import com.google.sps.EpochEventIndex;
+import com.google.sps.EpochRange;
+import com.google.sps.Event;
+import com.google.sps.MeetingRequest;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures finding a group's events in a one-week window of a year of calendar data: a lookup
+ * in the per-attendee interval trees of an {@code EpochEventIndex} against a scan over every
+ * event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EpochEventIndexBenchmark {
+  // Enough different requests and windows that the benchmarks don't keep hitting the same one.
+  private static final int SAMPLES = 1024;
+  private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+  private static final int DAYS = 365;
+
+  /** The approximate number of events on each day. */
+  @Param({"1000"})
+  public int eventsPerDay;
+
+  private List<EpochEvent> events;
+  private EpochEventIndex index;
+  private List<Collection<String>> attendees;
+  private EpochRange[] windows;
+  private int next = 0;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    // Each day is generated from its own seed, with the same people attending.
+    int[] weights = {10, 40, 20, 10, 5, 5, 5, 5};
+    events = new ArrayList<>();
+    for (int day = 0; day < DAYS; day++) {
+      LocalDate date = FIRST_DAY.plusDays(day);
+      SyntheticCalendar calendar =
+          SyntheticCalendar.withEventCount(date.toEpochDay(), eventsPerDay, 8, weights, 0.25);
+      for (Event event : calendar.generateEvents()) {
+        events.add(EpochEvent.on(date, event));
+      }
+    }
+    index = new EpochEventIndex(events);
+
+    SyntheticCalendar calendar =
+        SyntheticCalendar.withEventCount(42, eventsPerDay, 8, weights, 0.25);
+    attendees = new ArrayList<>(SAMPLES);
+    windows = new EpochRange[SAMPLES];
+    for (MeetingRequest request : calendar.generateRequests(SAMPLES)) {
+      List<String> people = new ArrayList<>(request.getAttendees());
+      people.addAll(request.getOptionalAttendees());
+      LocalDate weekStart = FIRST_DAY.plusDays(attendees.size() * 7 % (DAYS - 7));
+      windows[attendees.size()] = EpochRange.ofDays(weekStart, weekStart.plusDays(6));
+      attendees.add(people);
+    }
+  }
+
+  private int nextSample() {
+    next = (next + 1) % SAMPLES;
+    return next;
+  }
+
+  @Benchmark
+  public List<EpochEvent> lookUpInIndex() {
+    int sample = nextSample();
+    return index.findEvents(attendees.get(sample), windows[sample]);
+  }
+
+  @Benchmark
+  public List<EpochEvent> scanAllEvents() {
+    int sample = nextSample();
+    Collection<String> people = attendees.get(sample);
+    EpochRange window = windows[sample];
+    List<EpochEvent> found = new ArrayList<>();
+    for (EpochEvent event : events) {
+      if (event.getWhen().overlaps(window)) {
+        for (String attendee : event.getAttendees()) {
+          if (people.contains(attendee)) {
+            found.add(event);
+            break;
+          }
+        }
+      }
+    }
+    return found;
+  }
+}
@@ -0,0 +1,90 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.AttendeeRegistry;
+import com.google.sps.Event;
+import com.google.sps.MeetingRequest;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures finding the events a meeting request's attendees are attending: a scan over every
+ * event, as the scheduler originally did, a scan that merges sorted attendee IDs instead, and a
+ * lookup in the {@code EventIndex}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EventFilterBenchmark {
+  /** The original filter: intersect every event's attendees with the requested attendees. */
+  @Benchmark
+  public List<Event> scanAllEvents(CalendarState calendar) {
+    MeetingRequest request = calendar.requests[calendar.nextSample()];
+    HashSet<String> attendees = new HashSet<>(request.getAttendees());
+    attendees.addAll(request.getOptionalAttendees());
+
+    List<Event> filtered = new ArrayList<>();
+    for (Event event : calendar.events) {
+      HashSet<String> combinedAttendees = new HashSet<>(attendees);
+      combinedAttendees.retainAll(event.getAttendees());
+      if (!combinedAttendees.isEmpty()) {
+        filtered.add(event);
+      }
+    }
+    return filtered;
+  }
+
+  /** The same scan, with a merge-scan over sorted attendee IDs per event. */
+  @Benchmark
+  public List<Event> scanAllEventsByAttendeeId(CalendarState calendar) {
+    MeetingRequest request = calendar.requests[calendar.nextSample()];
+    List<String> attendees = new ArrayList<>(request.getAttendees());
+    attendees.addAll(request.getOptionalAttendees());
+    int[] attendeeIds = AttendeeRegistry.getDefault().idsOf(attendees);
+
+    List<Event> filtered = new ArrayList<>();
+    for (Event event : calendar.events) {
+      if (event.hasAnyAttendee(attendeeIds)) {
+        filtered.add(event);
+      }
+    }
+    return filtered;
+  }
+
+  @Benchmark
+  public List<Event> lookUpInIndex(CalendarState calendar) {
+    MeetingRequest request = calendar.requests[calendar.nextSample()];
+    List<Event> filtered = new ArrayList<>();
+    for (String attendee : request.getAttendees()) {
+      filtered.addAll(calendar.index.getEvents(attendee));
+    }
+    for (String attendee : request.getOptionalAttendees()) {
+      filtered.addAll(calendar.index.getEvents(attendee));
+    }
+    return filtered;
+  }
+}
@@ -0,0 +1,82 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.Event;
+import com.google.sps.EventIndex;
+import com.google.sps.EventSort;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures sorting events by start time with {@code List.sort} and the comparator against
+ * {@code EventSort}'s counting sort. Both copy the unsorted events first, so the difference is
+ * the sort alone. The crossover between the two sets {@code EventSort.COUNTING_SORT_THRESHOLD}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSortBenchmark {
+  /** The number of events to sort. */
+  @Param({"16", "32", "64", "128", "1024", "100000"})
+  public int size;
+
+  private List<Event> events;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    SyntheticCalendar calendar =
+        SyntheticCalendar.withEventCount(42, size, 8, new int[] {10, 40, 20, 10, 5, 5, 5, 5}, 0);
+    events = calendar.generateEvents();
+  }
+
+  @Benchmark
+  public List<Event> listSort() {
+    List<Event> copy = new ArrayList<>(events);
+    copy.sort(EventIndex.ORDER_BY_START);
+    return copy;
+  }
+
+  @Benchmark
+  public List<Event> countingSort() {
+    List<Event> copy = new ArrayList<>(events);
+    EventSort.countingSortByStart(copy);
+    return copy;
+  }
+
+  /** Whichever of the two {@code EventSort} picks for the size. */
+  @Benchmark
+  public List<Event> sortByStart() {
+    List<Event> copy = new ArrayList<>(events);
+    EventSort.sortByStart(copy);
+    return copy;
+  }
+}
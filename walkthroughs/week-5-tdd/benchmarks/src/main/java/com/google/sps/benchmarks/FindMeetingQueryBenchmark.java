@@ -0,0 +1,89 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.QueryMetrics;
+import com.google.sps.TimeRange;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures {@code FindMeetingQuery.query} on a synthetic calendar. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FindMeetingQueryBenchmark {
+  @Param({"INTERVAL", "BITMAP"})
+  public FindMeetingQuery.Engine engine;
+
+  private FindMeetingQuery query;
+  private FindMeetingQuery measuredQuery;
+
+  @Setup
+  public void setUp() {
+    query = new FindMeetingQuery(engine);
+    measuredQuery = new FindMeetingQuery(engine, new QueryMetrics());
+  }
+
+  /** A query against an index that was built once, as QueryServlet does. */
+  @Benchmark
+  public Collection<TimeRange> queryIndex(CalendarState calendar) {
+    return query.query(calendar.index, calendar.requests[calendar.nextSample()]);
+  }
+
+  /** The same query, recording the time of each phase as QueryServlet does. */
+  @Benchmark
+  public Collection<TimeRange> queryIndexWithMetrics(CalendarState calendar) {
+    return measuredQuery.query(calendar.index, calendar.requests[calendar.nextSample()]);
+  }
+
+  /** The same query, stopping at the earliest possible time. */
+  @Benchmark
+  public Collection<TimeRange> queryIndexEarliest(CalendarState calendar) {
+    return query.query(calendar.index, calendar.earliestRequests[calendar.nextSample()]);
+  }
+
+  /** The same query, with 10 minutes of padding around the meeting. */
+  @Benchmark
+  public Collection<TimeRange> queryIndexPadded(CalendarState calendar) {
+    return query.query(calendar.index, calendar.paddedRequests[calendar.nextSample()]);
+  }
+
+  /** A query that only needs 80% of a 500-person group. */
+  @Benchmark
+  public Collection<TimeRange> queryIndexQuorum(CalendarState calendar) {
+    return query.query(calendar.index, calendar.quorumRequests[calendar.nextSample()]);
+  }
+
+  /** A query through the original {@code Collection<Event>} contract. */
+  @Benchmark
+  public Collection<TimeRange> queryEventCollection(CalendarState calendar) {
+    return query.query(calendar.events, calendar.requests[calendar.nextSample()]);
+  }
+}
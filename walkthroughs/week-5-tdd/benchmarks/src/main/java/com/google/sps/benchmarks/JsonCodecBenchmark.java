@@ -0,0 +1,145 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.sps.JsonCodec;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the JSON work of one "/query" request: reading the meeting request and writing the
+ * possible times. The reflective variants create a {@code Gson} per request and build the
+ * response as a string, as the servlets used to; the codec variants use the shared
+ * {@code JsonCodec} and write straight to the output. Run with {@code -prof gc} to see the
+ * allocations per request in the {@code gc.alloc.rate.norm} rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+  // Enough different requests that the benchmarks don't keep hitting the same one.
+  private static final int SAMPLES = 1024;
+
+  /** Encoded meeting requests and the answers to send back. */
+  @State(Scope.Thread)
+  public static class Payloads {
+    /** The number of possible times in each answer. */
+    @Param({"4", "32"})
+    public int answerSize;
+
+    String[] requests;
+    List<TimeRange>[] answers;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+      SyntheticCalendar calendar = SyntheticCalendar.withEventCount(
+          42, 10000, 8, new int[] {10, 40, 20, 10, 5, 5, 5, 5}, 0.25);
+      List<MeetingRequest> generated = calendar.generateRequests(SAMPLES);
+      requests = new String[SAMPLES];
+      answers = new List[SAMPLES];
+      for (int i = 0; i < SAMPLES; i++) {
+        requests[i] = new Gson().toJson(generated.get(i));
+        answers[i] = Arrays.asList(calendar.generateRanges(answerSize));
+      }
+    }
+
+    int nextSample() {
+      next = (next + 1) % SAMPLES;
+      return next;
+    }
+  }
+
+  @Benchmark
+  public MeetingRequest readReflective(Payloads payloads) {
+    return new Gson().fromJson(
+        new StringReader(payloads.requests[payloads.nextSample()]), MeetingRequest.class);
+  }
+
+  @Benchmark
+  public MeetingRequest readCodec(Payloads payloads) {
+    return JsonCodec.GSON.fromJson(
+        new StringReader(payloads.requests[payloads.nextSample()]), MeetingRequest.class);
+  }
+
+  @Benchmark
+  public void writeReflective(Payloads payloads, Blackhole blackhole) throws IOException {
+    String json = new Gson().toJson(payloads.answers[payloads.nextSample()]);
+    new BlackholeWriter(blackhole).write(json);
+  }
+
+  @Benchmark
+  public void writeCodec(Payloads payloads, Blackhole blackhole) throws IOException {
+    JsonCodec.writeTimeRanges(
+        payloads.answers[payloads.nextSample()], new BlackholeWriter(blackhole));
+  }
+
+  /**
+   * Stands in for the servlet's response writer without keeping what is written.
+   */
+  private static final class BlackholeWriter extends Writer {
+    private final Blackhole blackhole;
+
+    BlackholeWriter(Blackhole blackhole) {
+      this.blackhole = blackhole;
+    }
+
+    @Override
+    public void write(int c) {
+      blackhole.consume(c);
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) {
+      blackhole.consume(buffer);
+      blackhole.consume(length);
+    }
+
+    @Override
+    public void write(String string, int offset, int length) {
+      blackhole.consume(string);
+      blackhole.consume(length);
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
+  }
+}
@@ -0,0 +1,123 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.CalendarStore;
+import com.google.sps.Event;
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures query latency on a {@code CalendarStore} while bookings are being written. The "mixed"
+ * group runs seven query threads next to one thread that keeps adding and deleting events; the
+ * "readOnly" group runs the same query threads alone. Sample mode reports percentiles, so the p99
+ * of the two groups' queries can be compared directly.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MixedReadWriteBenchmark {
+  // Enough different requests and bookings that the threads don't keep repeating the same one.
+  private static final int SAMPLES = 1024;
+
+  /** A calendar shared by all the threads of a group. */
+  @State(Scope.Group)
+  public static class SharedCalendar {
+    /** The approximate number of events in the calendar. */
+    @Param({"10000", "100000", "1000000"})
+    public int eventCount;
+
+    /** The seed for the generator, so that runs on different commits see the same calendar. */
+    @Param({"42"})
+    public long seed;
+
+    CalendarStore store;
+    MeetingRequest[] requests;
+    Event[] bookings;
+    final FindMeetingQuery query = new FindMeetingQuery();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      SyntheticCalendar calendar = SyntheticCalendar.withEventCount(
+          seed, eventCount, 8, new int[] {10, 40, 20, 10, 5, 5, 5, 5}, 0.25);
+      List<Event> events = calendar.generateEvents();
+      store = new CalendarStore(events);
+      requests = calendar.generateRequests(SAMPLES).toArray(new MeetingRequest[0]);
+      // Bookings between the same people as the existing events.
+      bookings = events.subList(0, Math.min(SAMPLES, events.size())).toArray(new Event[0]);
+    }
+  }
+
+  /** Where each thread is in the shared samples. */
+  @State(Scope.Thread)
+  public static class Cursor {
+    private int next = 0;
+
+    int nextSample(int count) {
+      next = (next + 1) % count;
+      return next;
+    }
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(7)
+  public Collection<TimeRange> mixedQuery(SharedCalendar calendar, Cursor cursor) {
+    return query(calendar, cursor);
+  }
+
+  /** Books an event and cancels it again, so the calendar stays the same size. */
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(1)
+  public boolean mixedWrite(SharedCalendar calendar, Cursor cursor) {
+    Event booking = calendar.bookings[cursor.nextSample(calendar.bookings.length)];
+    long id = calendar.store.addEvent(booking);
+    return calendar.store.removeEvent(id);
+  }
+
+  @Benchmark
+  @Group("readOnly")
+  @GroupThreads(7)
+  public Collection<TimeRange> readOnlyQuery(SharedCalendar calendar, Cursor cursor) {
+    return query(calendar, cursor);
+  }
+
+  private static Collection<TimeRange> query(SharedCalendar calendar, Cursor cursor) {
+    MeetingRequest request = calendar.requests[cursor.nextSample(calendar.requests.length)];
+    // One snapshot per query, as the servlets do.
+    return calendar.query.query(calendar.store.snapshot(), request);
+  }
+}
@@ -0,0 +1,105 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.EventIndex;
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.MeetingRequest;
+import com.google.sps.PairwiseMeetingQuery;
+import com.google.sps.TimeRange;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures scheduling a 1:1 for every mentor with each of their mentees: one
+ * {@code PairwiseMeetingQuery} for all the pairs, against one {@code FindMeetingQuery} per pair.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PairwiseMeetingQueryBenchmark {
+  private static final int DURATION = 30;
+
+  /** The number of mentors, each paired with every mentee. */
+  @Param({"100"})
+  public int mentors;
+
+  /** The number of mentees. */
+  @Param({"20"})
+  public int mentees;
+
+  private EventIndex index;
+  private List<List<String>> pairs;
+  private ForkJoinPool pool;
+  private PairwiseMeetingQuery pairwiseQuery;
+  private FindMeetingQuery query;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    SyntheticCalendar calendar = SyntheticCalendar.withEventCount(
+        42, 100000, 8, new int[] {10, 40, 20, 10, 5, 5, 5, 5}, 0);
+    index = new EventIndex(calendar.generateEvents());
+    pairs = new ArrayList<>(mentors * mentees);
+    for (int mentor = 0; mentor < mentors; mentor++) {
+      for (int mentee = 0; mentee < mentees; mentee++) {
+        pairs.add(Arrays.asList(SyntheticCalendar.person(mentor),
+            SyntheticCalendar.person(mentors + mentee)));
+      }
+    }
+    pool = new ForkJoinPool();
+    pairwiseQuery = new PairwiseMeetingQuery(pool);
+    query = new FindMeetingQuery();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public List<List<TimeRange>> pairwise() {
+    return pairwiseQuery.query(index, pairs, DURATION);
+  }
+
+  @Benchmark
+  public List<Collection<TimeRange>> queryEachPair() {
+    List<Collection<TimeRange>> results = new ArrayList<>(pairs.size());
+    for (List<String> pair : pairs) {
+      results.add(query.query(index, new MeetingRequest(pair, DURATION)));
+    }
+    return results;
+  }
+}
@@ -0,0 +1,119 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.Event;
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.IntervalSet;
+import com.google.sps.MeetingRequest;
+import com.google.sps.MultiDayCalendar;
+import com.google.sps.Recurrence;
+import com.google.sps.TimeRange;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures finding a time that is free on every weekday for a number of weeks: one query over
+ * timelines combined across the days, against one query per day with the answers intersected.
+ * Compare both with {@code FindMeetingQueryBenchmark.queryIndex} for the cost of a single day.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class RecurringMeetingBenchmark {
+  // Enough different requests that the benchmarks don't keep hitting the same one.
+  private static final int SAMPLES = 1024;
+  private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 6);
+
+  /** The number of weeks of weekdays the meeting recurs on. */
+  @Param({"12"})
+  public int weeks;
+
+  /** The approximate number of events on each day. */
+  @Param({"10000"})
+  public int eventsPerDay;
+
+  @Param({"INTERVAL", "BITMAP"})
+  public FindMeetingQuery.Engine engine;
+
+  private FindMeetingQuery query;
+  private Recurrence recurrence;
+  private MultiDayCalendar calendar;
+  private MeetingRequest[] requests;
+  private int next = 0;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    query = new FindMeetingQuery(engine);
+    recurrence = Recurrence.weekdays(FIRST_DAY, weeks);
+
+    // Each day is generated from its own seed, with the same people attending.
+    int[] weights = {10, 40, 20, 10, 5, 5, 5, 5};
+    MultiDayCalendar.Builder builder = new MultiDayCalendar.Builder();
+    for (LocalDate date : recurrence.getDates()) {
+      SyntheticCalendar day =
+          SyntheticCalendar.withEventCount(date.toEpochDay(), eventsPerDay, 8, weights, 0.25);
+      for (Event event : day.generateEvents()) {
+        builder.add(date, event);
+      }
+    }
+    calendar = builder.build();
+    requests = SyntheticCalendar.withEventCount(42, eventsPerDay, 8, weights, 0.25)
+        .generateRequests(SAMPLES).toArray(new MeetingRequest[0]);
+  }
+
+  private MeetingRequest nextRequest() {
+    next = (next + 1) % SAMPLES;
+    return requests[next];
+  }
+
+  /** One query over every attendee's days combined. */
+  @Benchmark
+  public Collection<TimeRange> queryRecurrence() {
+    return query.query(calendar, recurrence, nextRequest());
+  }
+
+  /** A query per day, intersecting the free times of each day. */
+  @Benchmark
+  public List<TimeRange> queryEachDay() {
+    MeetingRequest request = nextRequest();
+    IntervalSet free = IntervalSet.of(TimeRange.START_OF_DAY, TimeRange.WHOLE_DAY.end());
+    for (LocalDate date : recurrence.getDates()) {
+      IntervalSet.Builder day = new IntervalSet.Builder();
+      for (TimeRange range : query.query(calendar.getDay(date), request)) {
+        day.add(range);
+      }
+      free = free.intersect(day.build());
+    }
+    return free.toTimeRanges();
+  }
+}
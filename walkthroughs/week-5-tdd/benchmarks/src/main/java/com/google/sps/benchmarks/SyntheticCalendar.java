@@ -0,0 +1,170 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.Event;
+import com.google.sps.MeetingRequest;
+import com.google.sps.TimeRange;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates a reproducible calendar of random events and meeting requests. The same seed and
+ * settings always produce the same events, so results can be compared across commits.
+ */
+public final class SyntheticCalendar {
+  // The lengths, in minutes, that generated events and meetings can have.
+  private static final int[] DURATIONS = {15, 30, 30, 45, 60, 60, 90, 120};
+
+  private final Random random;
+  private final int people;
+  private final int eventsPerPerson;
+  private final int[] meetingSizeWeights;
+  private final int totalWeight;
+  private final double optionalRatio;
+
+  /**
+   * Creates a generator.
+   *
+   * @param seed The seed for the random number generator.
+   * @param people The number of distinct people in the calendar.
+   * @param eventsPerPerson The average number of events each person attends.
+   * @param meetingSizeWeights Relative frequencies of meeting sizes: element {@code i} is the
+   *     weight of meetings with {@code i + 1} attendees.
+   * @param optionalRatio The fraction of each generated request's attendees that are optional.
+   */
+  public SyntheticCalendar(long seed, int people, int eventsPerPerson, int[] meetingSizeWeights,
+      double optionalRatio) {
+    if (people < 1 || eventsPerPerson < 1) {
+      throw new IllegalArgumentException("people and eventsPerPerson must be positive");
+    }
+    if (optionalRatio < 0 || optionalRatio > 1) {
+      throw new IllegalArgumentException("optionalRatio must be between 0 and 1");
+    }
+    this.random = new Random(seed);
+    this.people = people;
+    this.eventsPerPerson = eventsPerPerson;
+    this.meetingSizeWeights = meetingSizeWeights.clone();
+    this.totalWeight = Arrays.stream(meetingSizeWeights).sum();
+    if (totalWeight <= 0) {
+      throw new IllegalArgumentException("meetingSizeWeights must have a positive weight");
+    }
+    this.optionalRatio = optionalRatio;
+  }
+
+  /**
+   * Returns a calendar with about {@code eventCount} events, choosing the number of people so
+   * that each attends about {@code eventsPerPerson} of them.
+   */
+  public static SyntheticCalendar withEventCount(long seed, int eventCount, int eventsPerPerson,
+      int[] meetingSizeWeights, double optionalRatio) {
+    double averageSize = averageMeetingSize(meetingSizeWeights);
+    int people = (int) Math.max(1, Math.round(eventCount * averageSize / eventsPerPerson));
+    return new SyntheticCalendar(seed, people, eventsPerPerson, meetingSizeWeights, optionalRatio);
+  }
+
+  /**
+   * Returns the name of person {@code i}.
+   */
+  public static String person(int i) {
+    return "Person " + i;
+  }
+
+  public int getPeople() {
+    return people;
+  }
+
+  /**
+   * Returns the generated events. Every person attends {@code eventsPerPerson} events on average.
+   */
+  public List<Event> generateEvents() {
+    int eventCount = (int) Math.round(
+        (double) people * eventsPerPerson / averageMeetingSize(meetingSizeWeights));
+    List<Event> events = new ArrayList<>(eventCount);
+    for (int i = 0; i < eventCount; i++) {
+      int duration = DURATIONS[random.nextInt(DURATIONS.length)];
+      int start = random.nextInt(TimeRange.WHOLE_DAY.duration() - duration + 1);
+      events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, duration),
+          pickPeople(nextMeetingSize())));
+    }
+    return events;
+  }
+
+  /**
+   * Returns {@code count} meeting requests. The attendees of each request are split between
+   * mandatory and optional according to the optional ratio.
+   */
+  public List<MeetingRequest> generateRequests(int count) {
+    List<MeetingRequest> requests = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      List<String> attendees = new ArrayList<>(pickPeople(nextMeetingSize()));
+      int optionalCount = (int) Math.round(attendees.size() * optionalRatio);
+      List<String> mandatory = attendees.subList(0, attendees.size() - optionalCount);
+      MeetingRequest request =
+          new MeetingRequest(mandatory, DURATIONS[random.nextInt(DURATIONS.length)]);
+      for (String optional : attendees.subList(mandatory.size(), attendees.size())) {
+        request.addOptionalAttendee(optional);
+      }
+      requests.add(request);
+    }
+    return requests;
+  }
+
+  /**
+   * Returns {@code count} random time ranges within the day.
+   */
+  public TimeRange[] generateRanges(int count) {
+    TimeRange[] ranges = new TimeRange[count];
+    for (int i = 0; i < count; i++) {
+      int duration = DURATIONS[random.nextInt(DURATIONS.length)];
+      int start = random.nextInt(TimeRange.WHOLE_DAY.duration() - duration + 1);
+      ranges[i] = TimeRange.fromStartDuration(start, duration);
+    }
+    return ranges;
+  }
+
+  private int nextMeetingSize() {
+    int pick = random.nextInt(totalWeight);
+    for (int i = 0; i < meetingSizeWeights.length; i++) {
+      pick -= meetingSizeWeights[i];
+      if (pick < 0) {
+        return Math.min(i + 1, people);
+      }
+    }
+    return Math.min(meetingSizeWeights.length, people);
+  }
+
+  private Set<String> pickPeople(int count) {
+    Set<String> picked = new LinkedHashSet<>();
+    while (picked.size() < count) {
+      picked.add(person(random.nextInt(people)));
+    }
+    return picked;
+  }
+
+  private static double averageMeetingSize(int[] meetingSizeWeights) {
+    double weighted = 0;
+    double total = 0;
+    for (int i = 0; i < meetingSizeWeights.length; i++) {
+      weighted += (i + 1) * (double) meetingSizeWeights[i];
+      total += meetingSizeWeights[i];
+    }
+    return weighted / total;
+  }
+}
@@ -0,0 +1,61 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.Event;
+import com.google.sps.TimeRange;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code TimeRange.overlaps} and {@code TimeRange.contains} by checking one range against
+ * the time of every event in the calendar, the way a linear conflict check would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TimeRangeBenchmark {
+  @Benchmark
+  public int overlapsEveryEvent(CalendarState calendar) {
+    TimeRange range = calendar.ranges[calendar.nextSample()];
+    int overlapping = 0;
+    for (Event event : calendar.events) {
+      if (range.overlaps(event.getWhen())) {
+        overlapping++;
+      }
+    }
+    return overlapping;
+  }
+
+  @Benchmark
+  public int containsEveryEvent(CalendarState calendar) {
+    TimeRange range = calendar.ranges[calendar.nextSample()];
+    int contained = 0;
+    for (Event event : calendar.events) {
+      if (range.contains(event.getWhen())) {
+        contained++;
+      }
+    }
+    return contained;
+  }
+}
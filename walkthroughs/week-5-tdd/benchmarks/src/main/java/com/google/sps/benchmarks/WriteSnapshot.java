@@ -0,0 +1,47 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.benchmarks;
+
+import com.google.sps.CalendarSnapshot;
+import com.google.sps.Event;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Writes a synthetic calendar to a {@code CalendarSnapshot} file, for trying out the servlets
+ * with the "sps.snapshot" system property on a large calendar.
+ *
+ * <p>Usage: {@code java -cp target/benchmarks.jar com.google.sps.benchmarks.WriteSnapshot
+ * <file> <eventCount>}
+ */
+public final class WriteSnapshot {
+  private WriteSnapshot() {}
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: WriteSnapshot <file> <eventCount>");
+      System.exit(2);
+    }
+
+    // The same calendar the benchmarks use by default.
+    int[] meetingSizeWeights = {10, 40, 20, 10, 5, 5, 5, 5};
+    List<Event> events = SyntheticCalendar
+        .withEventCount(42, Integer.parseInt(args[1]), 8, meetingSizeWeights, 0.25)
+        .generateEvents();
+    CalendarSnapshot.write(events, Paths.get(args[0]));
+    System.out.printf("Wrote %d events to %s%n", events.size(), args[0]);
+  }
+}
@@ -0,0 +1,151 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Sweep line over the busy times of a group of people that counts, for every minute of the day,
+ * how many of them could not attend a meeting of a given duration starting at that minute.
+ *
+ * <p>A person who is busy during {@code [s, e)} cannot attend a meeting of duration {@code d} that
+ * starts anywhere in {@code [s - d + 1, e)}. Each busy block therefore becomes one "blocked starts"
+ * interval, and a running count over the start and end points of those intervals gives the number
+ * of people who cannot make each start time. The day is only 1440 minutes long, so the points are
+ * bucketed into a difference array rather than sorted, which keeps the sweep linear in the number
+ * of busy blocks and never looks at subsets of people.
+ */
+final class AttendanceSweep {
+  private static final int MINUTES_PER_DAY = TimeRange.WHOLE_DAY.duration();
+
+  private AttendanceSweep() {}
+
+  /**
+   * Returns an array where element {@code t} is the number of people who are busy at some point
+   * in {@code [t, t + duration)}.
+   * @param busyTimesPerPerson each person's busy times
+   * @param duration the length of the meeting in minutes
+   * @return the number of people who cannot attend a meeting starting at each minute of the day
+   */
+  static int[] countUnavailable(Collection<IntervalSet> busyTimesPerPerson, long duration) {
+    duration = sweepDuration(duration);
+    // One extra slot so that blocked intervals ending at the end of the day have somewhere to put
+    // their end point.
+    int[] difference = new int[MINUTES_PER_DAY + 1];
+    for (IntervalSet busyTimes : busyTimesPerPerson) {
+      // Blocked start intervals of the same person can overlap when the gap between two busy
+      // blocks is shorter than the meeting. Merge them so that each person is counted once.
+      int blockedStart = -1;
+      int blockedEnd = -1;
+      for (int i = 0; i < busyTimes.size(); i++) {
+        int start = (int) Math.max(TimeRange.START_OF_DAY, busyTimes.start(i) - duration + 1);
+        int end = Math.min(MINUTES_PER_DAY, busyTimes.end(i));
+        if (start >= end) {
+          continue;
+        }
+        if (blockedEnd >= start) {
+          blockedEnd = Math.max(blockedEnd, end);
+          continue;
+        }
+        addBlocked(difference, blockedStart, blockedEnd);
+        blockedStart = start;
+        blockedEnd = end;
+      }
+      addBlocked(difference, blockedStart, blockedEnd);
+    }
+
+    // The running sum of the difference array is the number of people blocked at each minute.
+    int[] unavailable = new int[MINUTES_PER_DAY];
+    int running = 0;
+    for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+      running += difference[minute];
+      unavailable[minute] = running;
+    }
+    return unavailable;
+  }
+
+  private static void addBlocked(int[] difference, int start, int end) {
+    if (start < end) {
+      difference[start]++;
+      difference[end]--;
+    }
+  }
+
+  /**
+   * Returns the TimeRanges within {@code gaps} where a meeting of the given duration can start
+   * with as few people unavailable as possible. Each returned range covers a run of consecutive
+   * start times with the lowest count, extended by the duration so that it ends where the last
+   * meeting in the run would end.
+   * @param gaps the times in which the meeting can take place
+   * @param unavailable the number of people who cannot attend a meeting starting at each minute
+   * @param duration the length of the meeting in minutes
+   * @return the TimeRanges where the most people can attend, in chronological order
+   */
+  static ArrayList<TimeRange> findBestTimes(IntervalSet gaps, int[] unavailable, long duration) {
+    duration = sweepDuration(duration);
+    // First pass: the lowest count over every valid start time.
+    int fewestUnavailable = Integer.MAX_VALUE;
+    for (int i = 0; i < gaps.size(); i++) {
+      long lastStart = gaps.end(i) - duration;
+      for (int start = gaps.start(i); start <= lastStart; start++) {
+        fewestUnavailable = Math.min(fewestUnavailable, unavailable[start]);
+      }
+    }
+    return findTimesWithAtMost(gaps, unavailable, duration, fewestUnavailable);
+  }
+
+  /**
+   * Returns the duration the sweep works with. A meeting with no duration still occupies the minute
+   * it starts in; without this, the last start of a gap would be the gap's end, which is past the
+   * end of the per-minute counts when the gap runs to the end of the day.
+   */
+  private static long sweepDuration(long duration) {
+    return Math.max(duration, 1);
+  }
+
+  /**
+   * Returns the TimeRanges within {@code gaps} where a meeting of the given duration can start
+   * with at most {@code maxUnavailable} people unavailable. Each returned range covers a run of
+   * consecutive valid start times, extended by the duration.
+   * @param gaps the times in which the meeting can take place
+   * @param unavailable the number of people who cannot attend a meeting starting at each minute
+   * @param duration the length of the meeting in minutes
+   * @param maxUnavailable the most people allowed to miss the meeting
+   * @return the TimeRanges where enough people can attend, in chronological order
+   */
+  static ArrayList<TimeRange> findTimesWithAtMost(
+      IntervalSet gaps, int[] unavailable, long duration, int maxUnavailable) {
+    duration = sweepDuration(duration);
+    ArrayList<TimeRange> times = new ArrayList<>();
+    for (int i = 0; i < gaps.size(); i++) {
+      long lastStart = gaps.end(i) - duration;
+      int runStart = -1;
+      for (int start = gaps.start(i); start <= lastStart; start++) {
+        boolean good = unavailable[start] <= maxUnavailable;
+        if (good && runStart < 0) {
+          runStart = start;
+        } else if (!good && runStart >= 0) {
+          times.add(TimeRange.fromStartEnd(runStart, (int) (start - 1 + duration), false));
+          runStart = -1;
+        }
+      }
+      if (runStart >= 0) {
+        times.add(TimeRange.fromStartEnd(runStart, (int) (lastStart + duration), false));
+      }
+    }
+    return times;
+  }
+}
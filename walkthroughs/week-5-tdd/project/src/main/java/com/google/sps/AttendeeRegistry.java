@@ -0,0 +1,159 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns attendee names to dense {@code int} IDs, starting at 0 in the order names are first
+ * seen. Every event stores its attendees as a sorted array of these IDs, so checking whether two
+ * groups of people overlap is a merge-scan over two arrays instead of string hashing, and each
+ * name is kept in memory once however many events it appears in.
+ *
+ * <p>IDs are never reused or removed. Lookups don't lock; interning a new name does.
+ */
+public final class AttendeeRegistry {
+  private static final AttendeeRegistry DEFAULT = new AttendeeRegistry();
+
+  private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+  // names[id] is the name with that ID. Only replaced, never changed, once published.
+  private volatile String[] names = new String[16];
+  private volatile int size = 0;
+
+  /**
+   * Returns the registry shared by all events.
+   */
+  public static AttendeeRegistry getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Returns the ID of {@code name}, giving it the next free ID if it doesn't have one yet.
+   */
+  public int intern(String name) {
+    if (name == null) {
+      throw new IllegalArgumentException("name cannot be null");
+    }
+
+    Integer id = ids.get(name);
+    if (id != null) {
+      return id;
+    }
+    synchronized (this) {
+      id = ids.get(name);
+      if (id != null) {
+        return id;
+      }
+      String[] currentNames = names;
+      if (size == currentNames.length) {
+        currentNames = Arrays.copyOf(currentNames, size * 2);
+      }
+      currentNames[size] = name;
+      names = currentNames;
+      size++;
+      // Publish the ID last, so that anyone who can see it can also see the name.
+      ids.put(name, size - 1);
+      return size - 1;
+    }
+  }
+
+  /**
+   * Returns the sorted IDs of {@code names}, interning any that are new. Duplicate names
+   * share one ID, so the result may be shorter than the input.
+   */
+  public int[] internAll(Collection<String> names) {
+    int[] result = new int[names.size()];
+    int count = 0;
+    for (String name : names) {
+      result[count++] = intern(name);
+    }
+    return sortedUnique(result, count);
+  }
+
+  /**
+   * Returns the ID of {@code name}, or {@code -1} if it has never been interned.
+   */
+  public int idOf(String name) {
+    Integer id = name == null ? null : ids.get(name);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * Returns the sorted IDs of the {@code names} that have been interned. Names that were never
+   * interned can't be attending any event, so they are left out.
+   */
+  public int[] idsOf(Collection<String> names) {
+    int[] result = new int[names.size()];
+    int count = 0;
+    for (String name : names) {
+      int id = idOf(name);
+      if (id >= 0) {
+        result[count++] = id;
+      }
+    }
+    return sortedUnique(result, count);
+  }
+
+  /**
+   * Returns the name with the given ID.
+   */
+  public String nameOf(int id) {
+    String[] currentNames = names;
+    if (id < 0 || id >= currentNames.length || currentNames[id] == null) {
+      throw new IllegalArgumentException("Unknown attendee ID: " + id);
+    }
+    return currentNames[id];
+  }
+
+  /**
+   * Returns the number of names interned so far.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether the sorted arrays {@code a} and {@code b} have an element in common.
+   */
+  public static boolean intersects(int[] a, int[] b) {
+    int i = 0;
+    int j = 0;
+    while (i < a.length && j < b.length) {
+      if (a[i] == b[j]) {
+        return true;
+      }
+      if (a[i] < b[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return false;
+  }
+
+  private static int[] sortedUnique(int[] values, int count) {
+    Arrays.sort(values, 0, count);
+    int unique = 0;
+    for (int i = 0; i < count; i++) {
+      if (unique == 0 || values[i] != values[unique - 1]) {
+        values[unique++] = values[i];
+      }
+    }
+    return unique == values.length ? values : Arrays.copyOf(values, unique);
+  }
+}
@@ -0,0 +1,140 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * How many people of a group are free at each minute of the day. The counts are kept as runs of
+ * consecutive minutes with the same count, so a day that changes only around a few meetings
+ * takes a few runs rather than 1440 counts.
+ *
+ * <p>The counts come from one pass over the group's busy times into a difference array, and a
+ * prefix sum over the day, so building a heatmap takes time linear in the number of busy blocks
+ * plus the length of the day however large the group is.
+ */
+public final class AvailabilityHeatmap {
+  private static final int MINUTES_PER_DAY = TimeRange.WHOLE_DAY.duration();
+
+  private final int attendeeCount;
+
+  // Run i starts at runStarts[i] and lasts until the next run starts, or the day ends, with
+  // freeCounts[i] people free throughout.
+  private final int[] runStarts;
+  private final int[] freeCounts;
+
+  private AvailabilityHeatmap(int attendeeCount, int[] runStarts, int[] freeCounts) {
+    this.attendeeCount = attendeeCount;
+    this.runStarts = runStarts;
+    this.freeCounts = freeCounts;
+  }
+
+  /**
+   * Returns how many of {@code attendees} are free at each minute of the day. People named more
+   * than once are counted once.
+   */
+  public static AvailabilityHeatmap of(BusyTimelines timelines, Collection<String> attendees) {
+    if (timelines == null) {
+      throw new IllegalArgumentException("timelines cannot be null");
+    }
+    if (attendees == null) {
+      throw new IllegalArgumentException("attendees cannot be null. Use empty array instead.");
+    }
+
+    Collection<String> people = new LinkedHashSet<>(attendees);
+    List<IntervalSet> busyTimes = new ArrayList<>(people.size());
+    for (String attendee : people) {
+      busyTimes.add(timelines.getBusyTimeline(attendee));
+    }
+    // Someone busy during [s, e) can't make a one-minute meeting that starts in [s, e), so the
+    // people unavailable for one minute are the people busy during it.
+    int[] busyCounts = AttendanceSweep.countUnavailable(busyTimes, 1);
+
+    int[] runStarts = new int[MINUTES_PER_DAY];
+    int[] freeCounts = new int[MINUTES_PER_DAY];
+    int runs = 0;
+    for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+      int free = people.size() - busyCounts[minute];
+      if (runs == 0 || freeCounts[runs - 1] != free) {
+        runStarts[runs] = minute;
+        freeCounts[runs] = free;
+        runs++;
+      }
+    }
+    return new AvailabilityHeatmap(
+        people.size(), Arrays.copyOf(runStarts, runs), Arrays.copyOf(freeCounts, runs));
+  }
+
+  /**
+   * Returns the number of different people in the group.
+   */
+  public int getAttendeeCount() {
+    return attendeeCount;
+  }
+
+  /**
+   * Returns the number of runs. There is always at least one.
+   */
+  public int size() {
+    return runStarts.length;
+  }
+
+  /**
+   * Returns the first minute of run {@code i}.
+   */
+  public int start(int i) {
+    return runStarts[i];
+  }
+
+  /**
+   * Returns the minute after the last minute of run {@code i}.
+   */
+  public int end(int i) {
+    return i + 1 < runStarts.length ? runStarts[i + 1] : MINUTES_PER_DAY;
+  }
+
+  /**
+   * Returns the number of people free throughout run {@code i}.
+   */
+  public int free(int i) {
+    return freeCounts[i];
+  }
+
+  /**
+   * Returns the number of people free at {@code minute}.
+   */
+  public int getFreeAt(int minute) {
+    if (minute < TimeRange.START_OF_DAY || minute >= MINUTES_PER_DAY) {
+      throw new IllegalArgumentException("minute must be within the day");
+    }
+    int i = Arrays.binarySearch(runStarts, minute);
+    // A minute inside a run is found as the insertion point after the run's start.
+    return freeCounts[i >= 0 ? i : -i - 2];
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("AvailabilityHeatmap: {");
+    for (int i = 0; i < size(); i++) {
+      builder.append(i == 0 ? "" : ", ").append('[').append(start(i)).append(", ")
+          .append(end(i)).append("): ").append(free(i));
+    }
+    return builder.append('}').toString();
+  }
+}
@@ -0,0 +1,68 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Answers many meeting requests against the same calendar at once. The requests share the
+ * calendar's busy timelines, so each attendee's timeline is merged at most once for the whole
+ * batch, and the requests are split across a fork/join pool.
+ */
+public final class BatchMeetingQuery {
+  // A task with this many requests or fewer answers them itself instead of splitting further.
+  private static final int REQUESTS_PER_TASK = 8;
+
+  private final FindMeetingQuery query;
+  private final ForkJoinPool pool;
+
+  /**
+   * Creates a batch query.
+   *
+   * @param query The query used to answer each request. Must be non-null.
+   * @param pool The pool the requests are evaluated on. Must be non-null.
+   */
+  public BatchMeetingQuery(FindMeetingQuery query, ForkJoinPool pool) {
+    if (query == null) {
+      throw new IllegalArgumentException("query cannot be null");
+    }
+
+    if (pool == null) {
+      throw new IllegalArgumentException("pool cannot be null");
+    }
+
+    this.query = query;
+    this.pool = pool;
+  }
+
+  /**
+   * Returns the meeting times for each request, in the same order as the requests.
+   * @param timelines the busy timelines of all known people, shared by every request
+   * @param requests the meeting requests to answer
+   * @return one Collection of TimeRanges for each request
+   */
+  public List<Collection<TimeRange>> query(
+      BusyTimelines timelines, List<MeetingRequest> requests) {
+    List<Collection<TimeRange>> results =
+        new ArrayList<>(Collections.nCopies(requests.size(), null));
+    ForEachTask.forEach(pool, requests.size(), REQUESTS_PER_TASK,
+        (int i) -> results.set(i, query.query(timelines, requests.get(i))));
+    return results;
+  }
+}
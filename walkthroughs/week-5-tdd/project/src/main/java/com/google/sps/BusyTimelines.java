@@ -0,0 +1,29 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+/**
+ * A source of each person's merged busy timeline for the day. This is all that
+ * {@code FindMeetingQuery} needs to know about a calendar, so implementations can precompute or
+ * cache the timelines and share them between queries. Implementations must be safe to use from
+ * several threads at once.
+ */
+public interface BusyTimelines {
+  /**
+   * Returns the times during the day when {@code attendee} is busy, with overlapping events
+   * merged. Returns the empty set for people with no events.
+   */
+  IntervalSet getBusyTimeline(String attendee);
+}
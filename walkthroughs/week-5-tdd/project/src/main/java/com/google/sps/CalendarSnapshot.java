@@ -0,0 +1,441 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A calendar stored in a compact binary file that is memory-mapped rather than parsed. Opening a
+ * snapshot only reads its header, so a calendar of millions of events can be queried within
+ * milliseconds of startup; events are only turned into objects when they are asked for.
+ *
+ * <p>The file is a header of eight {@code int}s followed by these sections, all {@code int}
+ * arrays except the string bytes (every number is big-endian):
+ * <ol>
+ * <li>String table: the offset of each string into the string bytes, then the UTF-8 bytes of
+ * every string, padded to a multiple of four. The attendees' names come first, sorted by their
+ * bytes so that a name can be found with a binary search; event titles follow.
+ * <li>Event columns: each event's title (a string index), start, duration, and the offset of its
+ * attendees in the attendee column, followed by the attendee column itself (string indices).
+ * <li>Postings: for each attendee, the offset of their events in the posting column, followed by
+ * the posting column itself: the indices of each attendee's events, sorted by start time.
+ * <li>Busy timelines: for each attendee, the offset of their merged busy intervals, followed by
+ * the interval starts and the interval ends.
+ * </ol>
+ *
+ * <p>A snapshot is read-only and can be shared by any number of threads.
+ */
+public final class CalendarSnapshot implements EventCalendar {
+  private static final int MAGIC = 0x53505343; // "SPSC"
+  private static final int FORMAT_VERSION = 2;
+  private static final int HEADER_SIZE = 8 * Integer.BYTES;
+
+  // Orders names the same way as the reader compares them: by their UTF-8 bytes, unsigned.
+  private static final Comparator<byte[]> BY_UNSIGNED_BYTES = (byte[] a, byte[] b) -> {
+    for (int i = 0; i < Math.min(a.length, b.length); i++) {
+      int compare = Integer.compare(a[i] & 0xff, b[i] & 0xff);
+      if (compare != 0) {
+        return compare;
+      }
+    }
+    return Integer.compare(a.length, b.length);
+  };
+
+  private final ByteBuffer buffer;
+  private final int eventCount;
+  private final int attendeeCount;
+
+  // The byte offset of each section.
+  private final int stringOffsets;
+  private final int stringBytes;
+  private final int eventTitles;
+  private final int eventStarts;
+  private final int eventDurations;
+  private final int eventAttendeeOffsets;
+  private final int eventAttendees;
+  private final int postingOffsets;
+  private final int postings;
+  private final int timelineOffsets;
+  private final int timelineStarts;
+  private final int timelineEnds;
+
+  private CalendarSnapshot(ByteBuffer buffer) throws IOException {
+    if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+      throw new IOException("Not a calendar snapshot.");
+    }
+    if (buffer.getInt(4) != FORMAT_VERSION) {
+      throw new IOException("Unsupported snapshot version " + buffer.getInt(4) + ".");
+    }
+
+    this.buffer = buffer;
+    this.eventCount = buffer.getInt(8);
+    this.attendeeCount = buffer.getInt(12);
+    int stringCount = buffer.getInt(16);
+    int stringByteCount = buffer.getInt(20);
+    int attendeeReferenceCount = buffer.getInt(24);
+    int intervalCount = buffer.getInt(28);
+
+    long offset = HEADER_SIZE;
+    stringOffsets = (int) offset;
+    offset += (long) Integer.BYTES * (stringCount + 1);
+    stringBytes = (int) offset;
+    offset += padToInt(stringByteCount);
+    eventTitles = (int) offset;
+    offset += (long) Integer.BYTES * eventCount;
+    eventStarts = (int) offset;
+    offset += (long) Integer.BYTES * eventCount;
+    eventDurations = (int) offset;
+    offset += (long) Integer.BYTES * eventCount;
+    eventAttendeeOffsets = (int) offset;
+    offset += (long) Integer.BYTES * (eventCount + 1);
+    eventAttendees = (int) offset;
+    offset += (long) Integer.BYTES * attendeeReferenceCount;
+    postingOffsets = (int) offset;
+    offset += (long) Integer.BYTES * (attendeeCount + 1);
+    postings = (int) offset;
+    offset += (long) Integer.BYTES * attendeeReferenceCount;
+    timelineOffsets = (int) offset;
+    offset += (long) Integer.BYTES * (attendeeCount + 1);
+    timelineStarts = (int) offset;
+    offset += (long) Integer.BYTES * intervalCount;
+    timelineEnds = (int) offset;
+    offset += (long) Integer.BYTES * intervalCount;
+
+    if (offset != buffer.capacity()) {
+      throw new IOException(
+          "Snapshot is " + buffer.capacity() + " bytes, expected " + offset + ".");
+    }
+  }
+
+  /**
+   * Memory-maps the snapshot at {@code path}. Files larger than 2 GB are not supported.
+   *
+   * @throws IOException if the file can't be read or isn't a snapshot
+   */
+  public static CalendarSnapshot open(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Snapshots larger than 2 GB are not supported.");
+      }
+      // The mapping stays valid after the channel is closed.
+      return new CalendarSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Writes {@code events} to a new snapshot at {@code path}, replacing any file already there.
+   */
+  public static void write(Collection<Event> events, Path path) throws IOException {
+    // Attendee names sorted by their bytes, then the titles, in order of first use.
+    EventIndex index = new EventIndex(events);
+    List<byte[]> names = new ArrayList<>();
+    for (String attendee : index.getAttendees()) {
+      names.add(attendee.getBytes(StandardCharsets.UTF_8));
+    }
+    names.sort(BY_UNSIGNED_BYTES);
+
+    Map<String, Integer> stringIndices = new LinkedHashMap<>();
+    List<byte[]> strings = new ArrayList<>(names);
+    for (byte[] name : names) {
+      stringIndices.put(new String(name, StandardCharsets.UTF_8), stringIndices.size());
+    }
+    for (Event event : events) {
+      if (!stringIndices.containsKey(event.getTitle())) {
+        stringIndices.put(event.getTitle(), stringIndices.size());
+        strings.add(event.getTitle().getBytes(StandardCharsets.UTF_8));
+      }
+    }
+
+    int stringByteCount = 0;
+    for (byte[] string : strings) {
+      stringByteCount += string.length;
+    }
+    int attendeeReferenceCount = 0;
+    for (Event event : events) {
+      attendeeReferenceCount += event.getAttendeeCount();
+    }
+    List<IntervalSet> timelines = new ArrayList<>(names.size());
+    int intervalCount = 0;
+    for (byte[] name : names) {
+      IntervalSet timeline = index.getBusyTimeline(new String(name, StandardCharsets.UTF_8));
+      timelines.add(timeline);
+      intervalCount += timeline.size();
+    }
+
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+      /* HEADER */
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      out.writeInt(events.size());
+      out.writeInt(names.size());
+      out.writeInt(strings.size());
+      out.writeInt(stringByteCount);
+      out.writeInt(attendeeReferenceCount);
+      out.writeInt(intervalCount);
+
+      /* STRING TABLE */
+      int stringOffset = 0;
+      for (byte[] string : strings) {
+        out.writeInt(stringOffset);
+        stringOffset += string.length;
+      }
+      out.writeInt(stringOffset);
+      for (byte[] string : strings) {
+        out.write(string);
+      }
+      for (long i = stringByteCount; i < padToInt(stringByteCount); i++) {
+        out.writeByte(0);
+      }
+
+      /* EVENT COLUMNS */
+      for (Event event : events) {
+        out.writeInt(stringIndices.get(event.getTitle()));
+      }
+      for (Event event : events) {
+        out.writeInt(event.getWhen().start());
+      }
+      for (Event event : events) {
+        out.writeInt(event.getWhen().duration());
+      }
+      int attendeeOffset = 0;
+      for (Event event : events) {
+        out.writeInt(attendeeOffset);
+        attendeeOffset += event.getAttendeeCount();
+      }
+      out.writeInt(attendeeOffset);
+      for (Event event : events) {
+        for (String attendee : event.getAttendees()) {
+          out.writeInt(stringIndices.get(attendee));
+        }
+      }
+
+      /* POSTINGS */
+      Map<Event, Integer> eventIndices = new IdentityHashMap<>();
+      for (Event event : events) {
+        eventIndices.put(event, eventIndices.size());
+      }
+      int postingOffset = 0;
+      for (byte[] name : names) {
+        out.writeInt(postingOffset);
+        postingOffset += index.getEvents(new String(name, StandardCharsets.UTF_8)).size();
+      }
+      out.writeInt(postingOffset);
+      for (byte[] name : names) {
+        for (Event event : index.getEvents(new String(name, StandardCharsets.UTF_8))) {
+          out.writeInt(eventIndices.get(event));
+        }
+      }
+
+      /* BUSY TIMELINES */
+      int intervalOffset = 0;
+      for (IntervalSet timeline : timelines) {
+        out.writeInt(intervalOffset);
+        intervalOffset += timeline.size();
+      }
+      out.writeInt(intervalOffset);
+      for (IntervalSet timeline : timelines) {
+        for (int i = 0; i < timeline.size(); i++) {
+          out.writeInt(timeline.start(i));
+        }
+      }
+      for (IntervalSet timeline : timelines) {
+        for (int i = 0; i < timeline.size(); i++) {
+          out.writeInt(timeline.end(i));
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the number of events in the snapshot.
+   */
+  public int size() {
+    return eventCount;
+  }
+
+  /**
+   * Returns the number of people attending at least one event.
+   */
+  public int getAttendeeCount() {
+    return attendeeCount;
+  }
+
+  /**
+   * Returns event {@code i}, in the order the events were written. A new {@code Event} is created
+   * on every call.
+   */
+  public Event getEvent(int i) {
+    if (i < 0 || i >= eventCount) {
+      throw new IndexOutOfBoundsException("Event " + i + " of " + eventCount);
+    }
+
+    String title = readString(intAt(eventTitles, i));
+    TimeRange when = TimeRange.fromStartDuration(intAt(eventStarts, i), intAt(eventDurations, i));
+    int from = intAt(eventAttendeeOffsets, i);
+    int to = intAt(eventAttendeeOffsets, i + 1);
+    List<String> attendees = new ArrayList<>(to - from);
+    for (int j = from; j < to; j++) {
+      attendees.add(readString(intAt(eventAttendees, j)));
+    }
+    return new Event(title, when, attendees);
+  }
+
+  /**
+   * Returns a read-only list view of the events. Each event is created when it is read, so
+   * iterating over the list doesn't keep the whole calendar in memory.
+   */
+  @Override
+  public List<Event> getEvents() {
+    return new EventList(0, eventCount, false);
+  }
+
+  /**
+   * Returns a read-only list view of the events {@code attendee} is attending, sorted by start
+   * time. Like {@code getEvents()}, each event is created when it is read.
+   */
+  @Override
+  public List<Event> getEvents(String attendee) {
+    int attendeeIndex = findAttendee(attendee);
+    if (attendeeIndex < 0) {
+      return Collections.emptyList();
+    }
+    return new EventList(
+        intAt(postingOffsets, attendeeIndex), intAt(postingOffsets, attendeeIndex + 1), true);
+  }
+
+  /**
+   * Returns 0: a snapshot never changes.
+   */
+  @Override
+  public long getVersion() {
+    return 0;
+  }
+
+  @Override
+  public IntervalSet getBusyTimeline(String attendee) {
+    int attendeeIndex = findAttendee(attendee);
+    if (attendeeIndex < 0) {
+      return IntervalSet.EMPTY;
+    }
+
+    int from = intAt(timelineOffsets, attendeeIndex);
+    int to = intAt(timelineOffsets, attendeeIndex + 1);
+    IntervalSet.Builder builder = new IntervalSet.Builder(to - from);
+    for (int i = from; i < to; i++) {
+      builder.add(intAt(timelineStarts, i), intAt(timelineEnds, i));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the index of {@code attendee} among the sorted names, or {@code -1} if they have no
+   * events. Compares bytes in place so that a lookup doesn't decode any strings.
+   */
+  private int findAttendee(String attendee) {
+    byte[] key = attendee.getBytes(StandardCharsets.UTF_8);
+    int low = 0;
+    int high = attendeeCount - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int compare = compareString(middle, key);
+      if (compare < 0) {
+        low = middle + 1;
+      } else if (compare > 0) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -1;
+  }
+
+  private int compareString(int stringIndex, byte[] key) {
+    int from = stringBytes + intAt(stringOffsets, stringIndex);
+    int length = stringBytes + intAt(stringOffsets, stringIndex + 1) - from;
+    for (int i = 0; i < Math.min(length, key.length); i++) {
+      int compare = Integer.compare(buffer.get(from + i) & 0xff, key[i] & 0xff);
+      if (compare != 0) {
+        return compare;
+      }
+    }
+    return Integer.compare(length, key.length);
+  }
+
+  private String readString(int stringIndex) {
+    int from = stringBytes + intAt(stringOffsets, stringIndex);
+    byte[] bytes = new byte[stringBytes + intAt(stringOffsets, stringIndex + 1) - from];
+    // Only absolute gets are used, so that threads sharing the buffer don't disturb each other.
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = buffer.get(from + i);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private int intAt(int section, int i) {
+    return buffer.getInt(section + i * Integer.BYTES);
+  }
+
+  /**
+   * A read-only list of the snapshot's events, created as they are read. It is a named class
+   * because Gson won't serialize instances of anonymous classes.
+   */
+  private final class EventList extends AbstractList<Event> {
+    // The range of events the list covers: event indices, or positions in the posting column.
+    private final int from;
+    private final int to;
+    private final boolean fromPostings;
+
+    EventList(int from, int to, boolean fromPostings) {
+      this.from = from;
+      this.to = to;
+      this.fromPostings = fromPostings;
+    }
+
+    @Override
+    public Event get(int i) {
+      if (i < 0 || i >= size()) {
+        throw new IndexOutOfBoundsException("Event " + i + " of " + size());
+      }
+      return getEvent(fromPostings ? intAt(postings, from + i) : from + i);
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+  }
+
+  private static long padToInt(long byteCount) {
+    return (byteCount + Integer.BYTES - 1) / Integer.BYTES * Integer.BYTES;
+  }
+}
@@ -0,0 +1,451 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A calendar that events can be added to, updated and deleted from while it is being queried.
+ * Every event gets an ID when it is added, which is how it is later updated or deleted.
+ *
+ * <p>The calendar is a series of read-only {@code Snapshot}s. A query takes the current snapshot
+ * once and reads everything from it without locking, so it sees one consistent calendar however
+ * many writes happen meanwhile. A write builds the next snapshot and publishes it atomically.
+ * Snapshots are persistent structures that share everything a write didn't touch: the events by
+ * ID and the attendees' records are hash tries, and each attendee's events are a balanced tree,
+ * so a write copies {@code O(log N)} nodes of the tries and {@code O(log n)} nodes of the tree of
+ * each of the changed event's attendees, where {@code N} is the size of the whole calendar and
+ * {@code n} of the attendee's.
+ *
+ * <p>An attendee's merged busy timeline is built by the write that changes their events: the
+ * previous timeline is kept outside the minutes the write changed, and only the events that
+ * overlap those minutes are merged back in. Reads return it as is. An attendee's list of events
+ * is built from their tree the first time it is read after it changes, and then shared by every
+ * later read, from any thread. Writes are serialized with each other; readers never wait for them.
+ */
+public final class CalendarStore implements BusyTimelines {
+  private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+
+  /**
+   * Creates an empty calendar.
+   */
+  public CalendarStore() {}
+
+  /**
+   * Creates a calendar holding the given events, with IDs 1, 2, 3 and so on in their order.
+   *
+   * @param events The events to start with. Must be non-null.
+   */
+  public CalendarStore(Collection<Event> events) {
+    if (events == null) {
+      throw new IllegalArgumentException("events cannot be null. Use empty array instead.");
+    }
+
+    // Build the first snapshot in one write, so that each attendee's record is built once.
+    Write write = new Write(Snapshot.EMPTY);
+    for (Event event : events) {
+      write.insert(write.nextId++, event);
+    }
+    current.set(write.build());
+  }
+
+  /**
+   * Creates a calendar holding every event read from {@code source}. The source is not closed.
+   *
+   * @throws IOException if the source can't be read
+   */
+  public static CalendarStore load(EventSource source) throws IOException {
+    Write write = new Write(Snapshot.EMPTY);
+    for (Event event = source.next(); event != null; event = source.next()) {
+      write.insert(write.nextId++, event);
+    }
+    CalendarStore store = new CalendarStore();
+    store.current.set(write.build());
+    return store;
+  }
+
+  /**
+   * Returns the current state of the calendar. The snapshot never changes, so everything read
+   * from it is consistent.
+   */
+  public Snapshot snapshot() {
+    return current.get();
+  }
+
+  /**
+   * Adds {@code event} to the calendar of each of its attendees.
+   * @return the ID of the new event
+   */
+  public synchronized long addEvent(Event event) {
+    if (event == null) {
+      throw new IllegalArgumentException("event cannot be null");
+    }
+
+    Write write = new Write(current.get());
+    long id = write.nextId++;
+    write.insert(id, event);
+    current.set(write.build());
+    return id;
+  }
+
+  /**
+   * Replaces the event with the given ID by {@code event}, keeping its ID.
+   * @return whether there was an event with that ID
+   */
+  public synchronized boolean updateEvent(long id, Event event) {
+    if (event == null) {
+      throw new IllegalArgumentException("event cannot be null");
+    }
+
+    Snapshot snapshot = current.get();
+    Event oldEvent = snapshot.getEvent(id);
+    if (oldEvent == null) {
+      return false;
+    }
+    Write write = new Write(snapshot);
+    write.delete(id, oldEvent);
+    write.insert(id, event);
+    current.set(write.build());
+    return true;
+  }
+
+  /**
+   * Removes the event with the given ID from the calendar.
+   * @return whether there was an event with that ID
+   */
+  public synchronized boolean removeEvent(long id) {
+    Snapshot snapshot = current.get();
+    Event oldEvent = snapshot.getEvent(id);
+    if (oldEvent == null) {
+      return false;
+    }
+    Write write = new Write(snapshot);
+    write.delete(id, oldEvent);
+    current.set(write.build());
+    return true;
+  }
+
+  // The read methods below each read the current snapshot. Use snapshot() to make several reads
+  // that are consistent with each other.
+
+  /**
+   * Returns the event with the given ID, or null if there is none.
+   */
+  public Event getEvent(long id) {
+    return current.get().getEvent(id);
+  }
+
+  /**
+   * Returns every event in the calendar, keyed and ordered by ID.
+   */
+  public Map<Long, Event> getEventsById() {
+    return current.get().getEventsById();
+  }
+
+  /**
+   * Returns every event in the calendar, in order of ID.
+   */
+  public List<Event> getEvents() {
+    return current.get().getEvents();
+  }
+
+  /**
+   * Returns a read-only list of the events {@code attendee} is attending, sorted by start time.
+   * The list is empty if the attendee has no events.
+   */
+  public List<Event> getEvents(String attendee) {
+    return current.get().getEvents(attendee);
+  }
+
+  @Override
+  public IntervalSet getBusyTimeline(String attendee) {
+    return current.get().getBusyTimeline(attendee);
+  }
+
+  /**
+   * Returns a version number that changes every time an event is added, updated or removed.
+   * Two reads that see the same version saw the same calendar.
+   */
+  public long getVersion() {
+    return current.get().getVersion();
+  }
+
+  /**
+   * Returns the version of the calendar at which {@code attendee}'s events last changed, or
+   * {@code -1} if the attendee has no events.
+   */
+  public long getVersion(String attendee) {
+    return current.get().getVersion(attendee);
+  }
+
+  /**
+   * Returns the number of events in the calendar.
+   */
+  public int size() {
+    return current.get().size();
+  }
+
+  /**
+   * The calendar at one version. Snapshots are read-only and can be shared by any number of
+   * threads.
+   */
+  public static final class Snapshot implements EventCalendar {
+    static final Snapshot EMPTY =
+        new Snapshot(0, 1, PersistentHashMap.<Long, Event>empty(), PersistentHashMap.empty());
+
+    private final long version;
+    private final long nextId;
+    private final PersistentHashMap<Long, Event> events;
+    private final PersistentHashMap<String, AttendeeCalendar> calendars;
+
+    private Snapshot(long version, long nextId, PersistentHashMap<Long, Event> events,
+        PersistentHashMap<String, AttendeeCalendar> calendars) {
+      this.version = version;
+      this.nextId = nextId;
+      this.events = events;
+      this.calendars = calendars;
+    }
+
+    /**
+     * Returns the event with the given ID, or null if there is none.
+     */
+    public Event getEvent(long id) {
+      return events.get(id);
+    }
+
+    /**
+     * Returns every event in the calendar, keyed and ordered by ID.
+     */
+    public Map<Long, Event> getEventsById() {
+      List<Map.Entry<Long, Event>> entries = events.entries();
+      entries.sort(Map.Entry.comparingByKey());
+      Map<Long, Event> eventsById = new LinkedHashMap<>();
+      for (Map.Entry<Long, Event> entry : entries) {
+        eventsById.put(entry.getKey(), entry.getValue());
+      }
+      return eventsById;
+    }
+
+    /**
+     * Returns every event in the calendar, in order of ID.
+     */
+    @Override
+    public List<Event> getEvents() {
+      return new ArrayList<>(getEventsById().values());
+    }
+
+    /**
+     * Returns a read-only list of the events {@code attendee} is attending, sorted by start
+     * time. The list is empty if the attendee has no events.
+     */
+    @Override
+    public List<Event> getEvents(String attendee) {
+      AttendeeCalendar calendar = calendars.get(attendee);
+      if (calendar == null) {
+        return Collections.emptyList();
+      }
+      return calendar.getEventList();
+    }
+
+    @Override
+    public IntervalSet getBusyTimeline(String attendee) {
+      AttendeeCalendar calendar = calendars.get(attendee);
+      return calendar == null ? IntervalSet.EMPTY : calendar.busyTimeline;
+    }
+
+    /**
+     * Returns the events {@code attendee} is attending that overlap {@code window}, sorted by
+     * start time, in {@code O(log n + k)}.
+     */
+    @Override
+    public List<Event> findAttendeeEvents(String attendee, TimeRange window) {
+      AttendeeCalendar calendar = calendars.get(attendee);
+      if (calendar == null) {
+        return new ArrayList<>();
+      }
+      return calendar.events.findOverlapping(window);
+    }
+
+    /**
+     * Returns the version of the calendar this snapshot holds.
+     */
+    @Override
+    public long getVersion() {
+      return version;
+    }
+
+    /**
+     * Returns the version of the calendar at which {@code attendee}'s events last changed, or
+     * {@code -1} if the attendee has no events.
+     */
+    public long getVersion(String attendee) {
+      AttendeeCalendar calendar = calendars.get(attendee);
+      return calendar == null ? -1 : calendar.version;
+    }
+
+    /**
+     * Returns the number of events in the calendar.
+     */
+    public int size() {
+      return events.size();
+    }
+  }
+
+  /**
+   * One attendee's events, in a tree sorted by start time and then ID, their merged busy
+   * timeline, and the list built from them.
+   */
+  private static final class AttendeeCalendar {
+    final EventTree events;
+    final IntervalSet busyTimeline;
+
+    // The version of the calendar at which these events last changed.
+    final long version;
+
+    // Built the first time it is read. Two threads may both build it, but they build the same
+    // list, and either one can be kept.
+    private volatile List<Event> eventList;
+
+    AttendeeCalendar(EventTree events, IntervalSet busyTimeline, long version) {
+      this.events = events;
+      this.busyTimeline = busyTimeline;
+      this.version = version;
+    }
+
+    List<Event> getEventList() {
+      List<Event> list = eventList;
+      if (list == null) {
+        list = Collections.unmodifiableList(events.toList());
+        eventList = list;
+      }
+      return list;
+    }
+  }
+
+  /**
+   * The changes that turn one snapshot into the next. Each change copies only the paths to the
+   * nodes it changes, and the records of attendees whose events change are replaced once, when
+   * the write is built, however many of their events changed. The write remembers the minutes
+   * covered by each attendee's added and removed events, which are the only minutes where their
+   * busy timeline can change.
+   */
+  private static final class Write {
+    final long version;
+    long nextId;
+    final PersistentHashMap.Editor<Long, Event> events;
+    final PersistentHashMap.Editor<String, AttendeeCalendar> calendars;
+
+    // The events of each attendee touched by this write, and the minutes they changed.
+    final Map<String, Touched> touched = new HashMap<>();
+
+    Write(Snapshot base) {
+      this.version = base.version + 1;
+      this.nextId = base.nextId;
+      this.events = base.events.edit();
+      this.calendars = base.calendars.edit();
+    }
+
+    void insert(long id, Event event) {
+      events.put(id, event);
+      for (String attendee : event.getAttendees()) {
+        Touched attendeeChanges = touched(attendee);
+        attendeeChanges.events = attendeeChanges.events.insert(id, event);
+        attendeeChanges.cover(event.getWhen());
+      }
+    }
+
+    void delete(long id, Event event) {
+      events.remove(id);
+      for (String attendee : event.getAttendees()) {
+        Touched attendeeChanges = touched(attendee);
+        attendeeChanges.events = attendeeChanges.events.remove(id, event);
+        attendeeChanges.cover(event.getWhen());
+      }
+    }
+
+    private Touched touched(String attendee) {
+      Touched attendeeChanges = touched.get(attendee);
+      if (attendeeChanges == null) {
+        attendeeChanges = new Touched(calendars.get(attendee));
+        touched.put(attendee, attendeeChanges);
+      }
+      return attendeeChanges;
+    }
+
+    Snapshot build() {
+      for (Map.Entry<String, Touched> entry : touched.entrySet()) {
+        Touched attendeeChanges = entry.getValue();
+        if (attendeeChanges.events.isEmpty()) {
+          calendars.remove(entry.getKey());
+        } else {
+          calendars.put(entry.getKey(), new AttendeeCalendar(
+              attendeeChanges.events, attendeeChanges.busyTimeline(), version));
+        }
+      }
+      return new Snapshot(version, nextId, events.build(), calendars.build());
+    }
+  }
+
+  /**
+   * One attendee's events as a write changes them, with their busy timeline before the write and
+   * the span of minutes covered by the events the write added or removed.
+   */
+  private static final class Touched {
+    EventTree events;
+    final IntervalSet previousTimeline;
+    int changedStart = Integer.MAX_VALUE;
+    int changedEnd = Integer.MIN_VALUE;
+
+    Touched(AttendeeCalendar calendar) {
+      this.events = calendar == null ? EventTree.EMPTY : calendar.events;
+      this.previousTimeline = calendar == null ? IntervalSet.EMPTY : calendar.busyTimeline;
+    }
+
+    void cover(TimeRange when) {
+      changedStart = Math.min(changedStart, when.start());
+      changedEnd = Math.max(changedEnd, when.end());
+    }
+
+    /**
+     * Returns the busy timeline of the events as they are now. Outside the changed span the
+     * events busy at any minute are the same as before the write, so the previous timeline is
+     * kept there. Inside it, the timeline is rebuilt from the events that overlap the span; the
+     * parts of those events outside the span were already in the previous timeline, so merging
+     * them back in changes nothing.
+     */
+    IntervalSet busyTimeline() {
+      if (changedStart >= changedEnd) {
+        // Only events with no duration changed, and they are never busy.
+        return previousTimeline;
+      }
+      List<Event> overlapping =
+          events.findOverlapping(TimeRange.fromStartEnd(changedStart, changedEnd, false));
+      IntervalSet.Builder builder = new IntervalSet.Builder(overlapping.size());
+      for (Event event : overlapping) {
+        builder.add(event.getWhen());
+      }
+      return previousTimeline.subtract(IntervalSet.of(changedStart, changedEnd))
+          .union(builder.build());
+    }
+  }
+}
@@ -0,0 +1,75 @@
+
+
+package com.google.sps;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A group of people meeting, and therefore busy, at a time that can span any number of days.
+ * {@code Event} is the single-day version. Events are considered read-only.
+ */
+public final class EpochEvent {
+  private final String title;
+  private final EpochRange when;
+  private final Set<String> attendees;
+
+  /**
+   * Creates a new event.
+   *
+   * @param title The human-readable name for the event. Must be non-null.
+   * @param when The time when the event takes place. Must be non-null.
+   * @param attendees The collection of people attending the event. Must be non-null.
+   */
+  public EpochEvent(String title, EpochRange when, Collection<String> attendees) {
+    if (title == null) {
+      throw new IllegalArgumentException("title cannot be null");
+    }
+    if (when == null) {
+      throw new IllegalArgumentException("when cannot be null");
+    }
+    if (attendees == null) {
+      throw new IllegalArgumentException("attendees cannot be null. Use empty array instead.");
+    }
+    this.title = title;
+    this.when = when;
+    this.attendees = Collections.unmodifiableSet(new LinkedHashSet<>(attendees));
+  }
+
+  /**
+   * Returns {@code event}, which takes place on {@code date}, as an epoch event.
+   */
+  public static EpochEvent on(LocalDate date, Event event) {
+    return new EpochEvent(
+        event.getTitle(), EpochRange.on(date, event.getWhen()), event.getAttendees());
+  }
+
+  /**
+   * Returns the human-readable name for this event.
+   */
+  public String getTitle() {
+    return title;
+  }
+
+  /**
+   * Returns the {@code EpochRange} for when this event occurs.
+   */
+  public EpochRange getWhen() {
+    return when;
+  }
+
+  /**
+   * Returns a read-only set of required attendees for this event.
+   */
+  public Set<String> getAttendees() {
+    return attendees;
+  }
+
+  @Override
+  public String toString() {
+    return title + " " + when + " " + attendees;
+  }
+}
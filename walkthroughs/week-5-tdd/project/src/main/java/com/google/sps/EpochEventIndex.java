@@ -0,0 +1,106 @@
+
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An index of events that can span any number of days, for example a year of calendar data. Each
+ * attendee's events are kept in their own {@code IntervalTree}, so finding the events a group of
+ * people have in a window costs {@code O(log n + k)} per person, where {@code k} is the number of
+ * events found, rather than a scan over the whole calendar. The index is read-only once built.
+ */
+public final class EpochEventIndex {
+  private final int size;
+  private final Map<String, IntervalTree<EpochEvent>> eventsByAttendee;
+
+  /**
+   * Creates an index of the given events.
+   *
+   * @param events The events to index. Must be non-null.
+   */
+  public EpochEventIndex(Collection<EpochEvent> events) {
+    if (events == null) {
+      throw new IllegalArgumentException("events cannot be null. Use empty array instead.");
+    }
+
+    Map<String, IntervalTree.Builder<EpochEvent>> builders = new HashMap<>();
+    for (EpochEvent event : events) {
+      for (String attendee : event.getAttendees()) {
+        builders.computeIfAbsent(attendee, (String key) -> new IntervalTree.Builder<>())
+            .add(event.getWhen(), event);
+      }
+    }
+
+    this.size = events.size();
+    this.eventsByAttendee = new HashMap<>();
+    for (Map.Entry<String, IntervalTree.Builder<EpochEvent>> attendee : builders.entrySet()) {
+      eventsByAttendee.put(attendee.getKey(), attendee.getValue().build());
+    }
+  }
+
+  /**
+   * Returns the number of events that were indexed.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the events {@code attendee} is attending that overlap {@code window}, sorted by start
+   * time.
+   */
+  public List<EpochEvent> findEvents(String attendee, EpochRange window) {
+    IntervalTree<EpochEvent> tree = eventsByAttendee.get(attendee);
+    if (tree == null) {
+      return Collections.emptyList();
+    }
+    return tree.findOverlapping(window);
+  }
+
+  /**
+   * Returns the events that {@code proposed} would clash with, for each of its attendees who has
+   * any: the events of theirs that overlap it, sorted by start time. The attendees are in order
+   * of name, and those without a clash are left out.
+   */
+  public Map<String, List<EpochEvent>> findConflicts(EpochEvent proposed) {
+    Map<String, List<EpochEvent>> conflicts = new TreeMap<>();
+    for (String attendee : proposed.getAttendees()) {
+      List<EpochEvent> events = findEvents(attendee, proposed.getWhen());
+      if (!events.isEmpty()) {
+        conflicts.put(attendee, events);
+      }
+    }
+    return conflicts;
+  }
+
+  /**
+   * Returns the events at least one of {@code attendees} is attending that overlap
+   * {@code window}, sorted by start time. An event shared by several of them is only returned
+   * once.
+   */
+  public List<EpochEvent> findEvents(Collection<String> attendees, EpochRange window) {
+    Set<EpochEvent> found = new LinkedHashSet<>();
+    for (String attendee : attendees) {
+      IntervalTree<EpochEvent> tree = eventsByAttendee.get(attendee);
+      if (tree != null) {
+        tree.findOverlapping(window, found::add);
+      }
+    }
+
+    List<EpochEvent> events = new ArrayList<>(found);
+    if (attendees.size() > 1) {
+      events.sort((EpochEvent a, EpochEvent b) ->
+          EpochRange.ORDER_BY_START.compare(a.getWhen(), b.getWhen()));
+    }
+    return events;
+  }
+}
@@ -0,0 +1,172 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * A span of time in minutes since the Unix epoch (midnight UTC on 1 January 1970). Unlike
+ * {@code TimeRange}, which is limited to one day, an epoch range can cover weeks or years. The
+ * {@code overlaps} and {@code contains} methods behave exactly like {@code TimeRange}'s.
+ */
+public final class EpochRange {
+  public static final int MINUTES_PER_DAY = TimeRange.WHOLE_DAY.duration();
+
+  /**
+   * A comparator for sorting ranges by their start time in ascending order.
+   */
+  public static final Comparator<EpochRange> ORDER_BY_START =
+      (EpochRange a, EpochRange b) -> Long.compare(a.start, b.start);
+
+  /**
+   * A comparator for sorting ranges by their end time in ascending order.
+   */
+  public static final Comparator<EpochRange> ORDER_BY_END =
+      (EpochRange a, EpochRange b) -> Long.compare(a.end(), b.end());
+
+  private final long start;
+  private final long duration;
+
+  private EpochRange(long start, long duration) {
+    this.start = start;
+    this.duration = duration;
+  }
+
+  /**
+   * Returns the start of the range in minutes since the epoch.
+   */
+  public long start() {
+    return start;
+  }
+
+  /**
+   * Returns the number of minutes between the start and end.
+   */
+  public long duration() {
+    return duration;
+  }
+
+  /**
+   * Returns the end of the range. This ending value is the closing exclusive bound.
+   */
+  public long end() {
+    return start + duration;
+  }
+
+  /**
+   * Checks if two ranges overlap. This means that at least some part of one range falls within the
+   * bounds of another range.
+   */
+  public boolean overlaps(EpochRange other) {
+    // For two ranges to overlap, one range must contain the start of another range.
+    return this.contains(other.start) || other.contains(this.start);
+  }
+
+  /**
+   * Checks if this range completely contains another range. This is an inclusive bounds, meaning
+   * that if two ranges are the same, they contain each other. A range with no duration contains
+   * nothing, and one with no duration is treated as a point in time.
+   */
+  public boolean contains(EpochRange other) {
+    if (duration <= 0) {
+      return false;
+    }
+    if (other.duration <= 0) {
+      return contains(other.start);
+    }
+    long otherInclusiveEnd = other.start + other.duration - 1;
+    return contains(other.start) && contains(otherInclusiveEnd);
+  }
+
+  /**
+   * Checks if {@code point} falls within the range. The end of the range is not included.
+   */
+  public boolean contains(long point) {
+    return duration > 0 && point >= start && point < start + duration;
+  }
+
+  /**
+   * Returns the part of {@code date}'s day, in minutes since its midnight, that this range
+   * covers, or null if it doesn't cover any of that day.
+   */
+  public TimeRange toTimeRange(LocalDate date) {
+    long dayStart = date.toEpochDay() * MINUTES_PER_DAY;
+    long from = Math.max(start, dayStart);
+    long to = Math.min(end(), dayStart + MINUTES_PER_DAY);
+    if (from >= to) {
+      return null;
+    }
+    return TimeRange.fromStartEnd((int) (from - dayStart), (int) (to - dayStart), false);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof EpochRange && equals(this, (EpochRange) other);
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(start) ^ Long.hashCode(duration);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("EpochRange: [%d, %d)", start, start + duration);
+  }
+
+  private static boolean equals(EpochRange a, EpochRange b) {
+    return a.start == b.start && a.duration == b.duration;
+  }
+
+  /**
+   * Returns the minute since the epoch at {@code minuteOfDay} minutes past midnight on
+   * {@code date}.
+   */
+  public static long getEpochMinute(LocalDate date, int minuteOfDay) {
+    return date.toEpochDay() * MINUTES_PER_DAY + minuteOfDay;
+  }
+
+  /**
+   * Creates an {@code EpochRange} from {@code start} to {@code end}. Whether or not {@code end} is
+   * included in the range will depend on {@code inclusive}.
+   */
+  public static EpochRange fromStartEnd(long start, long end, boolean inclusive) {
+    return inclusive ? new EpochRange(start, end - start + 1) : new EpochRange(start, end - start);
+  }
+
+  /**
+   * Creates an {@code EpochRange} starting at {@code start} with a duration equal to
+   * {@code duration}.
+   */
+  public static EpochRange fromStartDuration(long start, long duration) {
+    return new EpochRange(start, duration);
+  }
+
+  /**
+   * Creates an {@code EpochRange} covering {@code range} on {@code date}.
+   */
+  public static EpochRange on(LocalDate date, TimeRange range) {
+    return new EpochRange(getEpochMinute(date, range.start()), range.duration());
+  }
+
+  /**
+   * Creates an {@code EpochRange} covering every day from {@code first} to {@code last},
+   * inclusive.
+   */
+  public static EpochRange ofDays(LocalDate first, LocalDate last) {
+    return fromStartEnd(getEpochMinute(first, 0), getEpochMinute(last.plusDays(1), 0), false);
+  }
+}
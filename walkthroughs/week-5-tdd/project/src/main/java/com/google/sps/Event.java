@@ -14,19 +14,30 @@
 
 package com.google.sps;
 
+import com.google.gson.annotations.JsonAdapter;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
  * Event is the container class for when a specific group of people are meeting and are therefore
  * busy. Events are considered read-only.
+ *
+ * <p>Attendees are stored as a sorted array of IDs from the default {@code AttendeeRegistry}
+ * rather than as a set of names, which keeps events small when there are millions of them. The
+ * names are looked up in the registry when they are read. Since the names aren't fields, every
+ * {@code Gson} writes events with {@code JsonCodec.EVENT}, which writes them out as "attendees".
  */
+@JsonAdapter(JsonCodec.EventAdapter.class)
 public final class Event {
   private final String title;
   private final TimeRange when;
-  private final Set<String> attendees = new HashSet<>();
+
+  // The attendees' IDs, sorted and without duplicates.
+  private final transient int[] attendeeIds;
 
   /**
    * Creates a new event.
@@ -50,7 +61,7 @@ public final class Event {
 
     this.title = title;
     this.when = when;
-    this.attendees.addAll(attendees);
+    this.attendeeIds = AttendeeRegistry.getDefault().internAll(attendees);
   }
 
   /**
@@ -71,9 +82,37 @@ public final class Event {
    * Returns a read-only set of required attendees for this event.
    */
   public Set<String> getAttendees() {
-    // Return the attendees as an unmodifiable set so that the caller can't change our
+    // Return a read-only view of the attendees so that the caller can't change our
     // internal data.
-    return Collections.unmodifiableSet(attendees);
+    return new AttendeeSet();
+  }
+
+  /**
+   * Returns the number of attendees of this event.
+   */
+  public int getAttendeeCount() {
+    return attendeeIds.length;
+  }
+
+  /**
+   * Returns the ID of attendee {@code i}. IDs are in ascending order.
+   */
+  public int getAttendeeId(int i) {
+    return attendeeIds[i];
+  }
+
+  /**
+   * Returns whether the person with the given ID is attending this event.
+   */
+  public boolean hasAttendee(int attendeeId) {
+    return Arrays.binarySearch(attendeeIds, attendeeId) >= 0;
+  }
+
+  /**
+   * Returns whether any of the people with the given sorted IDs is attending this event.
+   */
+  public boolean hasAnyAttendee(int[] sortedAttendeeIds) {
+    return AttendeeRegistry.intersects(attendeeIds, sortedAttendeeIds);
   }
 
   @Override
@@ -89,8 +128,47 @@ public final class Event {
   }
 
   private static boolean equals(Event a, Event b) {
-    // {@code attendees} must be a set for equals to work as expected. According to the {@code Set}
-    // interface documentation, equals will check for set-equality across all set implementations.
-    return a.title.equals(b.title) && a.when.equals(b.when) && a.attendees.equals(b.attendees);
+    // The IDs are sorted and unique, so equal arrays mean equal sets of attendees.
+    return a.title.equals(b.title) && a.when.equals(b.when)
+        && Arrays.equals(a.attendeeIds, b.attendeeIds);
+  }
+
+  /**
+   * A read-only {@code Set} view of the attendees' names, in order of their IDs.
+   */
+  private final class AttendeeSet extends AbstractSet<String> {
+    @Override
+    public int size() {
+      return attendeeIds.length;
+    }
+
+    @Override
+    public boolean contains(Object name) {
+      if (!(name instanceof String)) {
+        return false;
+      }
+      int id = AttendeeRegistry.getDefault().idOf((String) name);
+      return id >= 0 && hasAttendee(id);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+      return new Iterator<String>() {
+        private int next = 0;
+
+        @Override
+        public boolean hasNext() {
+          return next < attendeeIds.length;
+        }
+
+        @Override
+        public String next() {
+          if (next >= attendeeIds.length) {
+            throw new NoSuchElementException();
+          }
+          return AttendeeRegistry.getDefault().nameOf(attendeeIds[next++]);
+        }
+      };
+    }
   }
 }
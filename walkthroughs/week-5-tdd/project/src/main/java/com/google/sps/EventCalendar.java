@@ -0,0 +1,132 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A calendar that can list its events as well as serve busy timelines. {@code EventIndex}, a
+ * {@code CalendarStore.Snapshot} and a {@code CalendarSnapshot} are all calendars, so the
+ * servlets can read from whichever one they were given.
+ */
+public interface EventCalendar extends BusyTimelines {
+  /**
+   * Returns every event in the calendar.
+   */
+  List<Event> getEvents();
+
+  /**
+   * Returns the events {@code attendee} is attending, sorted by start time. The list is empty if
+   * the attendee has no events.
+   */
+  List<Event> getEvents(String attendee);
+
+  /**
+   * Returns a number that changes whenever the events of the calendar change. A calendar that
+   * never changes can always return the same number.
+   */
+  long getVersion();
+
+  /**
+   * Returns the events that any of {@code attendees} attend and that overlap {@code window},
+   * sorted by start time. Each attendee's events are looked up directly and read only up to the
+   * end of the window, so the rest of the calendar is never scanned.
+   *
+   * @param attendees The people whose events to return, or null for everyone.
+   * @param window The time the events must overlap, or null for the whole day.
+   */
+  default List<Event> findEvents(Collection<String> attendees, TimeRange window) {
+    if (attendees == null) {
+      List<Event> found = new ArrayList<>();
+      for (Event event : getEvents()) {
+        if (window == null || window.overlaps(event.getWhen())) {
+          found.add(event);
+        }
+      }
+      EventSort.sortByStart(found);
+      return found;
+    }
+
+    // Events shared by several of the attendees are only returned once. A shared event is the
+    // same object in each attendee's list, so they are told apart by identity: two separate events
+    // that happen to be equal are both returned, as they are when attendees is null.
+    Set<Event> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<Event> found = new ArrayList<>();
+    for (String attendee : attendees) {
+      for (Event event : getEvents(attendee)) {
+        if (window != null && event.getWhen().start() > window.end()) {
+          // The events are sorted by start, so none of the rest can overlap the window either.
+          break;
+        }
+        if ((window == null || window.overlaps(event.getWhen())) && seen.add(event)) {
+          found.add(event);
+        }
+      }
+    }
+    EventSort.sortByStart(found);
+    return found;
+  }
+
+  /**
+   * Returns the events {@code attendee} is attending that overlap {@code window}, sorted by start
+   * time. This reads the attendee's events in start order up to the end of the window; calendars
+   * that keep an {@code IntervalTree} of each attendee's events override it to find them in
+   * {@code O(log n + k)} instead.
+   */
+  default List<Event> findAttendeeEvents(String attendee, TimeRange window) {
+    List<Event> found = new ArrayList<>();
+    for (Event event : getEvents(attendee)) {
+      if (event.getWhen().start() > window.end()) {
+        // The events are sorted by start, so none of the rest can overlap the window either.
+        break;
+      }
+      if (window.overlaps(event.getWhen())) {
+        found.add(event);
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Returns the events that {@code proposed} would clash with, for each of its attendees who has
+   * any: the events of theirs that overlap it, sorted by start time. The attendees are in order
+   * of name, and those without a clash are left out.
+   */
+  default Map<String, List<Event>> findConflicts(Event proposed) {
+    return findConflicts(proposed.getAttendees(), proposed.getWhen());
+  }
+
+  /**
+   * Returns the conflicts of an event at {@code when} with the given attendees, as
+   * {@code findConflicts(Event)} does, without creating the event.
+   */
+  default Map<String, List<Event>> findConflicts(Collection<String> attendees, TimeRange when) {
+    Map<String, List<Event>> conflicts = new TreeMap<>();
+    for (String attendee : attendees) {
+      List<Event> events = findAttendeeEvents(attendee, when);
+      if (!events.isEmpty()) {
+        conflicts.put(attendee, events);
+      }
+    }
+    return conflicts;
+  }
+}
@@ -0,0 +1,241 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An inverted index from each attendee to the events they are attending. The index is built once
+ * from a collection of events so that a query only has to look at the events of the people it is
+ * asking about. Like {@code Event}, the index is read-only once built.
+ *
+ * <p>The index also serves each attendee's merged busy timeline. A timeline is built the first
+ * time it is asked for and then shared by every later query, from any thread.
+ */
+public final class EventIndex implements EventCalendar {
+  /**
+   * A comparator for sorting events by their start time in ascending order.
+   */
+  public static final Comparator<Event> ORDER_BY_START =
+      (Event a, Event b) -> Integer.compare(a.getWhen().start(), b.getWhen().start());
+
+  // Every indexed event, in the order it was added.
+  private final List<Event> events;
+
+  // Each attendee's events, sorted by start time.
+  private final Map<String, List<Event>> eventsByAttendee;
+
+  // Each attendee's merged busy timeline, filled in as attendees are queried.
+  private final ConcurrentHashMap<String, IntervalSet> busyTimelines = new ConcurrentHashMap<>();
+
+  // Each attendee's events as an interval tree, built the first time their events are searched.
+  private final ConcurrentHashMap<String, IntervalTree<Event>> eventTrees =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Creates an index of the given events.
+   *
+   * @param events The events to index. Must be non-null.
+   */
+  public EventIndex(Collection<Event> events) {
+    this(addAll(new Builder(), events));
+  }
+
+  private EventIndex(Builder builder) {
+    // Events added in start order are already sorted in every attendee's list.
+    if (!builder.inStartOrder) {
+      for (List<Event> attendeeEvents : builder.eventsByAttendee.values()) {
+        EventSort.sortByStart(attendeeEvents);
+      }
+    }
+    this.events = builder.events;
+    this.eventsByAttendee = builder.eventsByAttendee;
+  }
+
+  private static Builder addAll(Builder builder, Collection<Event> events) {
+    if (events == null) {
+      throw new IllegalArgumentException("events cannot be null. Use empty array instead.");
+    }
+
+    for (Event event : events) {
+      builder.add(event);
+    }
+    return builder;
+  }
+
+  /**
+   * Creates an index of every event read from {@code source}. The events are indexed as they are
+   * read, so only the events themselves are kept in memory, never the source's whole input.
+   * The source is not closed.
+   *
+   * @throws IOException if the source can't be read
+   */
+  public static EventIndex load(EventSource source) throws IOException {
+    Builder builder = new Builder();
+    for (Event event = source.next(); event != null; event = source.next()) {
+      builder.add(event);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns a read-only list of every indexed event, in the order they were added.
+   */
+  @Override
+  public List<Event> getEvents() {
+    return Collections.unmodifiableList(events);
+  }
+
+  /**
+   * Returns a read-only list of the events {@code attendee} is attending, sorted by start time.
+   * The list is empty if the attendee has no events.
+   */
+  @Override
+  public List<Event> getEvents(String attendee) {
+    List<Event> attendeeEvents = eventsByAttendee.get(attendee);
+    if (attendeeEvents == null) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(attendeeEvents);
+  }
+
+  @Override
+  public IntervalSet getBusyTimeline(String attendee) {
+    List<Event> attendeeEvents = eventsByAttendee.get(attendee);
+    if (attendeeEvents == null) {
+      return IntervalSet.EMPTY;
+    }
+    return busyTimelines.computeIfAbsent(attendee, (String key) -> mergeEvents(attendeeEvents));
+  }
+
+  /**
+   * Returns the events {@code attendee} is attending that overlap {@code window}, sorted by start
+   * time, in {@code O(log n + k)}.
+   */
+  @Override
+  public List<Event> findAttendeeEvents(String attendee, TimeRange window) {
+    List<Event> attendeeEvents = eventsByAttendee.get(attendee);
+    if (attendeeEvents == null) {
+      return new ArrayList<>();
+    }
+    IntervalTree<Event> tree =
+        eventTrees.computeIfAbsent(attendee, (String key) -> buildTree(attendeeEvents));
+    return tree.findOverlapping(toEpochRange(window));
+  }
+
+  /**
+   * Returns an interval tree of {@code events}, with each event's time of day as its range.
+   */
+  private static IntervalTree<Event> buildTree(Collection<Event> events) {
+    IntervalTree.Builder<Event> builder = new IntervalTree.Builder<>();
+    for (Event event : events) {
+      builder.add(toEpochRange(event.getWhen()), event);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns {@code range} as an {@code EpochRange}, so that it can be searched for in a tree from
+   * {@code buildTree}. The two ranges overlap the same ranges.
+   */
+  private static EpochRange toEpochRange(TimeRange range) {
+    return EpochRange.fromStartDuration(range.start(), range.duration());
+  }
+
+  /**
+   * Merges a list of events, sorted by start time, into the set of times they cover.
+   */
+  private static IntervalSet mergeEvents(List<Event> sortedEvents) {
+    IntervalSet.Builder builder = new IntervalSet.Builder(sortedEvents.size());
+    for (Event event : sortedEvents) {
+      builder.add(event.getWhen());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns a read-only view of everyone who is attending at least one indexed event.
+   */
+  public Collection<String> getAttendees() {
+    return Collections.unmodifiableCollection(eventsByAttendee.keySet());
+  }
+
+  /**
+   * Returns 0: an index never changes.
+   */
+  @Override
+  public long getVersion() {
+    return 0;
+  }
+
+  /**
+   * Returns the number of events that were indexed.
+   */
+  public int size() {
+    return events.size();
+  }
+
+  /**
+   * Collects events one at a time for an {@code EventIndex}. Each attendee's events are sorted
+   * once, when the index is built, unless every event was added in order of its start.
+   */
+  public static final class Builder {
+    private final List<Event> events = new ArrayList<>();
+    private final Map<String, List<Event>> eventsByAttendee = new HashMap<>();
+    private boolean built = false;
+
+    // Whether the events so far were added in order of their start, and the last start added.
+    private boolean inStartOrder = true;
+    private int lastStart = Integer.MIN_VALUE;
+
+    /**
+     * Adds {@code event} to the index.
+     */
+    public Builder add(Event event) {
+      if (event == null) {
+        throw new IllegalArgumentException("event cannot be null");
+      }
+      if (built) {
+        throw new IllegalStateException("The index has already been built.");
+      }
+
+      int start = event.getWhen().start();
+      inStartOrder &= start >= lastStart;
+      lastStart = start;
+
+      events.add(event);
+      for (String attendee : event.getAttendees()) {
+        eventsByAttendee.computeIfAbsent(attendee, (String key) -> new ArrayList<>()).add(event);
+      }
+      return this;
+    }
+
+    /**
+     * Returns an index of the events added so far. The builder can't be used afterwards.
+     */
+    public EventIndex build() {
+      built = true;
+      return new EventIndex(this);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.List;
+
+/**
+ * Sorts events by start time. A day has only 1441 possible start minutes, so large lists are
+ * sorted with a counting sort: each event's start is read once into an array of keys, the keys
+ * are counted into one bucket per minute, and the events are copied straight into their place.
+ * That costs {@code O(n + 1441)} with no comparisons, instead of {@code O(n log n)} comparisons
+ * that each read both events' start times through {@code getWhen()}.
+ *
+ * <p>Short lists, and lists with a start outside the day, fall back to {@code List.sort}. Both
+ * sorts are stable, so events with the same start keep their order.
+ */
+public final class EventSort {
+  private static final int LAST_START = TimeRange.WHOLE_DAY.end();
+
+  /**
+   * Below this many events, clearing and summing the buckets costs more than comparing events.
+   * See {@code EventSortBenchmark}.
+   */
+  static final int COUNTING_SORT_THRESHOLD = 64;
+
+  private EventSort() {}
+
+  /**
+   * Sorts {@code events} by start time, in place, with whichever sort is faster for its size.
+   */
+  public static void sortByStart(List<Event> events) {
+    if (events.size() < COUNTING_SORT_THRESHOLD) {
+      events.sort(EventIndex.ORDER_BY_START);
+    } else {
+      countingSortByStart(events);
+    }
+  }
+
+  /**
+   * Sorts {@code events} by start time, in place, with a counting sort whatever its size. Falls
+   * back to {@code List.sort} if an event starts outside the day.
+   */
+  public static void countingSortByStart(List<Event> events) {
+    int size = events.size();
+    Event[] unsorted = events.toArray(new Event[size]);
+    int[] starts = new int[size];
+    // counts[s + 1] is first the number of events starting at s, then the position of the first
+    // event starting at s + 1.
+    int[] counts = new int[LAST_START + 2];
+    for (int i = 0; i < size; i++) {
+      int start = unsorted[i].getWhen().start();
+      if (start < 0 || start > LAST_START) {
+        events.sort(EventIndex.ORDER_BY_START);
+        return;
+      }
+      starts[i] = start;
+      counts[start + 1]++;
+    }
+    for (int start = 1; start < counts.length; start++) {
+      counts[start] += counts[start - 1];
+    }
+
+    Event[] sorted = new Event[size];
+    for (int i = 0; i < size; i++) {
+      sorted[counts[starts[i]]++] = unsorted[i];
+    }
+    for (int i = 0; i < size; i++) {
+      events.set(i, sorted[i]);
+    }
+  }
+}
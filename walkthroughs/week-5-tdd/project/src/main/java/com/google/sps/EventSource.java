@@ -0,0 +1,31 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A stream of events read from somewhere outside the program, such as a file. Events are
+ * produced one at a time, so a source never has to hold its whole input in memory.
+ */
+public interface EventSource extends Closeable {
+  /**
+   * Returns the next event, or null if there are no more.
+   *
+   * @throws IOException if the input can't be read or isn't valid
+   */
+  Event next() throws IOException;
+}
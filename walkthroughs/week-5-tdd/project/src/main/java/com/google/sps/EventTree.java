@@ -0,0 +1,221 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A read-only set of events with IDs, sorted by start time and then ID, whose changed copies
+ * share all but {@code O(log n)} of its nodes with it. It is an AVL tree in which every node also
+ * records the latest end in its subtree, so {@code findOverlapping} can skip every subtree that
+ * ends before a window starts and returns the {@code k} events that overlap it in
+ * {@code O(log n + k)}.
+ */
+final class EventTree {
+  static final EventTree EMPTY = new EventTree(null);
+
+  // Null if the tree is empty.
+  private final Node root;
+
+  private EventTree(Node root) {
+    this.root = root;
+  }
+
+  int size() {
+    return root == null ? 0 : root.size;
+  }
+
+  boolean isEmpty() {
+    return root == null;
+  }
+
+  /**
+   * Returns a copy of this tree with {@code event} added under {@code id}. An event with the
+   * same start and ID is replaced.
+   */
+  EventTree insert(long id, Event event) {
+    return new EventTree(insert(root, event.getWhen().start(), id, event));
+  }
+
+  /**
+   * Returns a copy of this tree without the event {@code id}, which was added as {@code event}.
+   * The tree is returned as it is if it doesn't hold it.
+   */
+  EventTree remove(long id, Event event) {
+    Node newRoot = remove(root, event.getWhen().start(), id);
+    return newRoot == root ? this : new EventTree(newRoot);
+  }
+
+  /**
+   * Returns every event, sorted by start time and then ID.
+   */
+  List<Event> toList() {
+    List<Event> events = new ArrayList<>(size());
+    addAll(root, events);
+    return events;
+  }
+
+  /**
+   * Returns the events that overlap {@code window}, sorted by start time and then ID. Overlapping
+   * means the same as {@code TimeRange.overlaps}, so an event with no duration overlaps the
+   * windows it falls inside, and a window with no duration overlaps the events it falls inside.
+   */
+  List<Event> findOverlapping(TimeRange window) {
+    List<Event> found = new ArrayList<>();
+    // A window with no duration still finds the events that contain its start.
+    int searchEnd = Math.max(window.end(), window.start() + 1);
+    search(root, window, searchEnd, found);
+    return found;
+  }
+
+  private static void search(Node node, TimeRange window, int searchEnd, List<Event> found) {
+    // Any event that overlaps the window ends at or after its start.
+    if (node == null || node.maxEnd < window.start()) {
+      return;
+    }
+    search(node.left, window, searchEnd, found);
+    if (node.start >= searchEnd) {
+      // This event and every one to its right start too late to overlap the window.
+      return;
+    }
+    if (window.overlaps(node.event.getWhen())) {
+      found.add(node.event);
+    }
+    search(node.right, window, searchEnd, found);
+  }
+
+  private static void addAll(Node node, List<Event> events) {
+    if (node != null) {
+      addAll(node.left, events);
+      events.add(node.event);
+      addAll(node.right, events);
+    }
+  }
+
+  private static int compare(int start, long id, Node node) {
+    int byStart = Integer.compare(start, node.start);
+    return byStart != 0 ? byStart : Long.compare(id, node.id);
+  }
+
+  private static Node insert(Node node, int start, long id, Event event) {
+    if (node == null) {
+      return new Node(start, id, event, null, null);
+    }
+    int comparison = compare(start, id, node);
+    if (comparison < 0) {
+      return balance(node, insert(node.left, start, id, event), node.right);
+    }
+    if (comparison > 0) {
+      return balance(node, node.left, insert(node.right, start, id, event));
+    }
+    return new Node(start, id, event, node.left, node.right);
+  }
+
+  private static Node remove(Node node, int start, long id) {
+    if (node == null) {
+      return null;
+    }
+    int comparison = compare(start, id, node);
+    if (comparison < 0) {
+      Node left = remove(node.left, start, id);
+      return left == node.left ? node : balance(node, left, node.right);
+    }
+    if (comparison > 0) {
+      Node right = remove(node.right, start, id);
+      return right == node.right ? node : balance(node, node.left, right);
+    }
+    if (node.left == null) {
+      return node.right;
+    }
+    if (node.right == null) {
+      return node.left;
+    }
+    // Replace the node by the first node of its right subtree.
+    Node first = node.right;
+    while (first.left != null) {
+      first = first.left;
+    }
+    return balance(first, node.left, remove(node.right, first.start, first.id));
+  }
+
+  /**
+   * Returns a node with the event of {@code node} and the given children, rotated so that the
+   * heights of its subtrees differ by at most one. The children's heights may differ by two.
+   */
+  private static Node balance(Node node, Node left, Node right) {
+    int difference = height(left) - height(right);
+    if (difference > 1) {
+      if (height(left.left) < height(left.right)) {
+        left = rotateLeft(left, left.left, left.right);
+      }
+      return rotateRight(node, left, right);
+    }
+    if (difference < -1) {
+      if (height(right.right) < height(right.left)) {
+        right = rotateRight(right, right.left, right.right);
+      }
+      return rotateLeft(node, left, right);
+    }
+    return new Node(node.start, node.id, node.event, left, right);
+  }
+
+  // Returns node, with the given children, rotated so that its left child is on top.
+  private static Node rotateRight(Node node, Node left, Node right) {
+    Node newRight = new Node(node.start, node.id, node.event, left.right, right);
+    return new Node(left.start, left.id, left.event, left.left, newRight);
+  }
+
+  // Returns node, with the given children, rotated so that its right child is on top.
+  private static Node rotateLeft(Node node, Node left, Node right) {
+    Node newLeft = new Node(node.start, node.id, node.event, left, right.left);
+    return new Node(right.start, right.id, right.event, newLeft, right.right);
+  }
+
+  private static int height(Node node) {
+    return node == null ? 0 : node.height;
+  }
+
+  private static final class Node {
+    final int start;
+    final long id;
+    final Event event;
+    final Node left;
+    final Node right;
+    final int height;
+    final int size;
+
+    // The latest end of any event in this subtree.
+    final int maxEnd;
+
+    Node(int start, long id, Event event, Node left, Node right) {
+      this.start = start;
+      this.id = id;
+      this.event = event;
+      this.left = left;
+      this.right = right;
+      this.height = Math.max(height(left), height(right)) + 1;
+      this.size = (left == null ? 0 : left.size) + (right == null ? 0 : right.size) + 1;
+      int end = event.getWhen().end();
+      if (left != null) {
+        end = Math.max(end, left.maxEnd);
+      }
+      if (right != null) {
+        end = Math.max(end, right.maxEnd);
+      }
+      this.maxEnd = end;
+    }
+  }
+}
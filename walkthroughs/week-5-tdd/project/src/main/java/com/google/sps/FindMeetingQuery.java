@@ -14,157 +14,570 @@
 
 package com.google.sps;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
 
 public final class FindMeetingQuery {
+  /**
+   * The algorithms {@code query} can use to find meeting times. Both engines return the same
+   * results for the same input.
+   */
+  public enum Engine {
+    /** Merges the attendees' busy timelines, then scans the gaps between them. */
+    INTERVAL,
+
+    /** ORs together per-minute bitmaps of the attendees' days, then scans them for free runs. */
+    BITMAP
+  }
+
+  // Marks the start times of a quorum query that too many mandatory attendees would miss.
+  private static final int NO_QUORUM = Integer.MAX_VALUE;
+
+  private final Engine engine;
+
+  // Where the time of each phase and the sizes of the inputs are recorded, or null.
+  private final QueryMetrics metrics;
+
+  /**
+   * Creates a query that uses the interval engine.
+   */
+  public FindMeetingQuery() {
+    this(Engine.INTERVAL);
+  }
+
+  /**
+   * Creates a query that uses the given engine.
+   */
+  public FindMeetingQuery(Engine engine) {
+    this(engine, null);
+  }
+
+  /**
+   * Creates a query that uses the given engine and records how long each phase of every query
+   * takes, and how large its inputs are, in {@code metrics}.
+   *
+   * @param metrics where to record, or null to record nothing
+   */
+  public FindMeetingQuery(Engine engine, QueryMetrics metrics) {
+    if (engine == null) {
+      throw new IllegalArgumentException("engine cannot be null");
+    }
+    this.engine = engine;
+    this.metrics = metrics;
+  }
+
   /**
    * Given a Collection of all known events and a meeting request, returns the TimeRanges where
-   * the meeting can occur. In the TimeRanges returned, all mandatory meeting attendees will be 
-   * able to attend. If there is at least one timeslot where ALL mandatory and ALL optional attendees 
-   * can attend, then those timeslot(s) will be returned.
-   * 
-   * Algorithm:
-   * 1. Going through all the events, add events that involve meeting attendees (both optional and 
-   * mandatory) to an ArrayList, eventList.
-   * 2. Sort eventList according to event start times
-   * 3. Merge adjacent events if they overlap
-   * 4. Going through the merged events list, add the gaps between events that are longer or 
-   * equal to meeting duration to output
-   * 5. If there are no meeting times, remove optional attendees, and repeat steps 1-4.
+   * the meeting can occur. Only the events of the requested attendees are indexed, found by
+   * comparing attendee IDs; callers that run many queries over the same events should build an
+   * {@code EventIndex} once and use {@code query(BusyTimelines, MeetingRequest)} instead.
    * 
    * @param events Collection of all known events in the day
    * @param request the MeetingRequest containing the details of the meeting 
    * @return the Collection of TimeRanges when the meeting can be scheduled
    */
   public Collection<TimeRange> query(Collection<Event> events, MeetingRequest request) {
+    long time = startTimer();
+
+    /* FILTER ALL EVENTS BY ATTENDEES */
+    // Both lists of IDs are sorted, so each event costs a merge-scan rather than hashing names.
+    AttendeeRegistry registry = AttendeeRegistry.getDefault();
+    ArrayList<String> meetingAttendees = new ArrayList<>(request.getAttendees());
+    meetingAttendees.addAll(request.getOptionalAttendees());
+    int[] meetingAttendeeIds = registry.idsOf(meetingAttendees);
+
+    ArrayList<Event> relevantEvents = new ArrayList<>();
+    for (Event event : events) {
+      if (event.hasAnyAttendee(meetingAttendeeIds)) {
+        relevantEvents.add(event);
+      }
+    }
+    time = stopTimer(QueryMetrics.Phase.FILTER, time);
+    count(QueryMetrics.Counter.EVENTS_SCANNED, events.size());
+    count(QueryMetrics.Counter.EVENTS_MATCHED, relevantEvents.size());
 
+    /* SORT THE RELEVANT EVENTS BY START TIME */
+    // Sorting them once, with a counting sort when there are many, leaves every attendee's events
+    // in start order, so the index doesn't have to sort them again.
+    EventSort.sortByStart(relevantEvents);
+    stopTimer(QueryMetrics.Phase.SORT, time);
+    return query(new EventIndex(relevantEvents), request);
+  }
+
+  /**
+   * Given the busy timelines of all known people and a meeting request, returns the TimeRanges 
+   * where the meeting can occur. In the TimeRanges returned, all mandatory meeting attendees will 
+   * be able to attend. If there is at least one timeslot where ALL mandatory and ALL optional 
+   * attendees can attend, then those timeslot(s) will be returned.
+   * 
+   * Algorithm:
+   * 1. Look up the merged busy timeline of each meeting attendee (both optional and mandatory).
+   * 2. Sweep over the timelines in start time order, merging them into two timelines at once: 
+   * the busy times of all attendees, and the busy times of the mandatory attendees only.
+   * 3. Going through the timeline of all attendees, add the gaps between busy times that are 
+   * longer or equal to meeting duration to output
+   * 4. If there are no meeting times, do the same with the mandatory attendees' timeline, which 
+   * was already built by the sweep.
+   *
+   * Only times starting at or after the request's "not before" minute are returned, and each
+   * timeline is entered at its first busy interval ending after that minute. With a result limit
+   * the sweep stops as soon as it has found that many times, so asking for the earliest time
+   * only costs as much as the part of the day before it.
+   *
+   * The BITMAP engine replaces steps 2-3 with {@code queryWithBitmaps}. Requests that maximize
+   * optional attendance are answered by {@code queryMostOptionalAttendees} instead, and requests
+   * that only need a quorum of the mandatory attendees by {@code queryQuorum}.
+   *
+   * Padding before and after the meeting widens every attendee's busy times by that much, so the
+   * gaps between them only fit the meeting where the padding is free too. The interval timelines
+   * are widened by moving their endpoints (see {@code IntervalSet.dilate}), and the BITMAP engine
+   * widens its two combined bitmaps once instead.
+   * 
+   * @param timelines the busy timelines of all known people, e.g. an EventIndex
+   * @param request the MeetingRequest containing the details of the meeting 
+   * @return the Collection of TimeRanges when the meeting can be scheduled
+   */
+  public Collection<TimeRange> query(BusyTimelines timelines, MeetingRequest request) {
+    ArrayList<TimeRange> meetingTimes = findMeetingTimes(timelines, request);
+    count(QueryMetrics.Counter.QUERIES, 1);
+    count(QueryMetrics.Counter.ATTENDEES,
+        request.getAttendees().size() + request.getOptionalAttendees().size());
+    count(QueryMetrics.Counter.RESULTS, meetingTimes.size());
+    return meetingTimes;
+  }
+
+  private ArrayList<TimeRange> findMeetingTimes(BusyTimelines timelines, MeetingRequest request) {
     ArrayList<TimeRange> meetingTimes = new ArrayList<TimeRange>();
 
     // EDGE CASE: No meetingTimes available for meetings longer than 1 day
     if (request.getDuration() > TimeRange.WHOLE_DAY.duration()) {
       return meetingTimes;
     }
-    
-    /* FILTER ALL EVENTS BY ATTENDEES */
-    // Initially consider both mandatory and optional attendees
-    HashSet<String> meetingAttendees = new HashSet<String>(request.getAttendees());
-    meetingAttendees.addAll(request.getOptionalAttendees());
-    ArrayList<Event> eventList = filterEventsByAttendees(events, meetingAttendees);
 
-    /* SORT EVENTS BY START TIME */ 
-    Comparator<Event> compareByStartTime = 
-        (Event event1, Event event2) -> Integer.compare(event1.getWhen().start(), event2.getWhen().start());
-    eventList.sort(compareByStartTime);
+    BusyTimelines paddedTimelines = pad(timelines, request);
+
+    if (request.getMinAttendance() > 0) {
+      return queryQuorum(paddedTimelines, request);
+    }
+
+    if (request.shouldMaximizeOptionalAttendance()) {
+      return queryMostOptionalAttendees(paddedTimelines, request);
+    }
+
+    if (engine == Engine.BITMAP) {
+      return queryWithBitmaps(timelines, request);
+    }
 
-    /* MERGE ANY OVERLAPPING EVENTS */ 
-    ArrayList<TimeRange> mergedEventTimes = mergeOverlappingEvents(eventList);
+    long time = startTimer();
+
+    /* SWEEP THE ATTENDEES' TIMELINES, COLLECTING THE GAPS BETWEEN BUSY TIMES */
+    FreeTimes allFreeTimes = new FreeTimes(request, request.getResultLimit());
+    FreeTimes mandatoryFreeTimes = new FreeTimes(request, request.getResultLimit());
+    sweepTimelines(paddedTimelines, request.getAttendees(), request.getOptionalAttendees(),
+        request.getNotBefore(), allFreeTimes, mandatoryFreeTimes);
+    time = stopTimer(QueryMetrics.Phase.MERGE, time);
     
     /* RETURN ALL THE BLOCKS OF AVAILABILITY */
-    meetingTimes = findAvailability(mergedEventTimes, request.getDuration());
+    IntervalSet availability = allFreeTimes.build();
 
-    // If at this point there are no possible meeting times, try removing optional guests
-    // and repeat the process.
-    if (meetingTimes.isEmpty()) {
-      meetingAttendees.removeAll(request.getOptionalAttendees());
-      eventList = filterEventsByAttendees(events, meetingAttendees);
-      eventList.sort(compareByStartTime);
-      mergedEventTimes = mergeOverlappingEvents(eventList);
-      meetingTimes = findAvailability(mergedEventTimes, request.getDuration());
+    // If at this point there are no possible meeting times, fall back to the mandatory
+    // attendees' timeline. The sweep can only have stopped early if there were, so the mandatory
+    // attendees' gaps are complete.
+    if (availability.isEmpty()) {
+      availability = mandatoryFreeTimes.build();
     }
+
+    // Only the final answer is converted to TimeRanges.
+    meetingTimes.addAll(availability.toTimeRanges());
+    stopTimer(QueryMetrics.Phase.GAPS, time);
     return meetingTimes;
   }
 
   /**
-   * Returns the subset of events in which the attendees provided are attending.
-   * @param events the collection of Event objects to be filtered
-   * @param attendees the attendees to filter the Event objects by
-   * @return the subset of events in which the attendees are attending
+   * Returns the TimeRanges of day where the meeting can occur on every day of
+   * {@code recurrence}. Each attendee's days are first combined into one timeline of the times
+   * they are busy on any of the days (see {@code MultiDayCalendar.getBusyTimeline}), and a single
+   * query then runs over those timelines, so every option of {@code request} works the same as
+   * for one day.
+   *
+   * @param calendar the events of every day
+   * @param recurrence the days the meeting takes place on
+   * @param request the MeetingRequest containing the details of the meeting
+   * @return the Collection of TimeRanges when the meeting can be scheduled on every day
    */
-  private ArrayList<Event> filterEventsByAttendees(Collection<Event> events, Collection<String> attendees) {
-    ArrayList<Event> eventList = new ArrayList<>();
-    for (Event event : events) {
-      HashSet<String> eventAttendees = new HashSet<String>(event.getAttendees());
-      HashSet<String> combinedAttendees = new HashSet<String>(attendees);
-      combinedAttendees.retainAll(eventAttendees);
-      if (!combinedAttendees.isEmpty()) {
-        eventList.add(event);
+  public Collection<TimeRange> query(
+      MultiDayCalendar calendar, Recurrence recurrence, MeetingRequest request) {
+    List<LocalDate> dates = recurrence.getDates();
+    return query((String attendee) -> calendar.getBusyTimeline(attendee, dates), request);
+  }
+
+  /**
+   * Version of {@code query} for requests that maximize optional attendance. Instead of fitting
+   * all optional attendees or none of them, returns the times that all mandatory attendees and
+   * as many optional attendees as possible can attend. Both engines use this same sweep.
+   *
+   * Algorithm:
+   * 1. Sweep over the optional attendees' busy timelines, counting for every start time how many 
+   * of them would miss a meeting starting then (see {@code AttendanceSweep}).
+   * 2. Among the start times inside the mandatory attendees' gaps, return the runs with the
+   * lowest count.
+   *
+   * The lowest count depends on the whole rest of the day, so a result limit only trims the
+   * answer here; it can't stop the sweep early.
+   *
+   * @param timelines the busy timelines of all known people
+   * @param request the MeetingRequest containing the details of the meeting
+   * @return the Collection of TimeRanges when the meeting can be scheduled
+   */
+  private ArrayList<TimeRange> queryMostOptionalAttendees(
+      BusyTimelines timelines, MeetingRequest request) {
+    Collection<String> mandatoryAttendees = request.getAttendees();
+    long time = startTimer();
+
+    /* COUNT THE OPTIONAL ATTENDEES WHO CANNOT MAKE EACH START TIME */
+    ArrayList<IntervalSet> optionalBusyTimes = new ArrayList<>();
+    int optionalIntervals = 0;
+    for (String attendee : request.getOptionalAttendees()) {
+      if (!mandatoryAttendees.contains(attendee)) {
+        IntervalSet busyTimes = timelines.getBusyTimeline(attendee);
+        optionalBusyTimes.add(busyTimes);
+        optionalIntervals += busyTimes.size();
       }
     }
-    return eventList;
+    count(QueryMetrics.Counter.BUSY_INTERVALS, optionalIntervals);
+    int[] unavailable = AttendanceSweep.countUnavailable(optionalBusyTimes, request.getDuration());
+
+    /* FIND THE MANDATORY ATTENDEES' AVAILABILITY */
+    FreeTimes mandatoryFreeTimes = new FreeTimes(request, 0);
+    sweepTimelines(timelines, mandatoryAttendees, Collections.emptyList(), request.getNotBefore(),
+        mandatoryFreeTimes, null);
+    IntervalSet mandatoryAvailability = mandatoryFreeTimes.build();
+    time = stopTimer(QueryMetrics.Phase.MERGE, time);
+
+    /* RETURN THE TIMES THE MOST OPTIONAL ATTENDEES CAN MAKE */
+    ArrayList<TimeRange> bestTimes = AttendanceSweep.findBestTimes(
+        mandatoryAvailability, unavailable, request.getDuration());
+    int limit = request.getResultLimit();
+    if (limit > 0 && bestTimes.size() > limit) {
+      bestTimes.subList(limit, bestTimes.size()).clear();
+    }
+    stopTimer(QueryMetrics.Phase.GAPS, time);
+    return bestTimes;
   }
 
   /**
-   * Merges overlapping events and returns the ArrayList of TimeRanges representing the
-   * time blocks where events take place in chronological order.
-   * @param eventList the ArrayList of events sorted in chronological order by start time
-   * @return the ArrayList of TimeRanges representing the time blocks where events occur
+   * Version of {@code query} for requests with a minimum attendance. Returns the times when at
+   * least that many of the mandatory attendees can attend. As for other requests, these are the
+   * times all optional attendees can make too, if there are any, or else the times that ignore
+   * them; when maximizing optional attendance, the times the most of them can make. Both engines
+   * use this same sweep.
+   *
+   * Algorithm:
+   * 1. Sweep over the mandatory attendees' busy timelines, counting for every start time how
+   * many of them would miss a meeting starting then (see {@code AttendanceSweep}). Do the same
+   * for the optional attendees.
+   * 2. Rule out the start times that more mandatory attendees would miss than the quorum allows.
+   * 3. Among the rest, return the runs that no optional attendee misses, or failing that all of
+   * them; or, when maximizing, the runs that the fewest optional attendees miss.
+   *
+   * The counts come from a difference array over the day rather than from sorting, so the sweep
+   * is linear in the number of busy intervals, however large the group, and never looks at
+   * subsets of people.
+   *
+   * @param timelines the busy timelines of all known people
+   * @param request the MeetingRequest containing the details of the meeting
+   * @return the Collection of TimeRanges when the meeting can be scheduled
    */
-  private ArrayList<TimeRange> mergeOverlappingEvents(ArrayList<Event> eventList) {
-    ArrayList<TimeRange> mergedEventTimes = new ArrayList<>();
-    
-    if (eventList.isEmpty()) {
-      return mergedEventTimes;
-    }
-
-    mergedEventTimes.add(eventList.get(0).getWhen());
-
-    for (int i = 1; i < eventList.size(); i++) {
-      // For two adjacent events, check if they overlap
-      TimeRange lastTimeRange = mergedEventTimes.get(mergedEventTimes.size() - 1);
-      TimeRange currEventTime = eventList.get(i).getWhen(); 
-      if (lastTimeRange.overlaps(currEventTime)) {
-        // If they do, create new TimeRange with combined time and add to mergedEventTimes,
-        // replacing the original TimeRange the new event merged with
-        int newEnd = Math.max(lastTimeRange.end(), currEventTime.end());
-        TimeRange combinedTime = TimeRange.fromStartEnd(lastTimeRange.start(), newEnd, false);
-        mergedEventTimes.remove(mergedEventTimes.size() - 1);
-        mergedEventTimes.add(combinedTime);
+  private ArrayList<TimeRange> queryQuorum(BusyTimelines timelines, MeetingRequest request) {
+    Collection<String> mandatoryAttendees = request.getAttendees();
+    int maxUnavailable = mandatoryAttendees.size() - request.getMinAttendance();
+    if (maxUnavailable < 0) {
+      // There aren't enough mandatory attendees to ever reach the quorum.
+      return new ArrayList<>();
+    }
+    long duration = request.getDuration();
+    long time = startTimer();
+
+    /* COUNT THE MANDATORY AND OPTIONAL ATTENDEES WHO CANNOT MAKE EACH START TIME */
+    int busyIntervals = 0;
+    ArrayList<IntervalSet> mandatoryBusyTimes = new ArrayList<>(mandatoryAttendees.size());
+    for (String attendee : mandatoryAttendees) {
+      IntervalSet busyTimes = timelines.getBusyTimeline(attendee);
+      mandatoryBusyTimes.add(busyTimes);
+      busyIntervals += busyTimes.size();
+    }
+    ArrayList<IntervalSet> optionalBusyTimes = new ArrayList<>();
+    for (String attendee : request.getOptionalAttendees()) {
+      if (!mandatoryAttendees.contains(attendee)) {
+        IntervalSet busyTimes = timelines.getBusyTimeline(attendee);
+        optionalBusyTimes.add(busyTimes);
+        busyIntervals += busyTimes.size();
+      }
+    }
+    count(QueryMetrics.Counter.BUSY_INTERVALS, busyIntervals);
+    int[] mandatoryUnavailable = AttendanceSweep.countUnavailable(mandatoryBusyTimes, duration);
+    int[] optionalUnavailable = AttendanceSweep.countUnavailable(optionalBusyTimes, duration);
+
+    // Start times without a quorum are ruled out; the rest are ranked by how many optional
+    // attendees would miss them.
+    int[] missed = new int[optionalUnavailable.length];
+    for (int start = 0; start < missed.length; start++) {
+      missed[start] =
+          mandatoryUnavailable[start] > maxUnavailable ? NO_QUORUM : optionalUnavailable[start];
+    }
+    time = stopTimer(QueryMetrics.Phase.MERGE, time);
+
+    /* RETURN THE TIMES WITH A QUORUM */
+    IntervalSet day = IntervalSet.of(request.getNotBefore(), TimeRange.WHOLE_DAY.end());
+    ArrayList<TimeRange> meetingTimes;
+    if (request.shouldMaximizeOptionalAttendance()) {
+      meetingTimes = AttendanceSweep.findBestTimes(day, missed, duration);
+      if (!meetingTimes.isEmpty() && missed[meetingTimes.get(0).start()] == NO_QUORUM) {
+        meetingTimes.clear();
       }
-      else {
-        // Otherwise, add the current event to the list
-        mergedEventTimes.add(currEventTime);
+    } else {
+      meetingTimes = AttendanceSweep.findTimesWithAtMost(day, missed, duration, 0);
+      if (meetingTimes.isEmpty()) {
+        meetingTimes = AttendanceSweep.findTimesWithAtMost(day, missed, duration, NO_QUORUM - 1);
       }
     }
-    return mergedEventTimes;
+    int limit = request.getResultLimit();
+    if (limit > 0 && meetingTimes.size() > limit) {
+      meetingTimes.subList(limit, meetingTimes.size()).clear();
+    }
+    stopTimer(QueryMetrics.Phase.GAPS, time);
+    return meetingTimes;
   }
 
   /**
-   * Given a sorted list of TimeRanges where events take place, return a list of the availability
-   * (no event) times from the start of the day (00:00) to the end of the day (23:59) that are 
-   * at least of the given duration.
-   * @param eventTimes the sorted list of TimeRanges that represent the time periods in the day
-   *     when events take place
-   * @param duration the minimum length of the period of availability
-   * @return TimeRanges instances representing the time periods when no events take place, 
-   *     that are at least of the given duration
+   * Bitmap version of {@code query}. Each requested attendee's day becomes a {@code MinuteBitmap}
+   * of the minutes they are busy. The mandatory and optional attendees' bitmaps are ORed together
+   * separately, so that both the answer with and without the optional attendees come from a
+   * single pass over the attendees. The scan for free runs starts at the request's "not before"
+   * minute and stops once it has the request's result limit.
+   * @param timelines the busy timelines of all known people
+   * @param request the MeetingRequest containing the details of the meeting
+   * @return the Collection of TimeRanges when the meeting can be scheduled
    */
-  private ArrayList<TimeRange> findAvailability(ArrayList<TimeRange> eventTimes, long duration) {
-    ArrayList<TimeRange> availability = new ArrayList<TimeRange>();
-    
-    // Start at the beginning of the day
-    int timeslotStart = TimeRange.START_OF_DAY;
-
-    for (int i = 0; i < eventTimes.size(); i++) {
-      // If the gap between timeSlotstart and the start of the next event is >= meeting duration,
-      // add to availability
-      TimeRange currEvent = eventTimes.get(i);
-      if (currEvent.start() - timeslotStart >= duration) {
-        TimeRange timeslot = TimeRange.fromStartEnd(timeslotStart, currEvent.start(), false);
-        availability.add(timeslot);
+  private ArrayList<TimeRange> queryWithBitmaps(BusyTimelines timelines, MeetingRequest request) {
+    long time = startTimer();
+
+    /* OR THE BITMAPS OF THE MANDATORY AND OPTIONAL ATTENDEES TOGETHER */
+    int busyIntervals = 0;
+    MinuteBitmap mandatoryBusy = new MinuteBitmap();
+    for (String attendee : request.getAttendees()) {
+      IntervalSet busyTimes = timelines.getBusyTimeline(attendee);
+      mandatoryBusy.setBusy(busyTimes);
+      busyIntervals += busyTimes.size();
+    }
+    MinuteBitmap allBusy = new MinuteBitmap(mandatoryBusy);
+    for (String attendee : request.getOptionalAttendees()) {
+      IntervalSet busyTimes = timelines.getBusyTimeline(attendee);
+      allBusy.setBusy(busyTimes);
+      busyIntervals += busyTimes.size();
+    }
+    count(QueryMetrics.Counter.BUSY_INTERVALS, busyIntervals);
+
+    // Widening the combined busy times is the same as widening each attendee's, but done once.
+    // Busy times that end just before the meeting get the padding before it, and vice versa.
+    mandatoryBusy.dilate(request.getPaddingAfter(), request.getPaddingBefore());
+    allBusy.dilate(request.getPaddingAfter(), request.getPaddingBefore());
+    time = stopTimer(QueryMetrics.Phase.MERGE, time);
+
+    long duration = request.getDuration();
+    int notBefore = request.getNotBefore();
+    int limit = request.getResultLimit();
+    ArrayList<TimeRange> meetingTimes =
+        new ArrayList<>(allBusy.findFreeRuns(duration, notBefore, limit));
+
+    // If at this point there are no possible meeting times, only consider the mandatory attendees.
+    if (meetingTimes.isEmpty()) {
+      meetingTimes.addAll(mandatoryBusy.findFreeRuns(duration, notBefore, limit));
+    }
+    stopTimer(QueryMetrics.Phase.GAPS, time);
+    return meetingTimes;
+  }
+
+  /**
+   * Sweeps over the busy timelines of the requested attendees in start time order and merges
+   * them into two timelines in the same pass. Each attendee's timeline is already sorted, so they
+   * are combined with a k-way merge instead of being sorted again, and the builders merge each
+   * busy interval into the gap finders in start order. The sweep stops once {@code allFreeTimes}
+   * has found as many times as it needs.
+   * @param timelines the busy timelines of all known people
+   * @param mandatoryAttendees the mandatory attendees of the meeting
+   * @param optionalAttendees the optional attendees of the meeting
+   * @param notBefore the earliest minute the meeting can start; earlier busy times are skipped
+   * @param allFreeTimes receives the busy times of all the attendees
+   * @param mandatoryFreeTimes receives the busy times of the mandatory attendees, or null if they
+   *     are not needed
+   */
+  private void sweepTimelines(BusyTimelines timelines, Collection<String> mandatoryAttendees,
+      Collection<String> optionalAttendees, int notBefore, FreeTimes allFreeTimes,
+      FreeTimes mandatoryFreeTimes) {
+    PriorityQueue<TimelineCursor> cursors = new PriorityQueue<>();
+    for (String attendee : mandatoryAttendees) {
+      addCursor(cursors, timelines.getBusyTimeline(attendee), notBefore, true);
+    }
+    for (String attendee : optionalAttendees) {
+      if (!mandatoryAttendees.contains(attendee)) {
+        addCursor(cursors, timelines.getBusyTimeline(attendee), notBefore, false);
+      }
+    }
+
+    int busyIntervals = 0;
+    while (!cursors.isEmpty() && !allFreeTimes.isFull()) {
+      TimelineCursor cursor = cursors.poll();
+      busyIntervals++;
+      int start = cursor.start();
+      int end = cursor.end();
+      allFreeTimes.addBusy(start, end);
+      if (cursor.mandatory && mandatoryFreeTimes != null) {
+        mandatoryFreeTimes.addBusy(start, end);
       }
-      // the next potential meeting time will start from the end of the current event
-      timeslotStart = currEvent.end();
+      if (cursor.advance()) {
+        cursors.add(cursor);
+      }
+    }
+    count(QueryMetrics.Counter.BUSY_INTERVALS, busyIntervals);
+  }
+
+  /**
+   * Returns the timelines with each attendee's busy times widened by the request's padding, or
+   * {@code timelines} itself if there is none. Busy times that end just before the meeting need
+   * the padding before it, and busy times that start just after it need the padding after it.
+   */
+  private static BusyTimelines pad(BusyTimelines timelines, MeetingRequest request) {
+    int paddingBefore = request.getPaddingBefore();
+    int paddingAfter = request.getPaddingAfter();
+    if (paddingBefore == 0 && paddingAfter == 0) {
+      return timelines;
+    }
+    return (String attendee) ->
+        timelines.getBusyTimeline(attendee).dilate(paddingAfter, paddingBefore);
+  }
+
+  /**
+   * Returns the time to pass to {@code stopTimer} at the end of a phase, if metrics are being
+   * recorded.
+   */
+  private long startTimer() {
+    return metrics == null ? 0 : System.nanoTime();
+  }
+
+  /**
+   * Records that {@code phase} ran from {@code start} until now, and returns the time now as the
+   * start of the next phase.
+   */
+  private long stopTimer(QueryMetrics.Phase phase, long start) {
+    return metrics == null ? 0 : metrics.recordSince(phase, start);
+  }
+
+  private void count(QueryMetrics.Counter counter, long amount) {
+    if (metrics != null) {
+      metrics.add(counter, amount);
+    }
+  }
+
+  private static void addCursor(PriorityQueue<TimelineCursor> cursors, IntervalSet timeline,
+      int notBefore, boolean mandatory) {
+    // Busy intervals that end before the meeting can start don't affect the answer.
+    int position = timeline.indexOfFirstEndAfter(notBefore);
+    if (position < timeline.size()) {
+      cursors.add(new TimelineCursor(timeline, position, mandatory));
+    }
+  }
+
+  /**
+   * Finds the gaps between busy intervals as the sweep produces them, in order of their start.
+   * Only gaps at least as long as the meeting, from its "not before" minute to the end of the
+   * day, are kept, and once {@code limit} gaps have been found the rest are ignored.
+   */
+  private static final class FreeTimes {
+    private static final int DAY_END = TimeRange.WHOLE_DAY.end();
+
+    private final long duration;
+    private final int limit;
+    private final IntervalSet.Builder gaps = new IntervalSet.Builder();
+    private int gapCount = 0;
+
+    // The start of the gap after the busy intervals added so far.
+    private int gapStart;
+
+    /**
+     * @param limit the most gaps to keep, or 0 to keep all of them
+     */
+    FreeTimes(MeetingRequest request, int limit) {
+      this.duration = request.getDuration();
+      this.limit = limit;
+      this.gapStart = request.getNotBefore();
+    }
+
+    /**
+     * Adds the busy interval {@code [start, end)}. It must not start before the interval added
+     * before it.
+     */
+    void addBusy(int start, int end) {
+      addGap(gapStart, Math.min(start, DAY_END));
+      gapStart = Math.max(gapStart, end);
+    }
+
+    /** Returns whether {@code limit} gaps have been found. */
+    boolean isFull() {
+      return limit > 0 && gapCount >= limit;
+    }
+
+    /**
+     * Returns the gaps found, including the one at the end of the day.
+     */
+    IntervalSet build() {
+      addGap(gapStart, DAY_END);
+      return gaps.build();
+    }
+
+    private void addGap(int start, int end) {
+      if (start < end && end - start >= duration && !isFull()) {
+        gaps.add(start, end);
+        gapCount++;
+      }
+    }
+  }
+
+  /**
+   * A position in one attendee's busy timeline, ordered by the start of the interval it points
+   * at.
+   */
+  private static final class TimelineCursor implements Comparable<TimelineCursor> {
+    private final IntervalSet timeline;
+    private final boolean mandatory;
+    private int position;
+
+    TimelineCursor(IntervalSet timeline, int position, boolean mandatory) {
+      this.timeline = timeline;
+      this.position = position;
+      this.mandatory = mandatory;
+    }
+
+    int start() {
+      return timeline.start(position);
+    }
+
+    int end() {
+      return timeline.end(position);
+    }
+
+    /** Moves to the next interval, returning false if there are no more. */
+    boolean advance() {
+      return ++position < timeline.size();
     }
 
-    // Finally, add the timeslot from the end of the last event to the end of the day
-    // timeslotStart will be set to the end of the last event OR the start of the day if no events
-    if (TimeRange.END_OF_DAY - timeslotStart >= duration) {
-      TimeRange timeslot = TimeRange.fromStartEnd(timeslotStart, TimeRange.END_OF_DAY, true);
-      availability.add(timeslot);
+    @Override
+    public int compareTo(TimelineCursor other) {
+      return Integer.compare(start(), other.start());
     }
-    return availability;
   }
 }
@@ -0,0 +1,60 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs an action on every index from {@code from} (inclusive) to {@code to} (exclusive) on a
+ * fork/join pool, splitting the range in half until it has at most {@code grain} indices.
+ */
+final class ForEachTask extends RecursiveAction {
+  private final int from;
+  private final int to;
+  private final int grain;
+  private final IntConsumer action;
+
+  private ForEachTask(int from, int to, int grain, IntConsumer action) {
+    this.from = from;
+    this.to = to;
+    this.grain = grain;
+    this.action = action;
+  }
+
+  /**
+   * Runs {@code action} on every index from 0 to {@code size} on {@code pool} and waits for all
+   * of them to finish. An action that writes only its own slot of an array or list needs no
+   * further synchronization: everything the actions wrote is visible once this returns.
+   */
+  static void forEach(ForkJoinPool pool, int size, int grain, IntConsumer action) {
+    pool.invoke(new ForEachTask(0, size, grain, action));
+  }
+
+  @Override
+  protected void compute() {
+    if (to - from <= grain) {
+      for (int i = from; i < to; i++) {
+        action.accept(i);
+      }
+      return;
+    }
+
+    int middle = (from + to) >>> 1;
+    invokeAll(new ForEachTask(from, middle, grain, action),
+        new ForEachTask(middle, to, grain, action));
+  }
+}
@@ -0,0 +1,352 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A read-only set of minutes, stored as sorted, disjoint intervals in two parallel {@code int}
+ * arrays: interval {@code i} covers {@code [start(i), end(i))}. Intervals that overlap or touch are
+ * always merged, so every set has exactly one representation.
+ *
+ * <p>The scheduler works on interval sets instead of lists of {@code TimeRange} so that merging
+ * and gap finding don't allocate an object per step. Use {@code toTimeRanges} to convert the final
+ * answer.
+ */
+public final class IntervalSet {
+  public static final IntervalSet EMPTY = new IntervalSet(new int[0], new int[0], 0);
+
+  private static final int DAY_START = TimeRange.START_OF_DAY;
+  private static final int DAY_END = TimeRange.WHOLE_DAY.end();
+
+  private final int[] starts;
+  private final int[] ends;
+  private final int size;
+
+  private IntervalSet(int[] starts, int[] ends, int size) {
+    this.starts = starts;
+    this.ends = ends;
+    this.size = size;
+  }
+
+  /**
+   * Returns a set covering {@code [start, end)}, or the empty set if {@code start >= end}.
+   */
+  public static IntervalSet of(int start, int end) {
+    return new Builder().add(start, end).build();
+  }
+
+  /**
+   * Returns the number of disjoint intervals in this set.
+   */
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the start (inclusive) of interval {@code i}.
+   */
+  public int start(int i) {
+    checkIndex(i);
+    return starts[i];
+  }
+
+  /**
+   * Returns the end (exclusive) of interval {@code i}.
+   */
+  public int end(int i) {
+    checkIndex(i);
+    return ends[i];
+  }
+
+  /**
+   * Returns whether {@code point} falls within one of the intervals.
+   */
+  public boolean contains(int point) {
+    // The index of the last interval starting at or before the point.
+    int i = Arrays.binarySearch(starts, 0, size, point);
+    if (i < 0) {
+      i = -i - 2;
+    }
+    return i >= 0 && point < ends[i];
+  }
+
+  /**
+   * Returns the index of the first interval that ends after {@code point}, or {@code size()} if
+   * every interval ends at or before it. Intervals before that index can't affect anything from
+   * {@code point} on.
+   */
+  public int indexOfFirstEndAfter(int point) {
+    int i = Arrays.binarySearch(ends, 0, size, point);
+    return i >= 0 ? i + 1 : -i - 1;
+  }
+
+  /**
+   * Returns the set of minutes in either this set or {@code other}.
+   */
+  public IntervalSet union(IntervalSet other) {
+    if (other.isEmpty()) {
+      return this;
+    }
+    if (isEmpty()) {
+      return other;
+    }
+
+    Builder builder = new Builder(size + other.size);
+    int i = 0;
+    int j = 0;
+    while (i < size || j < other.size) {
+      // Always take the interval that starts first so that the builder sees them in order.
+      if (j == other.size || (i < size && starts[i] <= other.starts[j])) {
+        builder.add(starts[i], ends[i]);
+        i++;
+      } else {
+        builder.add(other.starts[j], other.ends[j]);
+        j++;
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the set of minutes in both this set and {@code other}.
+   */
+  public IntervalSet intersect(IntervalSet other) {
+    Builder builder = new Builder(Math.min(size, other.size));
+    int i = 0;
+    int j = 0;
+    while (i < size && j < other.size) {
+      int start = Math.max(starts[i], other.starts[j]);
+      int end = Math.min(ends[i], other.ends[j]);
+      builder.add(start, end);
+
+      // Move past whichever interval finishes first; the other may still overlap the next one.
+      if (ends[i] < other.ends[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the set of minutes in this set but not in {@code other}.
+   */
+  public IntervalSet subtract(IntervalSet other) {
+    if (isEmpty() || other.isEmpty()) {
+      return this;
+    }
+
+    Builder builder = new Builder(size + other.size);
+    int j = 0;
+    for (int i = 0; i < size; i++) {
+      int start = starts[i];
+      int end = ends[i];
+
+      // Skip the intervals of other that finish before this interval starts.
+      while (j < other.size && other.ends[j] <= start) {
+        j++;
+      }
+
+      // Cut out each interval of other that overlaps this one.
+      int k = j;
+      while (k < other.size && other.starts[k] < end) {
+        builder.add(start, other.starts[k]);
+        start = Math.max(start, other.ends[k]);
+        k++;
+      }
+      builder.add(start, end);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns this set with every interval widened by {@code earlier} minutes at its start and
+   * {@code later} minutes at its end, but not past the ends of the day. Intervals that come to
+   * overlap are merged. Only the endpoints move, so this takes one pass over the intervals.
+   */
+  public IntervalSet dilate(int earlier, int later) {
+    if (earlier < 0 || later < 0) {
+      throw new IllegalArgumentException("earlier and later cannot be negative");
+    }
+    if (size == 0 || (earlier == 0 && later == 0)) {
+      return this;
+    }
+    // Moving every start back by the same amount keeps them in order.
+    Builder builder = new Builder(size);
+    for (int i = 0; i < size; i++) {
+      builder.add((int) Math.max(DAY_START, (long) starts[i] - earlier),
+          (int) Math.min(DAY_END, (long) ends[i] + later));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the minutes of the day ({@code TimeRange.WHOLE_DAY}) that are not in this set.
+   */
+  public IntervalSet complement() {
+    return findGaps(0);
+  }
+
+  /**
+   * Returns the gaps of at least {@code minLength} minutes between the intervals of this set, from
+   * the start of the day to the end of the day.
+   */
+  public IntervalSet findGaps(long minLength) {
+    Builder builder = new Builder(size + 1);
+    int gapStart = DAY_START;
+    for (int i = 0; i < size && gapStart < DAY_END; i++) {
+      int gapEnd = Math.min(starts[i], DAY_END);
+      if (gapEnd - gapStart >= minLength) {
+        builder.add(gapStart, gapEnd);
+      }
+      gapStart = Math.max(gapStart, ends[i]);
+    }
+    if (DAY_END - gapStart >= minLength) {
+      builder.add(gapStart, DAY_END);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the intervals of this set as a list of {@code TimeRange}s in chronological order.
+   */
+  public List<TimeRange> toTimeRanges() {
+    List<TimeRange> ranges = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      ranges.add(TimeRange.fromStartEnd(starts[i], ends[i], false));
+    }
+    return ranges;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof IntervalSet && equals(this, (IntervalSet) other);
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = size;
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + starts[i];
+      hash = 31 * hash + ends[i];
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("IntervalSet: {");
+    for (int i = 0; i < size; i++) {
+      builder.append(i == 0 ? "" : ", ").append('[').append(starts[i]).append(", ")
+          .append(ends[i]).append(')');
+    }
+    return builder.append('}').toString();
+  }
+
+  private static boolean equals(IntervalSet a, IntervalSet b) {
+    if (a.size != b.size) {
+      return false;
+    }
+    for (int i = 0; i < a.size; i++) {
+      if (a.starts[i] != b.starts[i] || a.ends[i] != b.ends[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void checkIndex(int i) {
+    if (i < 0 || i >= size) {
+      throw new IndexOutOfBoundsException("Interval " + i + " of " + size);
+    }
+  }
+
+  /**
+   * Builds an {@code IntervalSet} from intervals added in order of their start. An interval that
+   * overlaps or touches the previous one is merged into it, so merging a sorted list of events
+   * costs one comparison per event and no allocation beyond the two arrays.
+   */
+  public static final class Builder {
+    private int[] starts;
+    private int[] ends;
+    private int size = 0;
+
+    public Builder() {
+      this(8);
+    }
+
+    /**
+     * Creates a builder with room for {@code expectedSize} intervals before it has to grow.
+     */
+    public Builder(int expectedSize) {
+      int capacity = Math.max(expectedSize, 1);
+      starts = new int[capacity];
+      ends = new int[capacity];
+    }
+
+    /**
+     * Adds {@code [start, end)} to the set. Empty intervals are ignored.
+     *
+     * @throws IllegalArgumentException if {@code start} is before the start of the interval
+     *     added before it
+     */
+    public Builder add(int start, int end) {
+      if (start >= end) {
+        return this;
+      }
+      if (size > 0) {
+        int last = size - 1;
+        if (start < starts[last]) {
+          throw new IllegalArgumentException("Intervals must be added in order of their start.");
+        }
+        if (start <= ends[last]) {
+          ends[last] = Math.max(ends[last], end);
+          return this;
+        }
+      }
+      if (size == starts.length) {
+        starts = Arrays.copyOf(starts, size * 2);
+        ends = Arrays.copyOf(ends, size * 2);
+      }
+      starts[size] = start;
+      ends[size] = end;
+      size++;
+      return this;
+    }
+
+    /**
+     * Adds the time of {@code range} to the set.
+     */
+    public Builder add(TimeRange range) {
+      return add(range.start(), range.end());
+    }
+
+    public IntervalSet build() {
+      if (size == 0) {
+        return EMPTY;
+      }
+      // Copy so that later calls to add can't change a set that was already built.
+      return new IntervalSet(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size), size);
+    }
+  }
+}
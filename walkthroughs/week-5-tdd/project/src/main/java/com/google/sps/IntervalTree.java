@@ -0,0 +1,166 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A read-only augmented interval tree over {@code EpochRange}s, each with a value attached.
+ * {@code findOverlapping} returns the {@code k} values whose ranges overlap a window in
+ * {@code O(log n + k)}, without looking at the rest.
+ *
+ * <p>The tree is stored in arrays rather than nodes. The intervals are sorted by start, and the
+ * root of any slice of the arrays is its middle element, so the tree is always balanced. Each
+ * element also records the latest end in its subtree, which lets a search skip every subtree that
+ * ends before the window starts; subtrees that start after the window ends are skipped by their
+ * position in the sorted order.
+ */
+public final class IntervalTree<T> {
+  private final long[] starts;
+  private final long[] ends;
+  private final Object[] values;
+
+  // The latest end of the intervals in the subtree rooted at each element.
+  private final long[] maxEnds;
+
+  private IntervalTree(long[] starts, long[] ends, Object[] values) {
+    this.starts = starts;
+    this.ends = ends;
+    this.values = values;
+    this.maxEnds = new long[starts.length];
+    computeMaxEnds(0, starts.length);
+  }
+
+  private long computeMaxEnds(int from, int to) {
+    if (from >= to) {
+      return Long.MIN_VALUE;
+    }
+    int root = (from + to) >>> 1;
+    long maxEnd = Math.max(ends[root],
+        Math.max(computeMaxEnds(from, root), computeMaxEnds(root + 1, to)));
+    maxEnds[root] = maxEnd;
+    return maxEnd;
+  }
+
+  /**
+   * Returns the number of intervals in the tree.
+   */
+  public int size() {
+    return starts.length;
+  }
+
+  /**
+   * Returns the values whose ranges overlap {@code window}, in order of their start. Overlapping
+   * means the same as {@code EpochRange.overlaps}, so a range with no duration overlaps the
+   * windows it falls inside, and a window with no duration overlaps the ranges it falls inside.
+   */
+  public List<T> findOverlapping(EpochRange window) {
+    List<T> found = new ArrayList<>();
+    findOverlapping(window, found::add);
+    return found;
+  }
+
+  /**
+   * Passes each value whose range overlaps {@code window} to {@code action}, in order of their
+   * start.
+   */
+  @SuppressWarnings("unchecked")
+  public void findOverlapping(EpochRange window, Consumer<? super T> action) {
+    search(0, starts.length, window, (Consumer<Object>) action);
+  }
+
+  private void search(int from, int to, EpochRange window, Consumer<Object> action) {
+    long windowStart = window.start();
+    // A window with no duration still finds the ranges that contain its start.
+    long searchEnd = Math.max(window.end(), windowStart + 1);
+    while (from < to) {
+      int root = (from + to) >>> 1;
+      // Nothing in this subtree reaches the window.
+      if (maxEnds[root] < windowStart) {
+        return;
+      }
+      search(from, root, window, action);
+      // The root and everything after it start after the window.
+      if (starts[root] >= searchEnd) {
+        return;
+      }
+      if (overlaps(root, window)) {
+        action.accept(values[root]);
+      }
+      // Continue with the right subtree without recursing.
+      from = root + 1;
+    }
+  }
+
+  /**
+   * Returns whether interval {@code i}, which starts before the end of the search, overlaps
+   * {@code window}.
+   */
+  private boolean overlaps(int i, EpochRange window) {
+    if (ends[i] > starts[i]) {
+      return ends[i] > window.start();
+    }
+    // A range with no duration is a point, which only overlaps windows that contain it.
+    return window.contains(starts[i]);
+  }
+
+  /**
+   * Collects intervals in any order for an {@code IntervalTree}.
+   */
+  public static final class Builder<T> {
+    private final List<EpochRange> ranges = new ArrayList<>();
+    private final List<T> values = new ArrayList<>();
+
+    /**
+     * Adds {@code value}, which covers {@code range}.
+     */
+    public Builder<T> add(EpochRange range, T value) {
+      if (range == null) {
+        throw new IllegalArgumentException("range cannot be null");
+      }
+      ranges.add(range);
+      values.add(value);
+      return this;
+    }
+
+    /**
+     * Returns a tree of the intervals added so far.
+     */
+    public IntervalTree<T> build() {
+      Integer[] order = new Integer[ranges.size()];
+      for (int i = 0; i < order.length; i++) {
+        order[i] = i;
+      }
+      // A stable sort, so that intervals with the same start keep the order they were added in.
+      Arrays.sort(order, (Integer a, Integer b) ->
+          EpochRange.ORDER_BY_START.compare(ranges.get(a), ranges.get(b)));
+
+      long[] starts = new long[order.length];
+      long[] ends = new long[order.length];
+      Object[] sortedValues = new Object[order.length];
+      for (int i = 0; i < order.length; i++) {
+        EpochRange range = ranges.get(order[i]);
+        starts[i] = range.start();
+        // Ranges with no duration are stored as points, so that they never end before they start.
+        ends[i] = Math.max(range.start(), range.end());
+        sortedValues[i] = values.get(order[i]);
+      }
+      return new IntervalTree<>(starts, ends, sortedValues);
+    }
+  }
+}
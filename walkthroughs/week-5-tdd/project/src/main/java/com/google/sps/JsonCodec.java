@@ -0,0 +1,430 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JSON encoding of the scheduler's types, written by hand instead of with Gson's reflection.
+ * The adapters read and write the same JSON as reflection did, so the web page doesn't change,
+ * but they build each object directly from the tokens and write results straight to the output
+ * without building strings or trees in between.
+ *
+ * <p>{@code GSON} has the adapters registered. Gson instances and these adapters are
+ * thread-safe, so one instance is shared by every request.
+ */
+public final class JsonCodec {
+  public static final TypeAdapter<TimeRange> TIME_RANGE = new TimeRangeAdapter();
+  public static final TypeAdapter<Event> EVENT = new EventAdapter();
+  public static final TypeAdapter<MeetingRequest> MEETING_REQUEST = new MeetingRequestAdapter();
+
+  public static final Gson GSON = new GsonBuilder()
+      .registerTypeAdapter(TimeRange.class, TIME_RANGE)
+      .registerTypeAdapter(Event.class, EVENT)
+      .registerTypeAdapter(MeetingRequest.class, MEETING_REQUEST)
+      .create();
+
+  private JsonCodec() {}
+
+  /**
+   * Writes {@code ranges} to {@code out} as a JSON array, without building the JSON first.
+   * {@code out} is flushed but not closed.
+   */
+  public static void writeTimeRanges(Collection<TimeRange> ranges, Writer out)
+      throws IOException {
+    JsonWriter writer = GSON.newJsonWriter(out);
+    writeTimeRanges(ranges, writer);
+    writer.flush();
+  }
+
+  /**
+   * Writes {@code ranges} to {@code writer} as a JSON array.
+   */
+  public static void writeTimeRanges(Collection<TimeRange> ranges, JsonWriter writer)
+      throws IOException {
+    writer.beginArray();
+    for (TimeRange range : ranges) {
+      TIME_RANGE.write(writer, range);
+    }
+    writer.endArray();
+  }
+
+  /**
+   * Writes {@code heatmap} to {@code out} as a JSON object, e.g.
+   * {@code {"attendees": 3, "runs": [[0, 3], [540, 2], [600, 3]]}}. Each run is the minute it
+   * starts and the number of people free from then until the next run starts, or the day ends.
+   * {@code out} is flushed but not closed.
+   */
+  public static void writeHeatmap(AvailabilityHeatmap heatmap, Writer out) throws IOException {
+    JsonWriter writer = GSON.newJsonWriter(out);
+    writer.beginObject();
+    writer.name("attendees").value(heatmap.getAttendeeCount());
+    writer.name("runs").beginArray();
+    for (int i = 0; i < heatmap.size(); i++) {
+      writer.beginArray().value(heatmap.start(i)).value(heatmap.free(i)).endArray();
+    }
+    writer.endArray();
+    writer.endObject();
+    writer.flush();
+  }
+
+  /**
+   * Writes the events each attendee would clash with to {@code out} as a JSON object from names
+   * to arrays of events, e.g. {@code {"Person A": [{"title": ...}]}}. {@code out} is flushed but
+   * not closed.
+   */
+  public static void writeConflicts(Map<String, List<Event>> conflicts, Writer out)
+      throws IOException {
+    JsonWriter writer = GSON.newJsonWriter(out);
+    writer.beginObject();
+    for (Map.Entry<String, List<Event>> attendee : conflicts.entrySet()) {
+      writer.name(attendee.getKey());
+      writer.beginArray();
+      for (Event event : attendee.getValue()) {
+        EVENT.write(writer, event);
+      }
+      writer.endArray();
+    }
+    writer.endObject();
+    writer.flush();
+  }
+
+  /**
+   * Reads an event as {@code EVENT} does, but without creating an {@code Event}, for requests
+   * that only look other events up by its time and attendees. Creating an event would give each
+   * new name an ID in the {@code AttendeeRegistry}, which keeps it for good. Adds the event's
+   * attendees to {@code attendees} and returns its time, or null if the event is a JSON null.
+   *
+   * @throws MalformedJsonException if the event has no title or time
+   */
+  public static TimeRange readEventAttendees(JsonReader reader, Collection<String> attendees)
+      throws IOException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
+      return null;
+    }
+    EventFields fields = EventFields.read(reader);
+    attendees.addAll(fields.attendees);
+    return fields.when;
+  }
+
+  /**
+   * Reads a document that holds one event and nothing else, as {@code EVENT} does, but checks
+   * that the event lies within {@code bounds} before creating it, so that a rejected event never
+   * gives its names IDs in the {@code AttendeeRegistry}. Returns null if the event is a JSON null.
+   * Use a strict reader, such as {@code GSON.newJsonReader}, so that malformed JSON isn't accepted.
+   *
+   * @throws MalformedJsonException if the event has no title or time, lies outside
+   *     {@code bounds}, or is followed by anything but whitespace
+   */
+  public static Event readEventWithin(JsonReader reader, TimeRange bounds) throws IOException {
+    Event event = null;
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
+    } else {
+      EventFields fields = EventFields.read(reader);
+      if (fields.when.start() < bounds.start() || fields.when.end() > bounds.end()) {
+        throw new MalformedJsonException("Event must start and end within " + bounds);
+      }
+      event = new Event(fields.title, fields.when, fields.attendees);
+    }
+    if (reader.peek() != JsonToken.END_DOCUMENT) {
+      throw new MalformedJsonException("Expected only one event " + reader);
+    }
+    return event;
+  }
+
+  /**
+   * Reads a JSON array of names.
+   */
+  public static List<String> readNames(JsonReader reader) throws IOException {
+    return readStrings(reader);
+  }
+
+  /**
+   * Reads a JSON array of pairs of names, e.g. {@code [["Mentor 1", "Mentee 1"], ...]}.
+   *
+   * @throws MalformedJsonException if a pair doesn't have exactly two names
+   */
+  public static List<List<String>> readPairs(JsonReader reader) throws IOException {
+    List<List<String>> pairs = new ArrayList<>();
+    reader.beginArray();
+    while (reader.hasNext()) {
+      List<String> pair = readStrings(reader);
+      if (pair.size() != 2) {
+        throw new MalformedJsonException("A pair needs exactly two names");
+      }
+      pairs.add(pair);
+    }
+    reader.endArray();
+    return pairs;
+  }
+
+  /**
+   * Reads a JSON array of meeting requests.
+   */
+  public static List<MeetingRequest> readMeetingRequests(JsonReader reader) throws IOException {
+    List<MeetingRequest> requests = new ArrayList<>();
+    reader.beginArray();
+    while (reader.hasNext()) {
+      requests.add(MEETING_REQUEST.read(reader));
+    }
+    reader.endArray();
+    return requests;
+  }
+
+  private static List<String> readStrings(JsonReader reader) throws IOException {
+    List<String> strings = new ArrayList<>();
+    reader.beginArray();
+    while (reader.hasNext()) {
+      strings.add(reader.nextString());
+    }
+    reader.endArray();
+    return strings;
+  }
+
+  private static void writeStrings(JsonWriter writer, Collection<String> strings)
+      throws IOException {
+    writer.beginArray();
+    for (String string : strings) {
+      writer.value(string);
+    }
+    writer.endArray();
+  }
+
+  /**
+   * {@code {"start": 480, "duration": 30}}
+   */
+  private static final class TimeRangeAdapter extends TypeAdapter<TimeRange> {
+    @Override
+    public void write(JsonWriter writer, TimeRange range) throws IOException {
+      if (range == null) {
+        writer.nullValue();
+        return;
+      }
+      writer.beginObject();
+      writer.name("start").value(range.start());
+      writer.name("duration").value(range.duration());
+      writer.endObject();
+    }
+
+    @Override
+    public TimeRange read(JsonReader reader) throws IOException {
+      if (reader.peek() == JsonToken.NULL) {
+        reader.nextNull();
+        return null;
+      }
+
+      int start = -1;
+      int duration = -1;
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "start":
+            start = reader.nextInt();
+            break;
+          case "duration":
+            duration = reader.nextInt();
+            break;
+          default:
+            reader.skipValue();
+        }
+      }
+      reader.endObject();
+
+      if (start < 0 || duration < 0) {
+        throw new MalformedJsonException("Time needs a start and a duration " + reader);
+      }
+      return TimeRange.fromStartDuration(start, duration);
+    }
+  }
+
+  /**
+   * {@code {"title": "Event 1", "when": {...}, "attendees": ["Amelia"]}}. A missing list of
+   * attendees means nobody.
+   */
+  static final class EventAdapter extends TypeAdapter<Event> {
+    @Override
+    public void write(JsonWriter writer, Event event) throws IOException {
+      if (event == null) {
+        writer.nullValue();
+        return;
+      }
+      writer.beginObject();
+      writer.name("title").value(event.getTitle());
+      writer.name("when");
+      TIME_RANGE.write(writer, event.getWhen());
+      writer.name("attendees");
+      writeStrings(writer, event.getAttendees());
+      writer.endObject();
+    }
+
+    @Override
+    public Event read(JsonReader reader) throws IOException {
+      if (reader.peek() == JsonToken.NULL) {
+        reader.nextNull();
+        return null;
+      }
+
+      EventFields fields = EventFields.read(reader);
+      return new Event(fields.title, fields.when, fields.attendees);
+    }
+  }
+
+  /**
+   * The fields of an event object, before they are made into an {@code Event}.
+   */
+  private static final class EventFields {
+    String title;
+    TimeRange when;
+    List<String> attendees = new ArrayList<>();
+
+    /**
+     * @throws MalformedJsonException if the event has no title or time
+     */
+    static EventFields read(JsonReader reader) throws IOException {
+      EventFields fields = new EventFields();
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "title":
+            fields.title = reader.nextString();
+            break;
+          case "when":
+            fields.when = TIME_RANGE.read(reader);
+            break;
+          case "attendees":
+            fields.attendees = readStrings(reader);
+            break;
+          default:
+            reader.skipValue();
+        }
+      }
+      reader.endObject();
+
+      if (fields.title == null || fields.when == null) {
+        throw new MalformedJsonException("Event needs a title and a time " + reader);
+      }
+      return fields;
+    }
+  }
+
+  /**
+   * {@code {"attendees": [...], "optional_attendees": [...], "duration": 30,
+   * "maximize_optional_attendance": false, "result_limit": 0, "not_before": 0,
+   * "min_attendance": 0, "padding_before": 0, "padding_after": 0}}. Missing lists of attendees
+   * mean nobody, and missing numbers mean zero.
+   */
+  private static final class MeetingRequestAdapter extends TypeAdapter<MeetingRequest> {
+    @Override
+    public void write(JsonWriter writer, MeetingRequest request) throws IOException {
+      if (request == null) {
+        writer.nullValue();
+        return;
+      }
+      writer.beginObject();
+      writer.name("attendees");
+      writeStrings(writer, request.getAttendees());
+      writer.name("optional_attendees");
+      writeStrings(writer, request.getOptionalAttendees());
+      writer.name("duration").value(request.getDuration());
+      writer.name("maximize_optional_attendance").value(
+          request.shouldMaximizeOptionalAttendance());
+      writer.name("result_limit").value(request.getResultLimit());
+      writer.name("not_before").value(request.getNotBefore());
+      writer.name("min_attendance").value(request.getMinAttendance());
+      writer.name("padding_before").value(request.getPaddingBefore());
+      writer.name("padding_after").value(request.getPaddingAfter());
+      writer.endObject();
+    }
+
+    @Override
+    public MeetingRequest read(JsonReader reader) throws IOException {
+      if (reader.peek() == JsonToken.NULL) {
+        reader.nextNull();
+        return null;
+      }
+
+      List<String> attendees = new ArrayList<>();
+      List<String> optionalAttendees = new ArrayList<>();
+      long duration = 0;
+      boolean maximizeOptionalAttendance = false;
+      int resultLimit = 0;
+      int notBefore = TimeRange.START_OF_DAY;
+      int minAttendance = 0;
+      int paddingBefore = 0;
+      int paddingAfter = 0;
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "attendees":
+            attendees = readStrings(reader);
+            break;
+          case "optional_attendees":
+            optionalAttendees = readStrings(reader);
+            break;
+          case "duration":
+            duration = reader.nextLong();
+            break;
+          case "maximize_optional_attendance":
+            maximizeOptionalAttendance = reader.nextBoolean();
+            break;
+          case "result_limit":
+            resultLimit = reader.nextInt();
+            break;
+          case "not_before":
+            notBefore = reader.nextInt();
+            break;
+          case "min_attendance":
+            minAttendance = reader.nextInt();
+            break;
+          case "padding_before":
+            paddingBefore = reader.nextInt();
+            break;
+          case "padding_after":
+            paddingAfter = reader.nextInt();
+            break;
+          default:
+            reader.skipValue();
+        }
+      }
+      reader.endObject();
+
+      MeetingRequest request = new MeetingRequest(attendees, duration);
+      for (String attendee : optionalAttendees) {
+        request.addOptionalAttendee(attendee);
+      }
+      request.setMaximizeOptionalAttendance(maximizeOptionalAttendance);
+      request.setResultLimit(resultLimit);
+      request.setNotBefore(notBefore);
+      request.setMinAttendance(minAttendance);
+      request.setPaddingBefore(paddingBefore);
+      request.setPaddingAfter(paddingAfter);
+      return request;
+    }
+  }
+}
@@ -0,0 +1,139 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies in nanoseconds that many threads can record into at once without
+ * locking. Values are counted in logarithmic buckets: each power of two is split into eight
+ * buckets, so a quantile is reported within 12.5% of the true value whatever its size, from
+ * nanoseconds to hours, in a fixed 488 counters.
+ *
+ * <p>Recording is one atomic increment, one add to a {@code LongAdder}, and a compare-and-set
+ * only when a new maximum is seen. Reads don't stop writers, so a quantile read while values are
+ * being recorded may or may not include them.
+ */
+public final class LatencyHistogram {
+  // Each power of two is split into 2^SUB_BUCKET_BITS buckets.
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  // Values below SUB_BUCKETS get a bucket each; every power of two above gets SUB_BUCKETS.
+  private static final int BUCKET_COUNT = (Long.SIZE - 1 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records one latency of {@code nanos} nanoseconds. Negative values count as zero.
+   */
+  public void record(long nanos) {
+    long value = Math.max(nanos, 0);
+    counts.incrementAndGet(bucketOf(value));
+    sum.add(value);
+    long currentMax = max.get();
+    while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+      currentMax = max.get();
+    }
+  }
+
+  /**
+   * Returns the number of values recorded.
+   */
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the sum of the values recorded, in nanoseconds.
+   */
+  public long getSum() {
+    return sum.sum();
+  }
+
+  /**
+   * Returns the largest value recorded, or 0 if there are none.
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Returns an estimate of the {@code quantile} of the values recorded, e.g. 0.99 for the 99th
+   * percentile: the upper end of the bucket holding that value, but never more than the maximum.
+   * Returns 0 if no values have been recorded.
+   */
+  public long getQuantile(double quantile) {
+    if (quantile < 0 || quantile > 1) {
+      throw new IllegalArgumentException("quantile must be between 0 and 1");
+    }
+
+    long[] snapshot = new long[BUCKET_COUNT];
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      snapshot[i] = counts.get(i);
+      count += snapshot[i];
+    }
+    if (count == 0) {
+      return 0;
+    }
+
+    // The rank of the value, counting from 1.
+    long rank = Math.max(1, (long) Math.ceil(quantile * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(upperBoundOf(i) - 1, getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * Returns the bucket of a non-negative {@code value}.
+   */
+  static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * Returns the smallest value that falls after {@code bucket}.
+   */
+  static long upperBoundOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket + 1;
+    }
+    int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    long subBucket = bucket % SUB_BUCKETS;
+    long width = 1L << (exponent - SUB_BUCKET_BITS);
+    long bound = ((SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width;
+    // Only the last bucket reaches past Long.MAX_VALUE.
+    return bound < 0 ? Long.MAX_VALUE : bound;
+  }
+}
@@ -27,7 +27,8 @@ public final class MeetingRequest {
   /////////////////////////////////////////////
   // Any new fields added to this class
   // must be reflected in the class of the
-  // same name in script.js
+  // same name in script.js and in
+  // JsonCodec's MeetingRequest adapter
   /////////////////////////////////////////////
 
   // All the people that should be attending this new meeting. Use a set to avoid duplicates.
@@ -39,7 +40,28 @@ public final class MeetingRequest {
   // The duration of the meeting in minutes.
   private final long duration;
 
+  // Whether to return the times the most optional attendees can make, rather than either the
+  // times all of them can make or, failing that, the times that ignore them.
+  private boolean maximize_optional_attendance = false;
+
+  // The most meeting times to return, earliest first, or 0 to return all of them.
+  private int result_limit = 0;
+
+  // The earliest minute of the day the meeting can start.
+  private int not_before = TimeRange.START_OF_DAY;
+
+  // The fewest mandatory attendees who must be able to attend, or 0 if all of them must.
+  private int min_attendance = 0;
+
+  // The minutes each attendee must have free just before the meeting starts and just after it
+  // ends, e.g. for a break or to get to and from the room.
+  private int padding_before = 0;
+  private int padding_after = 0;
+
   public MeetingRequest(Collection<String> attendees, long duration) {
+    if (duration < 1) {
+      throw new IllegalArgumentException("duration must be at least one minute");
+    }
     this.duration = duration;
     this.attendees.addAll(attendees);
   }
@@ -67,6 +89,113 @@ public final class MeetingRequest {
     }
   }
 
+  /**
+   * Sets whether the query should return the times that the largest number of optional attendees
+   * can make, instead of fitting all optional attendees or none of them.
+   */
+  public void setMaximizeOptionalAttendance(boolean maximizeOptionalAttendance) {
+    this.maximize_optional_attendance = maximizeOptionalAttendance;
+  }
+
+  /**
+   * Returns whether the query should return the times that the largest number of optional
+   * attendees can make.
+   */
+  public boolean shouldMaximizeOptionalAttendance() {
+    return maximize_optional_attendance;
+  }
+
+  /**
+   * Sets the most meeting times the query should return. Only the earliest {@code resultLimit}
+   * times are returned, and the query stops looking once it has found them. 0 means no limit.
+   */
+  public void setResultLimit(int resultLimit) {
+    if (resultLimit < 0) {
+      throw new IllegalArgumentException("resultLimit cannot be negative");
+    }
+    this.result_limit = resultLimit;
+  }
+
+  /**
+   * Returns the most meeting times the query should return, or 0 if there is no limit.
+   */
+  public int getResultLimit() {
+    return result_limit;
+  }
+
+  /**
+   * Sets the earliest minute of the day the meeting can start. Free times that begin earlier are
+   * cut short so that they start at {@code notBefore}.
+   */
+  public void setNotBefore(int notBefore) {
+    if (notBefore < TimeRange.START_OF_DAY || notBefore > TimeRange.WHOLE_DAY.end()) {
+      throw new IllegalArgumentException("notBefore must be a minute of the day");
+    }
+    this.not_before = notBefore;
+  }
+
+  /**
+   * Returns the earliest minute of the day the meeting can start.
+   */
+  public int getNotBefore() {
+    return not_before;
+  }
+
+  /**
+   * Sets the fewest mandatory attendees who must be able to attend, for meetings that only need a
+   * quorum. The query then returns the times when at least {@code minAttendance} of them are
+   * free, rather than all of them. 0 means all of them must attend.
+   */
+  public void setMinAttendance(int minAttendance) {
+    if (minAttendance < 0) {
+      throw new IllegalArgumentException("minAttendance cannot be negative");
+    }
+    this.min_attendance = minAttendance;
+  }
+
+  /**
+   * Returns the fewest mandatory attendees who must be able to attend, or 0 if all of them must.
+   */
+  public int getMinAttendance() {
+    return min_attendance;
+  }
+
+  /**
+   * Sets the minutes every attendee must have free just before the meeting starts. Meeting times
+   * are only returned where the attendees' other events end at least this long before.
+   */
+  public void setPaddingBefore(int paddingBefore) {
+    if (paddingBefore < 0) {
+      throw new IllegalArgumentException("paddingBefore cannot be negative");
+    }
+    this.padding_before = paddingBefore;
+  }
+
+  /**
+   * Returns the minutes every attendee must have free just before the meeting starts.
+   */
+  public int getPaddingBefore() {
+    return padding_before;
+  }
+
+  /**
+   * Sets the minutes every attendee must have free just after the meeting ends. Meeting times
+   * are only returned where the attendees' other events start at least this long after.
+   */
+  public void setPaddingAfter(int paddingAfter) {
+    if (paddingAfter < 0) {
+      throw new IllegalArgumentException("paddingAfter cannot be negative");
+    }
+    this.padding_after = paddingAfter;
+  }
+
+  /**
+   * Returns the minutes every attendee must have free just after the meeting ends.
+   */
+  public int getPaddingAfter() {
+    return padding_after;
+  }
+
   /**
    * Returns the duration of the meeting in minutes.
    */
@@ -0,0 +1,277 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A fixed-size bitmap with one bit for every minute of the day. A set bit means that minute is
+ * busy. The day is 1440 minutes long, so the bitmap is stored in 23 {@code long} words and the
+ * unused high bits of the last word are always clear.
+ */
+public final class MinuteBitmap {
+  public static final int MINUTES_PER_DAY = TimeRange.WHOLE_DAY.duration();
+
+  private static final int WORD_BITS = Long.SIZE;
+  private static final int WORD_COUNT = (MINUTES_PER_DAY + WORD_BITS - 1) / WORD_BITS;
+
+  // Mask of the bits in the last word that map onto real minutes of the day.
+  private static final long LAST_WORD_MASK = -1L >>> (WORD_COUNT * WORD_BITS - MINUTES_PER_DAY);
+
+  private final long[] words;
+
+  /**
+   * Creates a bitmap in which the whole day is free.
+   */
+  public MinuteBitmap() {
+    words = new long[WORD_COUNT];
+  }
+
+  /**
+   * Creates a copy of {@code other}.
+   */
+  public MinuteBitmap(MinuteBitmap other) {
+    words = other.words.clone();
+  }
+
+  /**
+   * Marks every minute in {@code range} as busy. Parts of the range outside the day are ignored.
+   */
+  public void setBusy(TimeRange range) {
+    setBusy(range.start(), range.end());
+  }
+
+  /**
+   * Marks every minute in {@code intervals} as busy. Parts of the intervals outside the day are
+   * ignored.
+   */
+  public void setBusy(IntervalSet intervals) {
+    for (int i = 0; i < intervals.size(); i++) {
+      setBusy(intervals.start(i), intervals.end(i));
+    }
+  }
+
+  /**
+   * Marks the minutes from {@code start} (inclusive) to {@code end} (exclusive) as busy. Parts of
+   * the range outside the day are ignored.
+   */
+  public void setBusy(int start, int end) {
+    start = Math.max(start, 0);
+    end = Math.min(end, MINUTES_PER_DAY);
+    if (start >= end) {
+      return;
+    }
+
+    int firstWord = start / WORD_BITS;
+    int lastWord = (end - 1) / WORD_BITS;
+
+    // Shifts on a long only use the low six bits, so these give the masks from the start bit to
+    // the top of its word and from the bottom of the last word up to (and including) end - 1.
+    long firstMask = -1L << start;
+    long lastMask = -1L >>> -end;
+
+    if (firstWord == lastWord) {
+      words[firstWord] |= firstMask & lastMask;
+      return;
+    }
+
+    words[firstWord] |= firstMask;
+    for (int i = firstWord + 1; i < lastWord; i++) {
+      words[i] = -1L;
+    }
+    words[lastWord] |= lastMask;
+  }
+
+  /**
+   * Returns whether the given minute of the day is busy.
+   */
+  public boolean isBusy(int minute) {
+    if (minute < 0 || minute >= MINUTES_PER_DAY) {
+      return false;
+    }
+    return (words[minute / WORD_BITS] & (1L << minute)) != 0;
+  }
+
+  /**
+   * Marks every minute that is busy in {@code other} as busy in this bitmap as well.
+   */
+  public void or(MinuteBitmap other) {
+    for (int i = 0; i < WORD_COUNT; i++) {
+      words[i] |= other.words[i];
+    }
+  }
+
+  /**
+   * Widens every run of busy minutes by {@code earlier} minutes at its start and {@code later}
+   * minutes at its end, but not past the ends of the day.
+   *
+   * <p>The bitmap is ORed with copies of itself shifted a word at a time, doubling the shift each
+   * time, so widening by {@code n} minutes takes {@code log n} passes over the 23 words however
+   * many runs there are.
+   */
+  public void dilate(int earlier, int later) {
+    if (earlier < 0 || later < 0) {
+      throw new IllegalArgumentException("earlier and later cannot be negative");
+    }
+    spread(Math.min(later, MINUTES_PER_DAY));
+    spread(-Math.min(earlier, MINUTES_PER_DAY));
+  }
+
+  /**
+   * ORs into the bitmap every copy of itself shifted by 1 to {@code minutes} minutes, later in
+   * the day if {@code minutes} is positive and earlier if it is negative.
+   */
+  private void spread(int minutes) {
+    int direction = Integer.signum(minutes);
+    int distance = Math.abs(minutes);
+    // The bitmap already covers every shift from 0 to covered.
+    int covered = 0;
+    while (covered < distance) {
+      int shift = Math.min(covered + 1, distance - covered);
+      orShifted(direction * shift);
+      covered += shift;
+    }
+  }
+
+  /**
+   * ORs into the bitmap a copy of itself moved {@code minutes} later in the day, or earlier if
+   * {@code minutes} is negative. Minutes moved past either end of the day are dropped. The words
+   * are visited so that each one is read before it is changed, so no copy is needed.
+   */
+  private void orShifted(int minutes) {
+    int wordShift = Math.abs(minutes) / WORD_BITS;
+    int bitShift = Math.abs(minutes) % WORD_BITS;
+    if (minutes > 0) {
+      for (int i = WORD_COUNT - 1; i >= wordShift; i--) {
+        int from = i - wordShift;
+        long shifted = words[from] << bitShift;
+        if (bitShift != 0 && from > 0) {
+          shifted |= words[from - 1] >>> (WORD_BITS - bitShift);
+        }
+        words[i] |= shifted;
+      }
+      words[WORD_COUNT - 1] &= LAST_WORD_MASK;
+    } else {
+      for (int i = 0; i + wordShift < WORD_COUNT; i++) {
+        int from = i + wordShift;
+        long shifted = words[from] >>> bitShift;
+        if (bitShift != 0 && from + 1 < WORD_COUNT) {
+          shifted |= words[from + 1] << (WORD_BITS - bitShift);
+        }
+        words[i] |= shifted;
+      }
+    }
+  }
+
+  /**
+   * Returns the busy minutes as an {@code IntervalSet}, found a word at a time.
+   */
+  public IntervalSet toIntervalSet() {
+    IntervalSet.Builder builder = new IntervalSet.Builder();
+    int busyStart = nextBusy(0);
+    while (busyStart < MINUTES_PER_DAY) {
+      int busyEnd = nextFree(busyStart);
+      builder.add(busyStart, busyEnd);
+      busyStart = nextBusy(busyEnd);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the runs of free minutes that are at least {@code duration} minutes long, in
+   * chronological order.
+   *
+   * <p>Each run is found a word at a time: {@code numberOfTrailingZeros} on the (inverted) words
+   * jumps straight to the next free or busy minute instead of testing every bit.
+   */
+  public List<TimeRange> findFreeRuns(long duration) {
+    return findFreeRuns(duration, 0, 0);
+  }
+
+  /**
+   * Returns the first {@code limit} runs of free minutes that are at least {@code duration}
+   * minutes long and start at or after {@code from}, in chronological order. A free run that
+   * began before {@code from} is cut short to start at it. The scan starts at the word holding
+   * {@code from} and stops as soon as it has {@code limit} runs, so finding the earliest time
+   * costs as much as the part of the day before it.
+   *
+   * @param limit the most runs to return, or 0 to return all of them
+   */
+  public List<TimeRange> findFreeRuns(long duration, int from, int limit) {
+    List<TimeRange> freeRuns = new ArrayList<>();
+    if (duration > MINUTES_PER_DAY) {
+      return freeRuns;
+    }
+
+    int runStart = nextFree(Math.max(from, 0));
+    while (runStart < MINUTES_PER_DAY) {
+      int runEnd = nextBusy(runStart);
+      if (runEnd - runStart >= duration) {
+        freeRuns.add(TimeRange.fromStartEnd(runStart, runEnd, false));
+        if (freeRuns.size() == limit) {
+          break;
+        }
+      }
+      runStart = nextFree(runEnd);
+    }
+    return freeRuns;
+  }
+
+  /**
+   * Returns the first free minute at or after {@code from}, or {@code MINUTES_PER_DAY} if the rest
+   * of the day is busy.
+   */
+  private int nextFree(int from) {
+    if (from >= MINUTES_PER_DAY) {
+      return MINUTES_PER_DAY;
+    }
+    int wordIndex = from / WORD_BITS;
+    long word = ~words[wordIndex] & (-1L << from);
+    while (true) {
+      if (wordIndex == WORD_COUNT - 1) {
+        word &= LAST_WORD_MASK;
+      }
+      if (word != 0) {
+        return wordIndex * WORD_BITS + Long.numberOfTrailingZeros(word);
+      }
+      if (++wordIndex == WORD_COUNT) {
+        return MINUTES_PER_DAY;
+      }
+      word = ~words[wordIndex];
+    }
+  }
+
+  /**
+   * Returns the first busy minute at or after {@code from}, or {@code MINUTES_PER_DAY} if the rest
+   * of the day is free.
+   */
+  private int nextBusy(int from) {
+    if (from >= MINUTES_PER_DAY) {
+      return MINUTES_PER_DAY;
+    }
+    int wordIndex = from / WORD_BITS;
+    long word = words[wordIndex] & (-1L << from);
+    while (true) {
+      if (word != 0) {
+        return wordIndex * WORD_BITS + Long.numberOfTrailingZeros(word);
+      }
+      if (++wordIndex == WORD_COUNT) {
+        return MINUTES_PER_DAY;
+      }
+      word = words[wordIndex];
+    }
+  }
+}
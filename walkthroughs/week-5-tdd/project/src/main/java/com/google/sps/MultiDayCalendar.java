@@ -0,0 +1,192 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A calendar that spans many days. Each day is its own single-day {@code EventIndex}, with times
+ * in minutes since that day's midnight, so everything that works on one day works on any of them.
+ *
+ * <p>Each attendee's busy timelines are also copied into one block of arrays per attendee,
+ * sorted by day, so that {@code getBusyTimeline(attendee, dates)} finds all of one person's days
+ * with a single lookup and reads them from contiguous memory instead of chasing a timeline per
+ * day. It ORs their days into one {@code MinuteBitmap}: the times they are busy on at least one
+ * of the dates, i.e. the complement of the times they are free on all of them.
+ * {@code FindMeetingQuery.query(MultiDayCalendar, Recurrence, MeetingRequest)} runs a single
+ * query over those combined timelines instead of one query per day.
+ */
+public final class MultiDayCalendar {
+  private static final EventIndex NO_EVENTS = new EventIndex(Collections.emptyList());
+
+  // The events of each day that has any.
+  private final Map<LocalDate, EventIndex> days;
+
+  // Each attendee's busy timelines on the days they have events.
+  private final Map<String, AttendeeDays> timelinesByAttendee = new HashMap<>();
+
+  private MultiDayCalendar(Map<LocalDate, EventIndex> days) {
+    this.days = days;
+
+    // The days are visited in order, so each attendee's days are collected in order too.
+    Map<String, AttendeeDays.Builder> builders = new HashMap<>();
+    for (Map.Entry<LocalDate, EventIndex> day : days.entrySet()) {
+      EventIndex index = day.getValue();
+      for (String attendee : index.getAttendees()) {
+        builders.computeIfAbsent(attendee, (String key) -> new AttendeeDays.Builder())
+            .add(day.getKey().toEpochDay(), index.getBusyTimeline(attendee));
+      }
+    }
+    for (Map.Entry<String, AttendeeDays.Builder> attendee : builders.entrySet()) {
+      timelinesByAttendee.put(attendee.getKey(), attendee.getValue().build());
+    }
+  }
+
+  /**
+   * Returns the calendar of {@code date}. Days without events have an empty calendar.
+   */
+  public EventCalendar getDay(LocalDate date) {
+    return days.getOrDefault(date, NO_EVENTS);
+  }
+
+  /**
+   * Returns a read-only view of the days that have events, in chronological order.
+   */
+  public Collection<LocalDate> getDates() {
+    return Collections.unmodifiableCollection(days.keySet());
+  }
+
+  /**
+   * Returns the times of day when {@code attendee} is busy on at least one of {@code dates}.
+   */
+  public IntervalSet getBusyTimeline(String attendee, List<LocalDate> dates) {
+    AttendeeDays attendeeDays = timelinesByAttendee.get(attendee);
+    if (attendeeDays == null) {
+      return IntervalSet.EMPTY;
+    }
+
+    MinuteBitmap busy = new MinuteBitmap();
+    for (LocalDate date : dates) {
+      attendeeDays.setBusy(date.toEpochDay(), busy);
+    }
+    return busy.toIntervalSet();
+  }
+
+  /**
+   * One attendee's busy timelines on every day they have events. Day {@code i} is
+   * {@code epochDays[i]}, and its busy intervals are
+   * {@code [starts[j], ends[j])} for {@code offsets[i] <= j < offsets[i + 1]}.
+   */
+  private static final class AttendeeDays {
+    private final long[] epochDays;
+    private final int[] offsets;
+    private final int[] starts;
+    private final int[] ends;
+
+    private AttendeeDays(long[] epochDays, int[] offsets, int[] starts, int[] ends) {
+      this.epochDays = epochDays;
+      this.offsets = offsets;
+      this.starts = starts;
+      this.ends = ends;
+    }
+
+    /**
+     * Marks the attendee's busy times on {@code epochDay} as busy in {@code busy}.
+     */
+    void setBusy(long epochDay, MinuteBitmap busy) {
+      int day = Arrays.binarySearch(epochDays, epochDay);
+      if (day < 0) {
+        return;
+      }
+      for (int i = offsets[day]; i < offsets[day + 1]; i++) {
+        busy.setBusy(starts[i], ends[i]);
+      }
+    }
+
+    /** Collects the days in order. */
+    static final class Builder {
+      private final List<Long> epochDays = new ArrayList<>();
+      private final List<IntervalSet> timelines = new ArrayList<>();
+      private int intervalCount = 0;
+
+      void add(long epochDay, IntervalSet timeline) {
+        epochDays.add(epochDay);
+        timelines.add(timeline);
+        intervalCount += timeline.size();
+      }
+
+      AttendeeDays build() {
+        long[] days = new long[epochDays.size()];
+        int[] offsets = new int[epochDays.size() + 1];
+        int[] starts = new int[intervalCount];
+        int[] ends = new int[intervalCount];
+        int next = 0;
+        for (int day = 0; day < days.length; day++) {
+          days[day] = epochDays.get(day);
+          offsets[day] = next;
+          IntervalSet timeline = timelines.get(day);
+          for (int i = 0; i < timeline.size(); i++, next++) {
+            starts[next] = timeline.start(i);
+            ends[next] = timeline.end(i);
+          }
+        }
+        offsets[days.length] = next;
+        return new AttendeeDays(days, offsets, starts, ends);
+      }
+    }
+  }
+
+  /**
+   * Collects events one at a time into an index per day.
+   */
+  public static final class Builder {
+    private final Map<LocalDate, EventIndex.Builder> days = new TreeMap<>();
+    private boolean built = false;
+
+    /**
+     * Adds {@code event}, which takes place on {@code date}.
+     */
+    public Builder add(LocalDate date, Event event) {
+      if (date == null) {
+        throw new IllegalArgumentException("date cannot be null");
+      }
+      if (built) {
+        throw new IllegalStateException("The calendar has already been built.");
+      }
+      days.computeIfAbsent(date, (LocalDate key) -> new EventIndex.Builder()).add(event);
+      return this;
+    }
+
+    /**
+     * Returns a calendar of the events added so far. The builder can't be used afterwards.
+     */
+    public MultiDayCalendar build() {
+      built = true;
+      Map<LocalDate, EventIndex> indexes = new TreeMap<>();
+      for (Map.Entry<LocalDate, EventIndex.Builder> day : days.entrySet()) {
+        indexes.put(day.getKey(), day.getValue().build());
+      }
+      return new MultiDayCalendar(indexes);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads events from newline-delimited JSON: one event per line, in the same shape as the
+ * "/get-events" response, for example
+ * {@code {"title": "Event 1", "when": {"start": 480, "duration": 30}, "attendees": ["Amelia"]}}.
+ *
+ * <p>The input is read with a streaming {@code JsonReader} and {@code JsonCodec.EVENT}, one token
+ * at a time, so neither the file nor a parsed tree of it is ever held in memory. Unknown fields
+ * are skipped, and so are lines that hold a JSON null.
+ */
+public final class NdjsonEventSource implements EventSource {
+  private final JsonReader reader;
+
+  /**
+   * Creates a source that reads events from {@code reader}. Closing the source closes the reader.
+   */
+  public NdjsonEventSource(Reader reader) {
+    if (reader == null) {
+      throw new IllegalArgumentException("reader cannot be null");
+    }
+
+    this.reader = new JsonReader(reader);
+    // Lenient mode lets the reader move on to the next top-level value after each line.
+    this.reader.setLenient(true);
+  }
+
+  /**
+   * Opens a source that reads events from the UTF-8 file at {@code path}.
+   */
+  public static NdjsonEventSource open(Path path) throws IOException {
+    return new NdjsonEventSource(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public Event next() throws IOException {
+    try {
+      // A null line holds no event. Returning it would look like the end of the input, and
+      // callers would drop every event after it.
+      while (reader.peek() == JsonToken.NULL) {
+        reader.nextNull();
+      }
+      if (reader.peek() == JsonToken.END_DOCUMENT) {
+        return null;
+      }
+    } catch (EOFException e) {
+      // An input with no events at all ends before the reader has seen a document.
+      return null;
+    }
+
+    return JsonCodec.EVENT.read(reader);
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
@@ -0,0 +1,112 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Finds the common free times of many pairs of people at once, e.g. every mentor with each of
+ * their mentees. Each person's busy times are turned into a {@code MinuteBitmap} once, however
+ * many pairs they are in, so each pair only costs ORing two bitmaps and scanning the result for
+ * free runs. Both steps are split across a fork/join pool.
+ */
+public final class PairwiseMeetingQuery {
+  // A task with this many people or fewer builds their bitmaps itself instead of splitting.
+  private static final int PEOPLE_PER_TASK = 16;
+
+  // A task with this many pairs or fewer answers them itself instead of splitting further.
+  private static final int PAIRS_PER_TASK = 64;
+
+  private final ForkJoinPool pool;
+
+  /**
+   * Creates a pairwise query.
+   *
+   * @param pool The pool the people and pairs are evaluated on. Must be non-null.
+   */
+  public PairwiseMeetingQuery(ForkJoinPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("pool cannot be null");
+    }
+    this.pool = pool;
+  }
+
+  /**
+   * Returns the times when both people of each pair are free for at least {@code duration}
+   * minutes, in the same order as the pairs.
+   * @param timelines the busy timelines of all known people, shared by every pair
+   * @param pairs the pairs of people, each a list of exactly two names
+   * @param duration the length of the meetings in minutes
+   * @return one list of TimeRanges for each pair
+   */
+  public List<List<TimeRange>> query(
+      BusyTimelines timelines, List<List<String>> pairs, long duration) {
+    if (timelines == null) {
+      throw new IllegalArgumentException("timelines cannot be null");
+    }
+    if (pairs == null) {
+      throw new IllegalArgumentException("pairs cannot be null. Use empty array instead.");
+    }
+
+    /* NUMBER EVERYONE WHO IS IN A PAIR */
+    Map<String, Integer> personIndex = new HashMap<>();
+    List<String> people = new ArrayList<>();
+    int[] firsts = new int[pairs.size()];
+    int[] seconds = new int[pairs.size()];
+    for (int i = 0; i < pairs.size(); i++) {
+      List<String> pair = pairs.get(i);
+      if (pair == null || pair.size() != 2) {
+        throw new IllegalArgumentException("Each pair must have exactly two people.");
+      }
+      firsts[i] = indexOf(pair.get(0), personIndex, people);
+      seconds[i] = indexOf(pair.get(1), personIndex, people);
+    }
+
+    /* BUILD EACH PERSON'S BITMAP ONCE */
+    MinuteBitmap[] busy = new MinuteBitmap[people.size()];
+    ForEachTask.forEach(pool, people.size(), PEOPLE_PER_TASK, (int person) -> {
+      busy[person] = new MinuteBitmap();
+      busy[person].setBusy(timelines.getBusyTimeline(people.get(person)));
+    });
+
+    /* COMBINE THE TWO BITMAPS OF EACH PAIR */
+    List<List<TimeRange>> results = new ArrayList<>(Collections.nCopies(pairs.size(), null));
+    ForEachTask.forEach(pool, pairs.size(), PAIRS_PER_TASK, (int pair) -> {
+      MinuteBitmap both = new MinuteBitmap(busy[firsts[pair]]);
+      both.or(busy[seconds[pair]]);
+      results.set(pair, both.findFreeRuns(duration));
+    });
+    return results;
+  }
+
+  private static int indexOf(
+      String person, Map<String, Integer> personIndex, List<String> people) {
+    if (person == null) {
+      throw new IllegalArgumentException("A pair cannot have a null person.");
+    }
+    Integer index = personIndex.get(person);
+    if (index == null) {
+      index = people.size();
+      personIndex.put(person, index);
+      people.add(person);
+    }
+    return index;
+  }
+}
@@ -0,0 +1,347 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A read-only hash map whose changed copies share all but {@code O(log n)} of its nodes with it.
+ * It is a hash array mapped trie: each level of the tree picks a child by the next 5 bits of a
+ * key's hash, and keeps only the children that exist, packed by a 32-bit bitmap. A change copies
+ * the nodes on the path to its key, at most eight of them, and shares the rest.
+ *
+ * <p>Changes are made through an {@code Editor}, which copies each node at most once however many
+ * keys under it are changed, and changes the copies in place afterwards.
+ */
+final class PersistentHashMap<K, V> {
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+
+  // Hashes have 32 bits, so a node this deep holds keys whose hashes are equal, in a flat list.
+  private static final int MAX_SHIFT = 32;
+
+  private static final PersistentHashMap<Object, Object> EMPTY =
+      new PersistentHashMap<>(new Node(null, 0, new Object[0]), 0);
+
+  private final Node root;
+  private final int size;
+
+  private PersistentHashMap(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  @SuppressWarnings("unchecked")
+  static <K, V> PersistentHashMap<K, V> empty() {
+    return (PersistentHashMap<K, V>) EMPTY;
+  }
+
+  /**
+   * Returns the value of {@code key}, or null if it isn't in the map.
+   */
+  V get(K key) {
+    return get(root, key);
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns every value in the map, in no particular order.
+   */
+  @SuppressWarnings("unchecked")
+  List<V> values() {
+    List<V> values = new ArrayList<>(size);
+    forEach(root, (Object key, Object value) -> values.add((V) value));
+    return values;
+  }
+
+  /**
+   * Returns every entry in the map, in no particular order.
+   */
+  @SuppressWarnings("unchecked")
+  List<Map.Entry<K, V>> entries() {
+    List<Map.Entry<K, V>> entries = new ArrayList<>(size);
+    forEach(root, (Object key, Object value) ->
+        entries.add(new AbstractMap.SimpleImmutableEntry<>((K) key, (V) value)));
+    return entries;
+  }
+
+  /**
+   * Returns an editor that starts from this map. The map itself never changes.
+   */
+  Editor<K, V> edit() {
+    return new Editor<>(this);
+  }
+
+  private static int hash(Object key) {
+    int hash = key.hashCode();
+    // Mix the high bits in, so that keys that differ only there still differ near the root.
+    return hash ^ (hash >>> 16);
+  }
+
+  private static int bit(int hash, int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  // The index in a node's array of the key of the entry with this bit.
+  private static int index(int bitmap, int bit) {
+    return 2 * Integer.bitCount(bitmap & (bit - 1));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> V get(Node node, Object key) {
+    int hash = hash(key);
+    for (int shift = 0; ; shift += BITS) {
+      if (shift >= MAX_SHIFT) {
+        for (int i = 0; i < node.array.length; i += 2) {
+          if (key.equals(node.array[i])) {
+            return (V) node.array[i + 1];
+          }
+        }
+        return null;
+      }
+
+      int bit = bit(hash, shift);
+      if ((node.bitmap & bit) == 0) {
+        return null;
+      }
+      int i = index(node.bitmap, bit);
+      Object entryKey = node.array[i];
+      if (entryKey == null) {
+        node = (Node) node.array[i + 1];
+      } else {
+        return key.equals(entryKey) ? (V) node.array[i + 1] : null;
+      }
+    }
+  }
+
+  private static void forEach(Node node, EntryConsumer action) {
+    for (int i = 0; i < node.array.length; i += 2) {
+      if (node.array[i] == null) {
+        forEach((Node) node.array[i + 1], action);
+      } else {
+        action.accept(node.array[i], node.array[i + 1]);
+      }
+    }
+  }
+
+  private interface EntryConsumer {
+    void accept(Object key, Object value);
+  }
+
+  /**
+   * A node of the trie. For each bit set in {@code bitmap}, {@code array} holds a key and its
+   * value, or null and the child node under that bit. Below {@code MAX_SHIFT} the bitmap is
+   * unused and the array is a list of keys and values.
+   */
+  private static final class Node {
+    // The editor that created this node, which may still change it in place.
+    final Object owner;
+    int bitmap;
+    Object[] array;
+
+    Node(Object owner, int bitmap, Object[] array) {
+      this.owner = owner;
+      this.bitmap = bitmap;
+      this.array = array;
+    }
+  }
+
+  /**
+   * Collects changes to a {@code PersistentHashMap}. An editor is not thread-safe, and must not
+   * be used after {@code build}.
+   */
+  static final class Editor<K, V> {
+    // Nodes owned by this token were copied by this editor and are not shared yet.
+    private Object owner = new Object();
+    private Node root;
+    private int size;
+
+    // Whether the last put added a key, or the last remove removed one.
+    private boolean changedSize;
+
+    private Editor(PersistentHashMap<K, V> base) {
+      this.root = base.root;
+      this.size = base.size;
+    }
+
+    V get(K key) {
+      return PersistentHashMap.get(root, key);
+    }
+
+    void put(K key, V value) {
+      changedSize = false;
+      root = put(root, 0, hash(key), key, value);
+      if (changedSize) {
+        size++;
+      }
+    }
+
+    void remove(K key) {
+      changedSize = false;
+      Node newRoot = remove(root, 0, hash(key), key);
+      root = newRoot == null ? EMPTY.root : newRoot;
+      if (changedSize) {
+        size--;
+      }
+    }
+
+    /**
+     * Returns the edited map. Nodes that weren't changed are shared with the original map.
+     */
+    PersistentHashMap<K, V> build() {
+      // The nodes are shared from now on, so a later change must copy them again.
+      owner = new Object();
+      return new PersistentHashMap<>(root, size);
+    }
+
+    private Node put(Node node, int shift, int hash, Object key, Object value) {
+      if (shift >= MAX_SHIFT) {
+        for (int i = 0; i < node.array.length; i += 2) {
+          if (key.equals(node.array[i])) {
+            return withValue(node, i + 1, value);
+          }
+        }
+        changedSize = true;
+        return withEntry(node, node.bitmap, node.array.length, key, value);
+      }
+
+      int bit = bit(hash, shift);
+      int i = index(node.bitmap, bit);
+      if ((node.bitmap & bit) == 0) {
+        changedSize = true;
+        return withEntry(node, node.bitmap | bit, i, key, value);
+      }
+
+      Object entryKey = node.array[i];
+      if (entryKey == null) {
+        Node child = (Node) node.array[i + 1];
+        Node newChild = put(child, shift + BITS, hash, key, value);
+        return newChild == child ? node : withValue(node, i + 1, newChild);
+      }
+      if (key.equals(entryKey)) {
+        return withValue(node, i + 1, value);
+      }
+
+      // Two keys share the bits so far, so they move down into a new child.
+      changedSize = true;
+      Node child = pair(shift + BITS, entryKey, hash(entryKey), node.array[i + 1], key, hash,
+          value);
+      Node edited = editable(node);
+      edited.array[i] = null;
+      edited.array[i + 1] = child;
+      return edited;
+    }
+
+    private Node remove(Node node, int shift, int hash, Object key) {
+      if (shift >= MAX_SHIFT) {
+        for (int i = 0; i < node.array.length; i += 2) {
+          if (key.equals(node.array[i])) {
+            changedSize = true;
+            return withoutEntry(node, node.bitmap, i);
+          }
+        }
+        return node;
+      }
+
+      int bit = bit(hash, shift);
+      if ((node.bitmap & bit) == 0) {
+        return node;
+      }
+      int i = index(node.bitmap, bit);
+      Object entryKey = node.array[i];
+      if (entryKey == null) {
+        Node child = (Node) node.array[i + 1];
+        Node newChild = remove(child, shift + BITS, hash, key);
+        if (newChild == child) {
+          return node;
+        }
+        return newChild == null
+            ? withoutEntry(node, node.bitmap & ~bit, i)
+            : withValue(node, i + 1, newChild);
+      }
+      if (!key.equals(entryKey)) {
+        return node;
+      }
+      changedSize = true;
+      return withoutEntry(node, node.bitmap & ~bit, i);
+    }
+
+    private Node pair(int shift, Object key1, int hash1, Object value1, Object key2, int hash2,
+        Object value2) {
+      if (shift >= MAX_SHIFT) {
+        return new Node(owner, 0, new Object[] {key1, value1, key2, value2});
+      }
+      int bit1 = bit(hash1, shift);
+      int bit2 = bit(hash2, shift);
+      if (bit1 == bit2) {
+        Node child = pair(shift + BITS, key1, hash1, value1, key2, hash2, value2);
+        return new Node(owner, bit1, new Object[] {null, child});
+      }
+      // The entries are in order of their bits. The top bit is negative, so compare unsigned.
+      Object[] array = Integer.compareUnsigned(bit1, bit2) < 0
+          ? new Object[] {key1, value1, key2, value2}
+          : new Object[] {key2, value2, key1, value1};
+      return new Node(owner, bit1 | bit2, array);
+    }
+
+    private Node editable(Node node) {
+      return node.owner == owner ? node : new Node(owner, node.bitmap, node.array.clone());
+    }
+
+    private Node withValue(Node node, int i, Object value) {
+      if (node.array[i] == value) {
+        return node;
+      }
+      Node edited = editable(node);
+      edited.array[i] = value;
+      return edited;
+    }
+
+    private Node withEntry(Node node, int bitmap, int i, Object key, Object value) {
+      Object[] array = new Object[node.array.length + 2];
+      System.arraycopy(node.array, 0, array, 0, i);
+      array[i] = key;
+      array[i + 1] = value;
+      System.arraycopy(node.array, i, array, i + 2, node.array.length - i);
+      return withArray(node, bitmap, array);
+    }
+
+    // Returns null instead of a node with no entries left.
+    private Node withoutEntry(Node node, int bitmap, int i) {
+      if (node.array.length == 2) {
+        return null;
+      }
+      Object[] array = new Object[node.array.length - 2];
+      System.arraycopy(node.array, 0, array, 0, i);
+      System.arraycopy(node.array, i + 2, array, i, array.length - i);
+      return withArray(node, bitmap, array);
+    }
+
+    private Node withArray(Node node, int bitmap, Object[] array) {
+      if (node.owner != owner) {
+        return new Node(owner, bitmap, array);
+      }
+      node.bitmap = bitmap;
+      node.array = array;
+      return node;
+    }
+  }
+}
@@ -0,0 +1,182 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms for each phase of answering a meeting query, and counters of the sizes of
+ * the inputs, shared by every thread that answers queries. {@code writePrometheus} exposes them
+ * in the Prometheus text format.
+ */
+public final class QueryMetrics {
+  /** The quantiles reported for each phase. */
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+  private static final double NANOS_PER_SECOND = 1e9;
+
+  /**
+   * The phases of a query that are timed.
+   */
+  public enum Phase {
+    /** Reading the meeting request, or a batch of them, from JSON. */
+    PARSE,
+
+    /** Finding the events of the requested attendees in a collection of events. */
+    FILTER,
+
+    /** Sorting the events that were found by start time. */
+    SORT,
+
+    /**
+     * Combining the attendees' busy times. The interval engine finds the gaps between busy times
+     * in the same sweep, so for it this phase includes most of the gap finding too.
+     */
+    MERGE,
+
+    /** Turning the combined busy times into the meeting times to return. */
+    GAPS,
+
+    /** Writing the meeting times as JSON. */
+    ENCODE,
+
+    /** The whole request, from the first byte read to the last byte written. */
+    TOTAL
+  }
+
+  /**
+   * The sizes that are counted.
+   */
+  public enum Counter {
+    /** Queries answered. */
+    QUERIES,
+
+    /** Mandatory and optional attendees requested. */
+    ATTENDEES,
+
+    /** Events looked at while filtering. */
+    EVENTS_SCANNED,
+
+    /** Events that had at least one of the requested attendees. */
+    EVENTS_MATCHED,
+
+    /** Busy intervals combined from the attendees' timelines. */
+    BUSY_INTERVALS,
+
+    /** Meeting times returned. */
+    RESULTS
+  }
+
+  // What writePrometheus exports. Filtering and sorting events, and the counts of the events
+  // scanned and matched, are only recorded by the query over a collection of events, which the
+  // servlets don't use, so they would only ever export zeros.
+  private static final Set<Phase> EXPORTED_PHASES =
+      EnumSet.complementOf(EnumSet.of(Phase.FILTER, Phase.SORT));
+  private static final Set<Counter> EXPORTED_COUNTERS =
+      EnumSet.complementOf(EnumSet.of(Counter.EVENTS_SCANNED, Counter.EVENTS_MATCHED));
+
+  private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+  private final LongAdder[] counters = new LongAdder[Counter.values().length];
+
+  public QueryMetrics() {
+    for (int i = 0; i < histograms.length; i++) {
+      histograms[i] = new LatencyHistogram();
+    }
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records that {@code phase} took {@code nanos} nanoseconds.
+   */
+  public void record(Phase phase, long nanos) {
+    histograms[phase.ordinal()].record(nanos);
+  }
+
+  /**
+   * Records {@code phase} as having run from {@code startNanos}, a value of
+   * {@code System.nanoTime()}, until now, and returns the time now. Consecutive phases can pass
+   * the result of one call to the next.
+   */
+  public long recordSince(Phase phase, long startNanos) {
+    long now = System.nanoTime();
+    record(phase, now - startNanos);
+    return now;
+  }
+
+  /**
+   * Adds {@code amount} to {@code counter}.
+   */
+  public void add(Counter counter, long amount) {
+    counters[counter.ordinal()].add(amount);
+  }
+
+  public LatencyHistogram getHistogram(Phase phase) {
+    return histograms[phase.ordinal()];
+  }
+
+  public long getCount(Counter counter) {
+    return counters[counter.ordinal()].sum();
+  }
+
+  /**
+   * Writes every histogram and counter to {@code out} in the Prometheus text exposition format:
+   * a summary with the 50th, 90th and 99th percentiles of each phase in seconds, a gauge with the
+   * slowest time of each phase, and a counter for each input size. The phases and counters that
+   * only the query over a collection of events records are left out.
+   */
+  public void writePrometheus(Writer out) throws IOException {
+    out.write("# HELP sps_query_phase_seconds Time spent in each phase of a meeting query.\n");
+    out.write("# TYPE sps_query_phase_seconds summary\n");
+    for (Phase phase : EXPORTED_PHASES) {
+      LatencyHistogram histogram = getHistogram(phase);
+      String label = "phase=\"" + name(phase) + "\"";
+      for (double quantile : QUANTILES) {
+        out.write(String.format(Locale.ROOT, "sps_query_phase_seconds{%s,quantile=\"%s\"} %s\n",
+            label, quantile, seconds(histogram.getQuantile(quantile))));
+      }
+      out.write("sps_query_phase_seconds_sum{" + label + "} " + seconds(histogram.getSum()) + "\n");
+      out.write("sps_query_phase_seconds_count{" + label + "} " + histogram.getCount() + "\n");
+    }
+
+    out.write("# HELP sps_query_phase_max_seconds The slowest time of each phase.\n");
+    out.write("# TYPE sps_query_phase_max_seconds gauge\n");
+    for (Phase phase : EXPORTED_PHASES) {
+      out.write("sps_query_phase_max_seconds{phase=\"" + name(phase) + "\"} "
+          + seconds(getHistogram(phase).getMax()) + "\n");
+    }
+
+    for (Counter counter : EXPORTED_COUNTERS) {
+      String metric = "sps_query_" + name(counter) + "_total";
+      out.write("# TYPE " + metric + " counter\n");
+      out.write(metric + " " + getCount(counter) + "\n");
+    }
+    out.flush();
+  }
+
+  private static String name(Enum<?> value) {
+    return value.name().toLowerCase(Locale.ROOT);
+  }
+
+  private static String seconds(long nanos) {
+    return Double.toString(nanos / NANOS_PER_SECOND);
+  }
+}
@@ -0,0 +1,101 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The days a recurring meeting takes place on, for example every weekday for the next 12 weeks.
+ * A recurrence is read-only once created.
+ */
+public final class Recurrence {
+  private static final Set<DayOfWeek> WEEKDAYS = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+
+  // Every day of the recurrence, in chronological order.
+  private final List<LocalDate> dates;
+
+  private Recurrence(List<LocalDate> dates) {
+    this.dates = Collections.unmodifiableList(dates);
+  }
+
+  /**
+   * Returns a recurrence on the given days of the week for {@code weeks} weeks, starting on
+   * {@code start}. The first week runs from {@code start} up to the same day of the following
+   * week, so {@code start} itself is only included if it falls on one of {@code daysOfWeek}.
+   */
+  public static Recurrence weekly(LocalDate start, int weeks, Set<DayOfWeek> daysOfWeek) {
+    if (start == null || daysOfWeek == null) {
+      throw new IllegalArgumentException("start and daysOfWeek cannot be null");
+    }
+    if (weeks < 0) {
+      throw new IllegalArgumentException("weeks cannot be negative");
+    }
+
+    List<LocalDate> dates = new ArrayList<>();
+    LocalDate end = start.plusWeeks(weeks);
+    for (LocalDate date = start; date.isBefore(end); date = date.plusDays(1)) {
+      if (daysOfWeek.contains(date.getDayOfWeek())) {
+        dates.add(date);
+      }
+    }
+    return new Recurrence(dates);
+  }
+
+  /**
+   * Returns a recurrence on every weekday, Monday to Friday, for {@code weeks} weeks starting on
+   * {@code start}.
+   */
+  public static Recurrence weekdays(LocalDate start, int weeks) {
+    return weekly(start, weeks, WEEKDAYS);
+  }
+
+  /**
+   * Returns a recurrence on {@code count} consecutive days starting on {@code start}.
+   */
+  public static Recurrence daily(LocalDate start, int count) {
+    if (start == null) {
+      throw new IllegalArgumentException("start cannot be null");
+    }
+    if (count < 0) {
+      throw new IllegalArgumentException("count cannot be negative");
+    }
+
+    List<LocalDate> dates = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      dates.add(start.plusDays(i));
+    }
+    return new Recurrence(dates);
+  }
+
+  /**
+   * Returns a read-only list of the days of the recurrence, in chronological order.
+   */
+  public List<LocalDate> getDates() {
+    return dates;
+  }
+
+  /**
+   * Returns the number of occurrences.
+   */
+  public int size() {
+    return dates.size();
+  }
+}
@@ -0,0 +1,51 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.gson.JsonParseException;
+import com.google.sps.AvailabilityHeatmap;
+import com.google.sps.JsonCodec;
+import java.io.IOException;
+import java.util.List;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Returns how many of a group of people are free at each minute of the day. The request is a
+ * JSON array of names, which can list thousands of people. The response is run-length encoded:
+ * {@code {"attendees": 3, "runs": [[0, 3], [540, 2], [600, 3]]}} says all 3 are free until
+ * 9:00, 2 until 10:00 and all 3 again for the rest of the day.
+ */
+@WebServlet("/availability-heatmap")
+public class AvailabilityHeatmapServlet extends HttpServlet {
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    List<String> attendees;
+    try {
+      attendees = JsonCodec.readNames(JsonCodec.GSON.newJsonReader(request.getReader()));
+    } catch (IOException | IllegalArgumentException | IllegalStateException
+        | JsonParseException e) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected an array of names.");
+      return;
+    }
+
+    AvailabilityHeatmap heatmap = AvailabilityHeatmap.of(ServerCalendar.getCalendar(), attendees);
+
+    response.setContentType("application/json");
+    JsonCodec.writeHeatmap(heatmap, response.getWriter());
+  }
+}
@@ -0,0 +1,62 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.gson.JsonParseException;
+import com.google.sps.Event;
+import com.google.sps.JsonCodec;
+import com.google.sps.TimeRange;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Checks a proposed event against the calendar before it is booked. The request body is the
+ * event as JSON, and the response maps each of its attendees who has a clash to the events of
+ * theirs it overlaps, e.g. {@code {"Person A": [{"title": "Event 1", ...}]}}. Attendees without
+ * a clash are left out, so an empty object means the event can be booked as it is.
+ */
+@WebServlet("/conflicts")
+public class ConflictsServlet extends HttpServlet {
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    // The proposed event is only looked up, so it isn't created: that would keep every name in
+    // the body in the AttendeeRegistry for good.
+    List<String> attendees = new ArrayList<>();
+    TimeRange when;
+    try {
+      when = JsonCodec.readEventAttendees(
+          JsonCodec.GSON.newJsonReader(request.getReader()), attendees);
+    } catch (IOException | IllegalArgumentException | IllegalStateException
+        | JsonParseException e) {
+      when = null;
+    }
+    if (when == null) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected an event.");
+      return;
+    }
+
+    Map<String, List<Event>> conflicts =
+        ServerCalendar.getCalendar().findConflicts(attendees, when);
+
+    response.setContentType("application/json");
+    JsonCodec.writeConflicts(conflicts, response.getWriter());
+  }
+}
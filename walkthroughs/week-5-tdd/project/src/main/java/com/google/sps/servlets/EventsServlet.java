@@ -0,0 +1,144 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.gson.JsonParseException;
+import com.google.sps.CalendarStore;
+import com.google.sps.Event;
+import com.google.sps.JsonCodec;
+import com.google.sps.TimeRange;
+import java.io.IOException;
+import java.util.Collections;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Lists, adds, updates and deletes the events of the calendar. Events are sent in the same JSON
+ * shape as "/get-events" returns them:
+ * <ul>
+ * <li>GET returns every event as an object keyed by event ID.
+ * <li>POST adds the event in the body and returns its ID as {@code {"id": 7}}.
+ * <li>PUT replaces the event with the ID in the "id" parameter by the event in the body.
+ * <li>DELETE removes the event with the ID in the "id" parameter.
+ * </ul>
+ */
+@WebServlet("/events")
+public class EventsServlet extends HttpServlet {
+  @Override
+  public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    CalendarStore store = getStore(response);
+    if (store == null) {
+      return;
+    }
+
+    response.setContentType("application/json");
+    JsonCodec.GSON.toJson(store.getEventsById(), response.getWriter());
+    response.getWriter().println();
+  }
+
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    CalendarStore store = getStore(response);
+    Event event = readEvent(request, response);
+    if (store == null || event == null) {
+      return;
+    }
+
+    long id = store.addEvent(event);
+
+    response.setContentType("application/json");
+    response.getWriter().println(JsonCodec.GSON.toJson(Collections.singletonMap("id", id)));
+  }
+
+  @Override
+  public void doPut(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    CalendarStore store = getStore(response);
+    Long id = readId(request, response);
+    Event event = readEvent(request, response);
+    if (store == null || id == null || event == null) {
+      return;
+    }
+
+    if (!store.updateEvent(id, event)) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND, "No event with ID " + id + ".");
+    }
+  }
+
+  @Override
+  public void doDelete(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    CalendarStore store = getStore(response);
+    Long id = readId(request, response);
+    if (store == null || id == null) {
+      return;
+    }
+
+    if (!store.removeEvent(id)) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND, "No event with ID " + id + ".");
+    }
+  }
+
+  /**
+   * Returns the calendar, or sends an error and returns null if it can't be changed.
+   */
+  private static CalendarStore getStore(HttpServletResponse response) throws IOException {
+    CalendarStore store = ServerCalendar.getStore();
+    if (store == null && !response.isCommitted()) {
+      response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED,
+          "The calendar is a read-only snapshot.");
+    }
+    return store;
+  }
+
+  /**
+   * Returns the "id" parameter, or sends an error and returns null if it is missing or invalid.
+   */
+  private static Long readId(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    try {
+      return Long.parseLong(request.getParameter("id"));
+    } catch (NumberFormatException e) {
+      if (!response.isCommitted()) {
+        response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected a numeric id parameter.");
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Returns the event in the request body, or sends an error and returns null if it isn't valid.
+   */
+  private static Event readEvent(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    Event event = null;
+    String error = "Expected an event.";
+    try {
+      // Every query looks at one day, so an event outside it could never be found again. The
+      // reader is strict, and the time is checked before the event is created, so a rejected
+      // body never registers its names.
+      event = JsonCodec.readEventWithin(
+          JsonCodec.GSON.newJsonReader(request.getReader()), TimeRange.WHOLE_DAY);
+    } catch (IOException | IllegalArgumentException | IllegalStateException
+        | JsonParseException e) {
+      error = "Invalid event: " + e.getMessage();
+    }
+    if (event == null && !response.isCommitted()) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, error);
+    }
+    return event;
+  }
+}
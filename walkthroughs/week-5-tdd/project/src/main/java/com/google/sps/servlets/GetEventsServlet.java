@@ -14,23 +14,230 @@
 
 package com.google.sps.servlets;
 
-import com.google.sps.Events;
-import com.google.gson.Gson;
+import com.google.sps.Event;
+import com.google.sps.EventCalendar;
+import com.google.sps.JsonCodec;
+import com.google.sps.TimeRange;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+/**
+ * Returns the events of the calendar as JSON. Optional parameters narrow the events down:
+ * <ul>
+ * <li>"attendee": only events with this attendee. Repeat it, or separate names with commas, for
+ * the events of any of several people.
+ * <li>"start" and "end": only events overlapping this window, in minutes since midnight.
+ * </ul>
+ *
+ * <p>The full list of events is encoded once per calendar version and kept as bytes, so most
+ * requests only copy bytes. It is gzipped the first time a client that accepts gzip asks for it,
+ * and other responses are only gzipped when the client accepts gzip and isn't sent a 304. Every
+ * response carries a strong ETag, and a request whose If-None-Match matches it gets a 304 with no
+ * body.
+ */
 @WebServlet("/get-events")
 public class GetEventsServlet extends HttpServlet {
+  // The encoded full list of events, for the calendar version it was encoded at.
+  private static final AtomicReference<EncodedEvents> ALL_EVENTS = new AtomicReference<>();
+
   @Override
   public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
-    Gson gson = new Gson();
-    String jsonResponse = gson.toJson(Events.events);
+    EventCalendar calendar = ServerCalendar.getCalendar();
+
+    List<String> attendees = readAttendees(request);
+    TimeRange window;
+    try {
+      window = readWindow(request);
+    } catch (IllegalArgumentException e) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+      return;
+    }
+
+    EncodedEvents encoded;
+    if (attendees == null && window == null) {
+      encoded = ALL_EVENTS.get();
+      if (encoded == null || encoded.version != calendar.getVersion()) {
+        // Two requests may both encode a new version; either result can be kept.
+        encoded = EncodedEvents.encode(calendar.getVersion(), calendar.getEvents());
+        ALL_EVENTS.set(encoded);
+      }
+    } else {
+      List<Event> events = calendar.findEvents(attendees, window);
+      encoded = EncodedEvents.encode(calendar.getVersion(), events);
+    }
 
-    // Send the JSON back as the response
+    boolean gzip = acceptsGzip(request);
+    String etag = gzip ? encoded.gzipEtag : encoded.etag;
+    response.setHeader("ETag", etag);
+    response.setHeader("Vary", "Accept-Encoding");
+    // Let clients keep the response, but have them check the ETag before using it.
+    response.setHeader("Cache-Control", "no-cache");
+    if (matches(request.getHeader("If-None-Match"), etag)) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    byte[] body = gzip ? encoded.getGzipJson() : encoded.json;
     response.setContentType("application/json");
-    response.getWriter().println(jsonResponse);
+    response.setCharacterEncoding("UTF-8");
+    if (gzip) {
+      response.setHeader("Content-Encoding", "gzip");
+    }
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+  }
+
+  /**
+   * Returns the names in the "attendee" parameters, or null if there are none.
+   */
+  private static List<String> readAttendees(HttpServletRequest request) {
+    String[] values = request.getParameterValues("attendee");
+    if (values == null) {
+      return null;
+    }
+    List<String> attendees = new ArrayList<>();
+    for (String value : values) {
+      for (String name : value.split(",")) {
+        if (!name.trim().isEmpty()) {
+          attendees.add(name.trim());
+        }
+      }
+    }
+    return attendees;
+  }
+
+  /**
+   * Returns the window given by the "start" and "end" parameters, or null if neither is given.
+   * Either one defaults to the start or end of the day.
+   *
+   * @throws IllegalArgumentException if a parameter isn't a valid time
+   */
+  private static TimeRange readWindow(HttpServletRequest request) {
+    String start = request.getParameter("start");
+    String end = request.getParameter("end");
+    if (start == null && end == null) {
+      return null;
+    }
+    try {
+      int startMinute = start == null ? TimeRange.START_OF_DAY : Integer.parseInt(start);
+      int endMinute = end == null ? TimeRange.WHOLE_DAY.end() : Integer.parseInt(end);
+      if (startMinute < TimeRange.START_OF_DAY || endMinute > TimeRange.WHOLE_DAY.end()
+          || startMinute > endMinute) {
+        throw new IllegalArgumentException("start and end must be minutes within the day.");
+      }
+      return TimeRange.fromStartEnd(startMinute, endMinute, false);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("start and end must be whole minutes.");
+    }
+  }
+
+  private static boolean acceptsGzip(HttpServletRequest request) {
+    String acceptEncoding = request.getHeader("Accept-Encoding");
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split(";");
+      if (parts[0].trim().equalsIgnoreCase("gzip")) {
+        // "gzip;q=0" means the client refuses gzip.
+        return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns whether an If-None-Match header matches {@code etag}. The header is a list of ETags
+   * or "*", and matching ignores the weak "W/" prefix.
+   */
+  private static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      candidate = candidate.trim();
+      if (candidate.startsWith("W/")) {
+        candidate = candidate.substring(2);
+      }
+      if (candidate.equals("*") || candidate.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A list of events encoded as JSON, with an ETag for the plain and the gzipped JSON. The
+   * gzipped JSON is only built when it is first asked for.
+   */
+  private static final class EncodedEvents {
+    final long version;
+    final byte[] json;
+    final String etag;
+    final String gzipEtag;
+
+    // Two requests may both gzip the JSON; they build the same bytes, and either can be kept.
+    private volatile byte[] gzipJson;
+
+    private EncodedEvents(long version, byte[] json, String hash) {
+      this.version = version;
+      this.json = json;
+      // The two encodings are different representations, so their strong ETags must differ.
+      this.etag = "\"" + hash + "\"";
+      this.gzipEtag = "\"" + hash + "-gzip\"";
+    }
+
+    static EncodedEvents encode(long version, List<Event> events) throws IOException {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+        JsonCodec.GSON.toJson(events, writer);
+        writer.write('\n');
+      }
+      byte[] json = bytes.toByteArray();
+      return new EncodedEvents(version, json, hash(json));
+    }
+
+    byte[] getGzipJson() throws IOException {
+      byte[] gzipped = gzipJson;
+      if (gzipped == null) {
+        ByteArrayOutputStream gzipBytes = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipBytes)) {
+          gzip.write(json);
+        }
+        gzipped = gzipBytes.toByteArray();
+        gzipJson = gzipped;
+      }
+      return gzipped;
+    }
+
+    /**
+     * Returns a hash of the content, so that the ETag only changes when the JSON does.
+     */
+    private static String hash(byte[] content) {
+      try {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+        StringBuilder hex = new StringBuilder();
+        // Half of the digest is plenty to tell versions of the calendar apart.
+        for (int i = 0; i < digest.length / 2; i++) {
+          hex.append(String.format("%02x", digest[i]));
+        }
+        return hex.toString();
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 is always available", e);
+      }
+    }
   }
 }
@@ -0,0 +1,77 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
+import com.google.sps.BatchMeetingQuery;
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.JsonCodec;
+import com.google.sps.MeetingRequest;
+import com.google.sps.QueryMetrics;
+import com.google.sps.TimeRange;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Answers a JSON array of meeting requests in one call. The response is a JSON array with the
+ * possible meeting times of each request, in the same order as the requests.
+ */
+@WebServlet("/query-batch")
+public class QueryBatchServlet extends HttpServlet {
+  private static final BatchMeetingQuery BATCH_QUERY = new BatchMeetingQuery(
+      new FindMeetingQuery(ServerCalendar.ENGINE, ServerCalendar.METRICS), ServerCalendar.POOL);
+
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    QueryMetrics metrics = ServerCalendar.METRICS;
+    long start = System.nanoTime();
+
+    // Convert the JSON to a list of MeetingRequests, one request at a time.
+    List<MeetingRequest> meetingRequests;
+    try {
+      meetingRequests =
+          JsonCodec.readMeetingRequests(JsonCodec.GSON.newJsonReader(request.getReader()));
+    } catch (IOException | IllegalArgumentException | IllegalStateException
+        | JsonParseException e) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected an array of requests.");
+      return;
+    }
+
+    long time = metrics.recordSince(QueryMetrics.Phase.PARSE, start);
+
+    // Find the possible meeting times of every request. Each query records its own phases.
+    List<Collection<TimeRange>> answers =
+        BATCH_QUERY.query(ServerCalendar.getCalendar(), meetingRequests);
+    time = System.nanoTime();
+
+    // Write the times straight to the response as JSON.
+    response.setContentType("application/json");
+    JsonWriter writer = JsonCodec.GSON.newJsonWriter(response.getWriter());
+    writer.beginArray();
+    for (Collection<TimeRange> answer : answers) {
+      JsonCodec.writeTimeRanges(answer, writer);
+    }
+    writer.endArray();
+    writer.flush();
+    metrics.recordSince(QueryMetrics.Phase.ENCODE, time);
+    metrics.recordSince(QueryMetrics.Phase.TOTAL, start);
+  }
+}
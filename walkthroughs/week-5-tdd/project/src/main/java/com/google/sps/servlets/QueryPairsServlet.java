@@ -0,0 +1,74 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
+import com.google.sps.JsonCodec;
+import com.google.sps.PairwiseMeetingQuery;
+import com.google.sps.TimeRange;
+import java.io.IOException;
+import java.util.List;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Finds 1:1 meeting times for many pairs of people in one call. The request body is a JSON array
+ * of pairs of names, e.g. {@code [["Mentor 1", "Mentee 1"], ["Mentor 1", "Mentee 2"]]}, and the
+ * "duration" parameter is the length of the meetings in minutes. The response is a JSON array
+ * with the times both people of each pair are free, in the same order as the pairs.
+ */
+@WebServlet("/query-pairs")
+public class QueryPairsServlet extends HttpServlet {
+  private static final PairwiseMeetingQuery PAIRWISE_QUERY =
+      new PairwiseMeetingQuery(ServerCalendar.POOL);
+
+  @Override
+  public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    long duration;
+    try {
+      duration = Long.parseLong(request.getParameter("duration"));
+    } catch (NumberFormatException e) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "duration must be whole minutes.");
+      return;
+    }
+
+    // Convert the JSON to a list of pairs of names.
+    List<List<String>> pairs;
+    try {
+      pairs = JsonCodec.readPairs(JsonCodec.GSON.newJsonReader(request.getReader()));
+    } catch (IOException | IllegalArgumentException | IllegalStateException
+        | JsonParseException e) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected an array of pairs.");
+      return;
+    }
+
+    // Find the common free times of every pair.
+    List<List<TimeRange>> answers =
+        PAIRWISE_QUERY.query(ServerCalendar.getCalendar(), pairs, duration);
+
+    // Write the times straight to the response as JSON.
+    response.setContentType("application/json");
+    JsonWriter writer = JsonCodec.GSON.newJsonWriter(response.getWriter());
+    writer.beginArray();
+    for (List<TimeRange> answer : answers) {
+      JsonCodec.writeTimeRanges(answer, writer);
+    }
+    writer.endArray();
+    writer.flush();
+  }
+}
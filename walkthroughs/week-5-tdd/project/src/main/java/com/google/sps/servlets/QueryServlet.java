@@ -14,13 +14,13 @@
 
 package com.google.sps.servlets;
 
-import com.google.sps.Events;
+import com.google.gson.JsonParseException;
 import com.google.sps.FindMeetingQuery;
+import com.google.sps.JsonCodec;
 import com.google.sps.MeetingRequest;
+import com.google.sps.QueryMetrics;
 import com.google.sps.TimeRange;
-import com.google.gson.Gson;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.Collection;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
@@ -31,21 +31,33 @@ import javax.servlet.http.HttpServletResponse;
 public class QueryServlet extends HttpServlet {
   @Override
   public void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
-    Gson gson = new Gson();
+    QueryMetrics metrics = ServerCalendar.METRICS;
+    long start = System.nanoTime();
 
     // Convert the JSON to an instance of MeetingRequest.
-    MeetingRequest meetingRequest = gson.fromJson(request.getReader(), MeetingRequest.class);
+    // The request's setters reject values out of range, such as a negative result limit.
+    MeetingRequest meetingRequest;
+    try {
+      meetingRequest = JsonCodec.GSON.fromJson(request.getReader(), MeetingRequest.class);
+    } catch (IllegalArgumentException | IllegalStateException | JsonParseException e) {
+      meetingRequest = null;
+    }
+    if (meetingRequest == null) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected a meeting request.");
+      return;
+    }
+    long time = metrics.recordSince(QueryMetrics.Phase.PARSE, start);
 
-    // Find the possible meeting times.
-    FindMeetingQuery findMeetingQuery = new FindMeetingQuery();
+    // Find the possible meeting times. The query records its own phases.
+    FindMeetingQuery findMeetingQuery = new FindMeetingQuery(ServerCalendar.ENGINE, metrics);
     Collection<TimeRange> answer =
-        findMeetingQuery.query(Arrays.asList(Events.events), meetingRequest);
+        findMeetingQuery.query(ServerCalendar.getCalendar(), meetingRequest);
+    time = System.nanoTime();
 
-    // Convert the times to JSON
-    String jsonResponse = gson.toJson(answer);
-
-    // Send the JSON back as the response
+    // Write the times straight to the response as JSON.
     response.setContentType("application/json");
-    response.getWriter().println(jsonResponse);
+    JsonCodec.writeTimeRanges(answer, response.getWriter());
+    metrics.recordSince(QueryMetrics.Phase.ENCODE, time);
+    metrics.recordSince(QueryMetrics.Phase.TOTAL, start);
   }
 }
@@ -0,0 +1,101 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.CalendarSnapshot;
+import com.google.sps.CalendarStore;
+import com.google.sps.EventCalendar;
+import com.google.sps.EventSource;
+import com.google.sps.Events;
+import com.google.sps.FindMeetingQuery;
+import com.google.sps.NdjsonEventSource;
+import com.google.sps.QueryMetrics;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The calendar the servlets answer queries against. It is shared between the servlets so that
+ * the events are only indexed once and every query reuses the same cached busy timelines.
+ *
+ * <p>By default the calendar holds the example events in {@code Events}. Two system properties
+ * load a calendar from disk instead:
+ * <ul>
+ * <li>"sps.snapshot": the path of a {@code CalendarSnapshot}. It is memory-mapped, so startup
+ * doesn't depend on the size of the calendar.
+ * <li>"sps.events": the path of a newline-delimited JSON file of events, which is streamed into
+ * a {@code CalendarStore}.
+ * </ul>
+ * Only a calendar that isn't a snapshot can be changed through "/events".
+ */
+final class ServerCalendar {
+  // The engine used to find meeting times. Set the "sps.engine" system property in
+  // appengine-web.xml to INTERVAL or BITMAP to pick one.
+  static final FindMeetingQuery.Engine ENGINE =
+      FindMeetingQuery.Engine.valueOf(System.getProperty("sps.engine", "INTERVAL"));
+
+  // The time each phase of a query takes, and the sizes of the queries, served by "/metrics".
+  static final QueryMetrics METRICS = new QueryMetrics();
+
+  // The pool that the servlets answering many queries at once share, with a thread per processor.
+  static final ForkJoinPool POOL = new ForkJoinPool();
+
+  private static final CalendarSnapshot SNAPSHOT;
+
+  // The calendar when it isn't a snapshot. Each attendee's busy timeline is cached until one of
+  // their events changes.
+  private static final CalendarStore STORE;
+
+  static {
+    String snapshotPath = System.getProperty("sps.snapshot", "");
+    String eventsPath = System.getProperty("sps.events", "");
+    try {
+      if (!snapshotPath.isEmpty()) {
+        SNAPSHOT = CalendarSnapshot.open(Paths.get(snapshotPath));
+        STORE = null;
+      } else if (!eventsPath.isEmpty()) {
+        try (EventSource source = NdjsonEventSource.open(Paths.get(eventsPath))) {
+          SNAPSHOT = null;
+          STORE = CalendarStore.load(source);
+        }
+      } else {
+        SNAPSHOT = null;
+        STORE = new CalendarStore(Arrays.asList(Events.events));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not load the calendar", e);
+    }
+  }
+
+  private ServerCalendar() {}
+
+  /**
+   * Returns the current calendar. Call it once per request: a store returns its current
+   * snapshot, which later writes don't change.
+   */
+  static EventCalendar getCalendar() {
+    return SNAPSHOT != null ? SNAPSHOT : STORE.snapshot();
+  }
+
+  /**
+   * Returns the calendar that events can be added to and removed from, or null if the calendar
+   * is a read-only snapshot.
+   */
+  static CalendarStore getStore() {
+    return STORE;
+  }
+}
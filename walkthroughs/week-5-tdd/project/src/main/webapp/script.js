@@ -29,9 +29,29 @@ function sendMeetingRequest() {
   // split it into an array of names
   const optionalAttendees = optionalAttendeesNamesString.split(/\s*,\s*/);
 
+  // whether to find the times the most optional attendees can make
+  const maximizeOptionalAttendance =
+      document.getElementById('maximize-optional-attendance').checked;
+
+  // how many times to show, or 0 for all of them
+  const resultLimit = Number(document.getElementById('result-limit').value) || 0;
+
+  // the earliest time the meeting can start, as "HH:MM"
+  const notBeforeString = document.getElementById('not-before').value;
+  const notBefore = notBeforeString ? timeFromString(notBeforeString) : 0;
+
+  // the fewest mandatory attendees who must be free, or 0 for all of them
+  const minAttendance = Number(document.getElementById('min-attendance').value) || 0;
+
+  // the minutes everyone needs free before and after the meeting
+  const paddingBefore = Number(document.getElementById('padding-before').value) || 0;
+  const paddingAfter = Number(document.getElementById('padding-after').value) || 0;
+
   // Create the request to send to the server using the data we collected from
   // the web form.
-  const meetingRequest = new MeetingRequest(duration, attendees, optionalAttendees);
+  const meetingRequest = new MeetingRequest(
+      duration, attendees, optionalAttendees, maximizeOptionalAttendance,
+      resultLimit, notBefore, minAttendance, paddingBefore, paddingAfter);
 
   queryServer(meetingRequest).then((timeRanges) => {
     updateResultsOnPage(timeRanges);
@@ -88,14 +108,31 @@ function timeToString(totalMinutes) {
   return digitsToString(hours) + ':' + digitsToString(minutes);
 }
 
+/**
+ * Converts a time in 24 hour "HH:MM" format to the number of minutes since
+ * midnight. The inverse of timeToString.
+ */
+function timeFromString(time) {
+  const parts = time.split(':');
+  return Number(parts[0]) * 60 + Number(parts[1]);
+}
+
 /**
  * Request for possible meeting times.
  */
 class MeetingRequest {
-  constructor(duration, attendees, optional_attendees) {
+  constructor(
+      duration, attendees, optional_attendees, maximize_optional_attendance,
+      result_limit, not_before, min_attendance, padding_before, padding_after) {
     this.duration = duration;
     this.attendees = attendees;
     this.optional_attendees = optional_attendees;
+    this.maximize_optional_attendance = maximize_optional_attendance;
+    this.result_limit = result_limit;
+    this.not_before = not_before;
+    this.min_attendance = min_attendance;
+    this.padding_before = padding_before;
+    this.padding_after = padding_after;
   }
 }
 
@@ -0,0 +1,106 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class AttendanceSweepTest {
+  private static final int DURATION_30_MINUTES = 30;
+
+  @Test
+  public void personIsBlockedBeforeTheirBusyTime() {
+    // Busy from 100 to 200, so a 30 minute meeting cannot start from 71 to 199.
+    List<IntervalSet> busyTimes = Arrays.asList(IntervalSet.of(100, 200));
+
+    int[] unavailable = AttendanceSweep.countUnavailable(busyTimes, DURATION_30_MINUTES);
+
+    Assert.assertEquals(0, unavailable[70]);
+    Assert.assertEquals(1, unavailable[71]);
+    Assert.assertEquals(1, unavailable[199]);
+    Assert.assertEquals(0, unavailable[200]);
+  }
+
+  @Test
+  public void personIsCountedOnceWhenBlockedTimesOverlap() {
+    // The gap between the two busy blocks is shorter than the meeting.
+    List<IntervalSet> busyTimes =
+        Arrays.asList(new IntervalSet.Builder().add(100, 200).add(210, 300).build());
+
+    int[] unavailable = AttendanceSweep.countUnavailable(busyTimes, DURATION_30_MINUTES);
+
+    Assert.assertEquals(1, unavailable[195]);
+    Assert.assertEquals(1, unavailable[205]);
+  }
+
+  @Test
+  public void countsEveryBusyPerson() {
+    List<IntervalSet> busyTimes = Arrays.asList(IntervalSet.of(100, 200), IntervalSet.of(150, 250));
+
+    int[] unavailable = AttendanceSweep.countUnavailable(busyTimes, DURATION_30_MINUTES);
+
+    Assert.assertEquals(1, unavailable[100]);
+    Assert.assertEquals(2, unavailable[150]);
+    Assert.assertEquals(1, unavailable[220]);
+  }
+
+  @Test
+  public void bestTimesAreRunsOfTheLowestCount() {
+    List<IntervalSet> busyTimes = Arrays.asList(IntervalSet.of(100, 200));
+    int[] unavailable = AttendanceSweep.countUnavailable(busyTimes, DURATION_30_MINUTES);
+
+    Collection<TimeRange> actual = AttendanceSweep.findBestTimes(
+        IntervalSet.of(TimeRange.START_OF_DAY, TimeRange.WHOLE_DAY.end()), unavailable,
+        DURATION_30_MINUTES);
+    Collection<TimeRange> expected = Arrays.asList(TimeRange.fromStartEnd(0, 100, false),
+        TimeRange.fromStartEnd(200, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void bestTimesWithNoDurationStayInTheDay() {
+    List<IntervalSet> busyTimes = Arrays.asList(IntervalSet.of(100, 200));
+    int[] unavailable = AttendanceSweep.countUnavailable(busyTimes, 0);
+
+    Collection<TimeRange> actual = AttendanceSweep.findBestTimes(
+        IntervalSet.of(TimeRange.START_OF_DAY, TimeRange.WHOLE_DAY.end()), unavailable, 0);
+    Collection<TimeRange> expected = Arrays.asList(TimeRange.fromStartEnd(0, 100, false),
+        TimeRange.fromStartEnd(200, TimeRange.WHOLE_DAY.end(), false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void quorumTimesWithNoDurationStayInTheDay() {
+    // Two people, at most one of whom may miss the meeting. Only 150 to 200 misses both.
+    List<IntervalSet> busyTimes = Arrays.asList(IntervalSet.of(100, 200), IntervalSet.of(150, 250));
+    int[] unavailable = AttendanceSweep.countUnavailable(busyTimes, 0);
+
+    Collection<TimeRange> actual = AttendanceSweep.findTimesWithAtMost(
+        IntervalSet.of(TimeRange.START_OF_DAY, TimeRange.WHOLE_DAY.end()), unavailable, 0, 1);
+    Collection<TimeRange> expected = Arrays.asList(TimeRange.fromStartEnd(0, 150, false),
+        TimeRange.fromStartEnd(200, TimeRange.WHOLE_DAY.end(), false));
+
+    Assert.assertEquals(expected, actual);
+  }
+}
@@ -0,0 +1,94 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import java.util.Arrays;
+import java.util.HashSet;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class AttendeeRegistryTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  @Test
+  public void internGivesDenseStableIds() {
+    AttendeeRegistry registry = new AttendeeRegistry();
+
+    Assert.assertEquals(0, registry.intern(PERSON_A));
+    Assert.assertEquals(1, registry.intern(PERSON_B));
+    Assert.assertEquals(0, registry.intern(PERSON_A));
+    Assert.assertEquals(PERSON_B, registry.nameOf(1));
+    Assert.assertEquals(2, registry.size());
+  }
+
+  @Test
+  public void idsAreSortedAndUnique() {
+    AttendeeRegistry registry = new AttendeeRegistry();
+    registry.intern(PERSON_C);
+
+    int[] ids = registry.internAll(Arrays.asList(PERSON_B, PERSON_C, PERSON_A, PERSON_B));
+
+    Assert.assertArrayEquals(new int[] {0, 1, 2}, ids);
+  }
+
+  @Test
+  public void unknownNamesAreLeftOut() {
+    AttendeeRegistry registry = new AttendeeRegistry();
+    registry.intern(PERSON_A);
+
+    Assert.assertEquals(-1, registry.idOf(PERSON_B));
+    Assert.assertArrayEquals(new int[] {0}, registry.idsOf(Arrays.asList(PERSON_B, PERSON_A)));
+  }
+
+  @Test
+  public void intersects() {
+    Assert.assertTrue(AttendeeRegistry.intersects(new int[] {1, 4, 7}, new int[] {2, 7}));
+    Assert.assertFalse(AttendeeRegistry.intersects(new int[] {1, 4, 7}, new int[] {2, 5, 8}));
+    Assert.assertFalse(AttendeeRegistry.intersects(new int[] {}, new int[] {2}));
+  }
+
+  @Test
+  public void eventAttendeesKeepTheirSetView() {
+    Event event = new Event("Event 1", TimeRange.fromStartDuration(0, 30),
+        Arrays.asList(PERSON_A, PERSON_B, PERSON_A));
+
+    Assert.assertEquals(new HashSet<>(Arrays.asList(PERSON_A, PERSON_B)), event.getAttendees());
+    Assert.assertTrue(event.getAttendees().contains(PERSON_B));
+    Assert.assertFalse(event.getAttendees().contains(PERSON_C));
+    Assert.assertFalse(event.getAttendees().contains(null));
+  }
+
+  @Test
+  public void eventJsonStillListsAttendeeNames() {
+    Event event = new Event("Event 1", TimeRange.fromStartDuration(0, 30),
+        Arrays.asList(PERSON_A));
+
+    JsonObject json = new Gson().toJsonTree(event).getAsJsonObject();
+
+    JsonArray attendees = json.getAsJsonArray("attendees");
+    Assert.assertEquals(1, attendees.size());
+    Assert.assertEquals(PERSON_A, attendees.get(0).getAsString());
+    Assert.assertFalse(json.has("attendeeIds"));
+  }
+}
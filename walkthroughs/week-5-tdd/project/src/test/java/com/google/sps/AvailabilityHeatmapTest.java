@@ -0,0 +1,154 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class AvailabilityHeatmapTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final int TIME_0800AM = TimeRange.getTimeInMinutes(8, 0);
+  private static final int TIME_0830AM = TimeRange.getTimeInMinutes(8, 30);
+  private static final int TIME_0900AM = TimeRange.getTimeInMinutes(9, 0);
+
+  private static final int DURATION_30_MINUTES = 30;
+  private static final int DURATION_1_HOUR = 60;
+
+  @Test
+  public void noEventsMeansEveryoneIsFree() {
+    AvailabilityHeatmap heatmap =
+        AvailabilityHeatmap.of(new EventIndex(Collections.emptyList()), Arrays.asList(PERSON_A));
+
+    Assert.assertEquals(1, heatmap.size());
+    Assert.assertEquals(TimeRange.START_OF_DAY, heatmap.start(0));
+    Assert.assertEquals(TimeRange.WHOLE_DAY.end(), heatmap.end(0));
+    Assert.assertEquals(1, heatmap.free(0));
+  }
+
+  @Test
+  public void noAttendees() {
+    AvailabilityHeatmap heatmap =
+        AvailabilityHeatmap.of(new EventIndex(Collections.emptyList()), Collections.emptyList());
+
+    Assert.assertEquals(0, heatmap.getAttendeeCount());
+    Assert.assertEquals(1, heatmap.size());
+    Assert.assertEquals(0, heatmap.free(0));
+  }
+
+  @Test
+  public void overlappingEvents() {
+    // Events  :       |--A--|
+    //                    |--B--|
+    // Day     : |---------------------|
+    // Free    :    3  | 2|1 |2 |  3
+    EventIndex index = new EventIndex(Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartDuration(TIME_0800AM, DURATION_1_HOUR),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartDuration(TIME_0830AM, DURATION_1_HOUR),
+            Arrays.asList(PERSON_B))));
+
+    AvailabilityHeatmap heatmap =
+        AvailabilityHeatmap.of(index, Arrays.asList(PERSON_A, PERSON_B, PERSON_C));
+
+    Assert.assertEquals("AvailabilityHeatmap: "
+        + "{[0, 480): 3, [480, 510): 2, [510, 540): 1, [540, 570): 2, [570, 1440): 3}",
+        heatmap.toString());
+    Assert.assertEquals(3, heatmap.getAttendeeCount());
+    Assert.assertEquals(3, heatmap.getFreeAt(TIME_0800AM - 1));
+    Assert.assertEquals(2, heatmap.getFreeAt(TIME_0800AM));
+    Assert.assertEquals(1, heatmap.getFreeAt(TIME_0830AM));
+    Assert.assertEquals(3, heatmap.getFreeAt(TimeRange.END_OF_DAY));
+  }
+
+  @Test
+  public void adjacentEventsOfTheSamePersonFormOneRun() {
+    // Events  :       |--A--|--A--|
+    // Day     : |---------------------|
+    // Free    :    1  |     0     | 1
+    EventIndex index = new EventIndex(Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartDuration(TIME_0800AM, DURATION_1_HOUR),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartDuration(TIME_0900AM, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_A))));
+
+    AvailabilityHeatmap heatmap = AvailabilityHeatmap.of(index, Arrays.asList(PERSON_A));
+
+    Assert.assertEquals("AvailabilityHeatmap: {[0, 480): 1, [480, 570): 0, [570, 1440): 1}",
+        heatmap.toString());
+  }
+
+  @Test
+  public void peopleNamedTwiceAreCountedOnce() {
+    EventIndex index = new EventIndex(Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartDuration(TIME_0800AM, DURATION_1_HOUR),
+            Arrays.asList(PERSON_A, PERSON_B))));
+
+    AvailabilityHeatmap heatmap =
+        AvailabilityHeatmap.of(index, Arrays.asList(PERSON_A, PERSON_A, PERSON_C));
+
+    Assert.assertEquals(2, heatmap.getAttendeeCount());
+    Assert.assertEquals(1, heatmap.getFreeAt(TIME_0800AM));
+    Assert.assertEquals(2, heatmap.getFreeAt(TIME_0900AM));
+  }
+
+  @Test
+  public void matchesCountingEveryMinute() {
+    Random random = new Random(42);
+    List<String> people = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      people.add("Person " + i);
+    }
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      int start = random.nextInt(TimeRange.END_OF_DAY);
+      int duration = 1 + random.nextInt(TimeRange.WHOLE_DAY.end() - start);
+      events.add(new Event("Event " + i, TimeRange.fromStartDuration(start, duration),
+          Arrays.asList(people.get(random.nextInt(people.size())))));
+    }
+    EventIndex index = new EventIndex(events);
+
+    AvailabilityHeatmap heatmap = AvailabilityHeatmap.of(index, people);
+
+    for (int minute = 0; minute < TimeRange.WHOLE_DAY.end(); minute++) {
+      int free = 0;
+      for (String person : people) {
+        free += index.getBusyTimeline(person).contains(minute) ? 0 : 1;
+      }
+      Assert.assertEquals(free, heatmap.getFreeAt(minute));
+    }
+    for (int i = 1; i < heatmap.size(); i++) {
+      Assert.assertNotEquals(heatmap.free(i - 1), heatmap.free(i));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void minuteOutsideTheDay() {
+    AvailabilityHeatmap.of(new EventIndex(Collections.emptyList()), Collections.emptyList())
+        .getFreeAt(TimeRange.WHOLE_DAY.end());
+  }
+}
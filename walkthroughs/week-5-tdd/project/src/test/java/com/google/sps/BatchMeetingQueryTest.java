@@ -0,0 +1,82 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class BatchMeetingQueryTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final EventIndex INDEX = new EventIndex(Arrays.asList(
+      new Event("Event 1", TimeRange.fromStartDuration(480, 60), Arrays.asList(PERSON_A)),
+      new Event("Event 2", TimeRange.fromStartDuration(600, 30), Arrays.asList(PERSON_B))));
+
+  private ForkJoinPool pool;
+  private BatchMeetingQuery batchQuery;
+
+  @Before
+  public void setUp() {
+    pool = new ForkJoinPool(4);
+    batchQuery = new BatchMeetingQuery(new FindMeetingQuery(), pool);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void emptyBatch() {
+    Assert.assertEquals(Collections.emptyList(),
+        batchQuery.query(INDEX, Collections.<MeetingRequest>emptyList()));
+  }
+
+  @Test
+  public void resultsAreInRequestOrder() {
+    // Enough requests that the batch is split across several tasks.
+    List<MeetingRequest> requests = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      String attendee = i % 2 == 0 ? PERSON_A : PERSON_B;
+      requests.add(new MeetingRequest(Arrays.asList(attendee), 15 + i));
+    }
+
+    List<Collection<TimeRange>> actual = batchQuery.query(INDEX, requests);
+
+    FindMeetingQuery query = new FindMeetingQuery();
+    Assert.assertEquals(requests.size(), actual.size());
+    for (int i = 0; i < requests.size(); i++) {
+      Assert.assertEquals(query.query(INDEX, requests.get(i)), actual.get(i));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullPoolIsRejected() {
+    new BatchMeetingQuery(new FindMeetingQuery(), null);
+  }
+}
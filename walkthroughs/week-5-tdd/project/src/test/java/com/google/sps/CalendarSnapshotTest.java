@@ -0,0 +1,105 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class CalendarSnapshotTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Zo\u00eb";
+
+  private static final List<Event> EVENTS = Arrays.asList(
+      new Event("Event 1", TimeRange.fromStartDuration(600, 30), Arrays.asList(PERSON_A)),
+      new Event("Event 2", TimeRange.fromStartDuration(300, 30),
+          Arrays.asList(PERSON_A, PERSON_B, PERSON_C)),
+      new Event("Event 3", TimeRange.fromStartDuration(310, 60), Arrays.asList(PERSON_B)),
+      new Event("Event 1", TimeRange.fromStartDuration(900, 15), Collections.emptyList()));
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void eventsRoundTrip() throws IOException {
+    CalendarSnapshot snapshot = writeAndOpen(EVENTS);
+
+    Assert.assertEquals(EVENTS.size(), snapshot.size());
+    Assert.assertEquals(3, snapshot.getAttendeeCount());
+    Assert.assertEquals(EVENTS, snapshot.getEvents());
+  }
+
+  @Test
+  public void busyTimelinesMatchIndex() throws IOException {
+    CalendarSnapshot snapshot = writeAndOpen(EVENTS);
+    EventIndex index = new EventIndex(EVENTS);
+
+    for (String attendee : Arrays.asList(PERSON_A, PERSON_B, PERSON_C, "Nobody")) {
+      Assert.assertEquals(index.getBusyTimeline(attendee), snapshot.getBusyTimeline(attendee));
+    }
+  }
+
+  @Test
+  public void attendeeEventsMatchIndex() throws IOException {
+    CalendarSnapshot snapshot = writeAndOpen(EVENTS);
+    EventIndex index = new EventIndex(EVENTS);
+
+    for (String attendee : Arrays.asList(PERSON_A, PERSON_B, PERSON_C, "Nobody")) {
+      Assert.assertEquals(index.getEvents(attendee), snapshot.getEvents(attendee));
+    }
+  }
+
+  @Test
+  public void emptyCalendar() throws IOException {
+    CalendarSnapshot snapshot = writeAndOpen(Collections.emptyList());
+
+    Assert.assertEquals(0, snapshot.size());
+    Assert.assertEquals(IntervalSet.EMPTY, snapshot.getBusyTimeline(PERSON_A));
+  }
+
+  @Test
+  public void eventsSerializeLikeAList() throws IOException {
+    CalendarSnapshot snapshot = writeAndOpen(EVENTS);
+    Gson gson = new Gson();
+
+    Assert.assertEquals(gson.toJson(EVENTS), gson.toJson(snapshot.getEvents()));
+  }
+
+  @Test(expected = IOException.class)
+  public void otherFilesAreRejected() throws IOException {
+    Path path = folder.newFile().toPath();
+    Files.write(path, "[{\"title\": \"Event 1\"}]".getBytes("UTF-8"));
+
+    CalendarSnapshot.open(path);
+  }
+
+  private CalendarSnapshot writeAndOpen(List<Event> events) throws IOException {
+    Path path = folder.newFile().toPath();
+    CalendarSnapshot.write(events, path);
+    return CalendarSnapshot.open(path);
+  }
+}
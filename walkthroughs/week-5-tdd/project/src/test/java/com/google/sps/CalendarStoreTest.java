@@ -0,0 +1,260 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class CalendarStoreTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final Event EVENT_1 =
+      new Event("Event 1", TimeRange.fromStartDuration(600, 30), Arrays.asList(PERSON_A));
+  private static final Event EVENT_2 =
+      new Event("Event 2", TimeRange.fromStartDuration(300, 30), Arrays.asList(PERSON_A, PERSON_B));
+  private static final Event EVENT_3 =
+      new Event("Event 3", TimeRange.fromStartDuration(450, 60), Arrays.asList(PERSON_B));
+
+  @Test
+  public void startsWithGivenEvents() {
+    CalendarStore store = new CalendarStore(Arrays.asList(EVENT_1, EVENT_2, EVENT_3));
+
+    Assert.assertEquals(Arrays.asList(EVENT_2, EVENT_1), store.getEvents(PERSON_A));
+    Assert.assertEquals(new IntervalSet.Builder().add(300, 330).add(450, 510).build(),
+        store.getBusyTimeline(PERSON_B));
+    Assert.assertEquals(Arrays.asList(EVENT_1, EVENT_2, EVENT_3), store.getEvents());
+    Assert.assertEquals(EVENT_2, store.getEvent(2));
+    Assert.assertEquals(3, store.size());
+  }
+
+  @Test
+  public void addingEventOnlyInvalidatesItsAttendees() {
+    CalendarStore store = new CalendarStore(Arrays.asList(EVENT_2, EVENT_3));
+    IntervalSet timelineB = store.getBusyTimeline(PERSON_B);
+    long versionB = store.getVersion(PERSON_B);
+
+    long id = store.addEvent(EVENT_1);
+
+    Assert.assertEquals(EVENT_1, store.getEvent(id));
+    Assert.assertEquals(Arrays.asList(EVENT_2, EVENT_1), store.getEvents(PERSON_A));
+    Assert.assertEquals(new IntervalSet.Builder().add(300, 330).add(600, 630).build(),
+        store.getBusyTimeline(PERSON_A));
+    Assert.assertEquals(store.getVersion(), store.getVersion(PERSON_A));
+
+    // Person B wasn't touched, so their cached timeline is still used.
+    Assert.assertSame(timelineB, store.getBusyTimeline(PERSON_B));
+    Assert.assertEquals(versionB, store.getVersion(PERSON_B));
+  }
+
+  @Test
+  public void overlappingEventsStayBusyUntilAllAreRemoved() {
+    Event overlapping =
+        new Event("Event 4", TimeRange.fromStartDuration(480, 60), Arrays.asList(PERSON_B));
+    CalendarStore store = new CalendarStore(Arrays.asList(EVENT_3, overlapping));
+
+    Assert.assertEquals(IntervalSet.of(450, 540), store.getBusyTimeline(PERSON_B));
+
+    store.removeEvent(1);
+
+    Assert.assertEquals(IntervalSet.of(480, 540), store.getBusyTimeline(PERSON_B));
+  }
+
+  @Test
+  public void touchingEventsAreMerged() {
+    Event touching =
+        new Event("Event 4", TimeRange.fromStartDuration(510, 30), Arrays.asList(PERSON_B));
+    CalendarStore store = new CalendarStore(Arrays.asList(EVENT_3, touching));
+
+    Assert.assertEquals(IntervalSet.of(450, 540), store.getBusyTimeline(PERSON_B));
+  }
+
+  @Test
+  public void removingEventUpdatesTimelines() {
+    CalendarStore store = new CalendarStore(Arrays.asList(EVENT_1, EVENT_2, EVENT_3));
+    store.getBusyTimeline(PERSON_A);
+    long version = store.getVersion();
+
+    Assert.assertTrue(store.removeEvent(2));
+
+    Assert.assertNull(store.getEvent(2));
+    Assert.assertEquals(IntervalSet.of(600, 630), store.getBusyTimeline(PERSON_A));
+    Assert.assertEquals(IntervalSet.of(450, 510), store.getBusyTimeline(PERSON_B));
+    Assert.assertTrue(store.getVersion() > version);
+    Assert.assertEquals(2, store.size());
+  }
+
+  @Test
+  public void updatingEventMovesItForEveryAttendee() {
+    CalendarStore store = new CalendarStore(Arrays.asList(EVENT_1, EVENT_2));
+    Event moved =
+        new Event("Event 2", TimeRange.fromStartDuration(700, 30), Arrays.asList(PERSON_B));
+
+    Assert.assertTrue(store.updateEvent(2, moved));
+
+    Assert.assertEquals(moved, store.getEvent(2));
+    Assert.assertEquals(IntervalSet.of(600, 630), store.getBusyTimeline(PERSON_A));
+    Assert.assertEquals(IntervalSet.of(700, 730), store.getBusyTimeline(PERSON_B));
+    Assert.assertEquals(2, store.size());
+  }
+
+  @Test
+  public void changingUnknownEventChangesNothing() {
+    CalendarStore store = new CalendarStore(Arrays.asList(EVENT_1));
+    long version = store.getVersion();
+
+    Assert.assertFalse(store.removeEvent(5));
+    Assert.assertFalse(store.updateEvent(5, EVENT_2));
+
+    Assert.assertEquals(version, store.getVersion());
+    Assert.assertEquals(1, store.size());
+  }
+
+  @Test
+  public void removingLastEventForgetsAttendee() {
+    CalendarStore store = new CalendarStore(Arrays.asList(EVENT_1));
+
+    store.removeEvent(1);
+
+    Assert.assertEquals(Collections.emptyList(), store.getEvents(PERSON_A));
+    Assert.assertEquals(IntervalSet.EMPTY, store.getBusyTimeline(PERSON_A));
+    Assert.assertEquals(-1, store.getVersion(PERSON_A));
+  }
+
+  @Test
+  public void snapshotDoesNotSeeLaterWrites() {
+    CalendarStore store = new CalendarStore(Arrays.asList(EVENT_1));
+    CalendarStore.Snapshot snapshot = store.snapshot();
+
+    store.addEvent(EVENT_3);
+    store.removeEvent(1);
+
+    Assert.assertEquals(Arrays.asList(EVENT_1), snapshot.getEvents());
+    Assert.assertEquals(IntervalSet.of(600, 630), snapshot.getBusyTimeline(PERSON_A));
+    Assert.assertEquals(IntervalSet.EMPTY, snapshot.getBusyTimeline(PERSON_B));
+    Assert.assertEquals(Arrays.asList(EVENT_3), store.getEvents());
+  }
+
+  @Test
+  public void readersSeeWholeWritesUnderConcurrentLoad() throws Exception {
+    // A writer keeps adding and removing an event that both people attend, while readers check
+    // that every snapshot they take shows it for both people or for neither.
+    CalendarStore store = new CalendarStore(Arrays.asList(EVENT_1, EVENT_3));
+    AtomicBoolean done = new AtomicBoolean(false);
+    AtomicInteger tornReads = new AtomicInteger(0);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<?>> readers = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      readers.add(executor.submit(() -> {
+        while (!done.get()) {
+          CalendarStore.Snapshot snapshot = store.snapshot();
+          boolean aBusy = snapshot.getBusyTimeline(PERSON_A).contains(300);
+          boolean bBusy = snapshot.getBusyTimeline(PERSON_B).contains(300);
+          if (aBusy != bBusy || aBusy != (snapshot.size() == 3)) {
+            tornReads.incrementAndGet();
+          }
+        }
+      }));
+    }
+    for (int i = 0; i < 2000; i++) {
+      long id = store.addEvent(EVENT_2);
+      store.removeEvent(id);
+    }
+    done.set(true);
+    for (Future<?> reader : readers) {
+      reader.get(10, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    Assert.assertEquals(0, tornReads.get());
+    Assert.assertEquals(Arrays.asList(EVENT_1, EVENT_3), store.getEvents());
+  }
+
+  @Test
+  public void conflictsFollowWrites() {
+    CalendarStore store = new CalendarStore(Arrays.asList(EVENT_1));
+    Event proposed =
+        new Event("Proposed", TimeRange.WHOLE_DAY, Arrays.asList(PERSON_A, PERSON_B));
+
+    long id = store.addEvent(EVENT_2);
+    Map<String, List<Event>> expected = new TreeMap<>();
+    expected.put(PERSON_A, Arrays.asList(EVENT_2, EVENT_1));
+    expected.put(PERSON_B, Arrays.asList(EVENT_2));
+    Assert.assertEquals(expected, store.snapshot().findConflicts(proposed));
+
+    store.removeEvent(id);
+    expected.clear();
+    expected.put(PERSON_A, Arrays.asList(EVENT_1));
+    Assert.assertEquals(expected, store.snapshot().findConflicts(proposed));
+  }
+
+  @Test
+  public void eventsPastTheDayStayInStartOrder() {
+    // Starts past the day used to overflow the packed sort key and break the order.
+    Event late =
+        new Event("Late", TimeRange.fromStartDuration(3000, 30), Arrays.asList(PERSON_A));
+    CalendarStore store = new CalendarStore(Arrays.asList(EVENT_1));
+    store.addEvent(late);
+    store.addEvent(EVENT_2);
+
+    Assert.assertEquals(Arrays.asList(EVENT_2, EVENT_1, late), store.getEvents(PERSON_A));
+  }
+
+  @Test
+  public void patchedTimelinesMatchRebuiltOnes() {
+    // Each write patches the previous timeline around the minutes it changed. After every write
+    // the timeline must be the same as one built from all of the attendee's events.
+    Random random = new Random(13);
+    CalendarStore store = new CalendarStore();
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      int choice = random.nextInt(3);
+      Event event = new Event("Event " + i,
+          TimeRange.fromStartDuration(random.nextInt(1400), random.nextInt(90)),
+          Arrays.asList(PERSON_A));
+      if (choice == 0 || ids.isEmpty()) {
+        ids.add(store.addEvent(event));
+      } else if (choice == 1) {
+        Assert.assertTrue(store.updateEvent(ids.get(random.nextInt(ids.size())), event));
+      } else {
+        Assert.assertTrue(store.removeEvent(ids.remove(random.nextInt(ids.size()))));
+      }
+
+      IntervalSet.Builder rebuilt = new IntervalSet.Builder();
+      for (Event attendeeEvent : store.getEvents(PERSON_A)) {
+        rebuilt.add(attendeeEvent.getWhen());
+      }
+      Assert.assertEquals(rebuilt.build(), store.getBusyTimeline(PERSON_A));
+    }
+  }
+}
@@ -0,0 +1,81 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class EpochEventIndexTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final LocalDate JAN_1 = LocalDate.of(2020, 1, 1);
+
+  // A week-long offsite, a meeting on Jan 3 and a meeting in March.
+  private static final EpochEvent OFFSITE = new EpochEvent("Offsite",
+      EpochRange.ofDays(JAN_1, JAN_1.plusDays(6)), Arrays.asList(PERSON_A, PERSON_B));
+  private static final EpochEvent JAN_3_MEETING = EpochEvent.on(JAN_1.plusDays(2),
+      new Event("Meeting", TimeRange.fromStartDuration(600, 60), Arrays.asList(PERSON_B)));
+  private static final EpochEvent MARCH_MEETING = EpochEvent.on(LocalDate.of(2020, 3, 2),
+      new Event("Meeting", TimeRange.fromStartDuration(600, 60), Arrays.asList(PERSON_A)));
+
+  private final EpochEventIndex index =
+      new EpochEventIndex(Arrays.asList(MARCH_MEETING, JAN_3_MEETING, OFFSITE));
+
+  @Test
+  public void findsEventsOfOneAttendeeInWindow() {
+    List<EpochEvent> actual =
+        index.findEvents(PERSON_A, EpochRange.ofDays(JAN_1.plusDays(3), LocalDate.of(2020, 3, 2)));
+
+    Assert.assertEquals(Arrays.asList(OFFSITE, MARCH_MEETING), actual);
+  }
+
+  @Test
+  public void sharedEventsAreFoundOnce() {
+    List<EpochEvent> actual = index.findEvents(Arrays.asList(PERSON_A, PERSON_B, PERSON_C),
+        EpochRange.ofDays(JAN_1.plusDays(2), JAN_1.plusDays(2)));
+
+    Assert.assertEquals(Arrays.asList(OFFSITE, JAN_3_MEETING), actual);
+  }
+
+  @Test
+  public void unknownAttendeeHasNoEvents() {
+    Assert.assertEquals(Collections.emptyList(),
+        index.findEvents(PERSON_C, EpochRange.ofDays(JAN_1, LocalDate.of(2020, 12, 31))));
+  }
+
+  @Test
+  public void findsConflictsOfProposedEvent() {
+    EpochEvent proposed = EpochEvent.on(JAN_1.plusDays(2),
+        new Event("Proposed", TimeRange.fromStartDuration(630, 60),
+            Arrays.asList(PERSON_A, PERSON_B, PERSON_C)));
+
+    Map<String, List<EpochEvent>> expected = new TreeMap<>();
+    expected.put(PERSON_A, Arrays.asList(OFFSITE));
+    expected.put(PERSON_B, Arrays.asList(OFFSITE, JAN_3_MEETING));
+    Assert.assertEquals(expected, index.findConflicts(proposed));
+  }
+}
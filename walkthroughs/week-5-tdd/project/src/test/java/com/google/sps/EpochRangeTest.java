@@ -0,0 +1,88 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.LocalDate;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class EpochRangeTest {
+  private static final LocalDate JAN_1 = LocalDate.of(2020, 1, 1);
+  private static final long MINUTES_PER_DAY = EpochRange.MINUTES_PER_DAY;
+
+  @Test
+  public void rangeCanSpanSeveralDays() {
+    EpochRange week = EpochRange.ofDays(JAN_1, JAN_1.plusDays(6));
+
+    Assert.assertEquals(7 * MINUTES_PER_DAY, week.duration());
+    Assert.assertEquals(JAN_1.toEpochDay() * MINUTES_PER_DAY, week.start());
+  }
+
+  @Test
+  public void overlapsAcrossMidnight() {
+    // 23:00 on Jan 1 to 01:00 on Jan 2, and 00:30 to 02:00 on Jan 2.
+    EpochRange a = EpochRange.fromStartDuration(EpochRange.getEpochMinute(JAN_1, 23 * 60), 120);
+    EpochRange b =
+        EpochRange.fromStartDuration(EpochRange.getEpochMinute(JAN_1.plusDays(1), 30), 90);
+
+    Assert.assertTrue(a.overlaps(b));
+    Assert.assertTrue(b.overlaps(a));
+  }
+
+  @Test
+  public void touchingRangesDoNotOverlap() {
+    EpochRange a = EpochRange.fromStartEnd(100, 200, false);
+    EpochRange b = EpochRange.fromStartEnd(200, 300, false);
+
+    Assert.assertFalse(a.overlaps(b));
+    Assert.assertFalse(b.overlaps(a));
+  }
+
+  @Test
+  public void containsLikeTimeRange() {
+    EpochRange range = EpochRange.fromStartEnd(100, 200, false);
+
+    Assert.assertTrue(range.contains(100));
+    Assert.assertFalse(range.contains(200));
+    Assert.assertTrue(range.contains(range));
+    Assert.assertTrue(range.contains(EpochRange.fromStartEnd(150, 200, false)));
+    Assert.assertFalse(range.contains(EpochRange.fromStartEnd(150, 201, false)));
+    Assert.assertFalse(EpochRange.fromStartDuration(100, 0).contains(100));
+  }
+
+  @Test
+  public void convertsToAndFromTimeRange() {
+    TimeRange morning = TimeRange.fromStartDuration(480, 30);
+    EpochRange range = EpochRange.on(JAN_1, morning);
+
+    Assert.assertEquals(morning, range.toTimeRange(JAN_1));
+    Assert.assertNull(range.toTimeRange(JAN_1.plusDays(1)));
+  }
+
+  @Test
+  public void toTimeRangeIsClippedToTheDay() {
+    EpochRange overnight =
+        EpochRange.fromStartDuration(EpochRange.getEpochMinute(JAN_1, 23 * 60), 120);
+
+    Assert.assertEquals(TimeRange.fromStartEnd(23 * 60, 24 * 60, false),
+        overnight.toTimeRange(JAN_1));
+    Assert.assertEquals(TimeRange.fromStartDuration(0, 60),
+        overnight.toTimeRange(JAN_1.plusDays(1)));
+  }
+}
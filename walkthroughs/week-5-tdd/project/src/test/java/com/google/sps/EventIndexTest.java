@@ -0,0 +1,169 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class EventIndexTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final Event EVENT_1 =
+      new Event("Event 1", TimeRange.fromStartDuration(600, 30), Arrays.asList(PERSON_A));
+  private static final Event EVENT_2 =
+      new Event("Event 2", TimeRange.fromStartDuration(300, 30), Arrays.asList(PERSON_A, PERSON_B));
+  private static final Event EVENT_3 =
+      new Event("Event 3", TimeRange.fromStartDuration(450, 60), Arrays.asList(PERSON_B));
+
+  @Test
+  public void eventsAreGroupedByAttendeeAndSortedByStart() {
+    EventIndex index = new EventIndex(Arrays.asList(EVENT_1, EVENT_2, EVENT_3));
+
+    Assert.assertEquals(Arrays.asList(EVENT_2, EVENT_1), index.getEvents(PERSON_A));
+    Assert.assertEquals(Arrays.asList(EVENT_2, EVENT_3), index.getEvents(PERSON_B));
+    Assert.assertEquals(3, index.size());
+  }
+
+  @Test
+  public void unknownAttendeeHasNoEvents() {
+    EventIndex index = new EventIndex(Arrays.asList(EVENT_1, EVENT_2, EVENT_3));
+
+    Assert.assertEquals(Collections.emptyList(), index.getEvents(PERSON_C));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void eventListsAreReadOnly() {
+    EventIndex index = new EventIndex(Arrays.asList(EVENT_1));
+
+    List<Event> events = index.getEvents(PERSON_A);
+    events.add(EVENT_2);
+  }
+
+  @Test
+  public void busyTimelineMergesAttendeeEvents() {
+    Event overlapping =
+        new Event("Event 4", TimeRange.fromStartDuration(480, 60), Arrays.asList(PERSON_B));
+    EventIndex index = new EventIndex(Arrays.asList(EVENT_1, EVENT_2, EVENT_3, overlapping));
+
+    IntervalSet expected = new IntervalSet.Builder().add(300, 330).add(450, 540).build();
+    Assert.assertEquals(expected, index.getBusyTimeline(PERSON_B));
+    Assert.assertSame(index.getBusyTimeline(PERSON_B), index.getBusyTimeline(PERSON_B));
+    Assert.assertEquals(IntervalSet.EMPTY, index.getBusyTimeline(PERSON_C));
+  }
+
+  @Test
+  public void findEventsByAttendeeAndWindow() {
+    EventIndex index = new EventIndex(Arrays.asList(EVENT_1, EVENT_2, EVENT_3));
+
+    // Event 2 is shared by both people but only returned once.
+    Assert.assertEquals(Arrays.asList(EVENT_2, EVENT_3, EVENT_1),
+        index.findEvents(Arrays.asList(PERSON_A, PERSON_B), null));
+    TimeRange window = TimeRange.fromStartEnd(320, 460, false);
+    Assert.assertEquals(Arrays.asList(EVENT_2, EVENT_3),
+        index.findEvents(Arrays.asList(PERSON_A, PERSON_B), window));
+    Assert.assertEquals(Arrays.asList(EVENT_3, EVENT_1),
+        index.findEvents(null, TimeRange.fromStartEnd(500, 700, false)));
+    Assert.assertEquals(Collections.emptyList(),
+        index.findEvents(Arrays.asList(PERSON_C), null));
+  }
+
+  @Test
+  public void findEventsKeepsIdenticalEvents() {
+    // Two separate events with the same title, time and attendees are both returned, whether or
+    // not the attendees are given.
+    Event copy = new Event("Event 1", EVENT_1.getWhen(), EVENT_1.getAttendees());
+    EventIndex index = new EventIndex(Arrays.asList(EVENT_1, copy));
+
+    Assert.assertEquals(2, index.findEvents(null, null).size());
+    Assert.assertEquals(2, index.findEvents(Arrays.asList(PERSON_A), null).size());
+    Assert.assertEquals(2, index.findEvents(Arrays.asList(PERSON_A, PERSON_A), null).size());
+  }
+
+  @Test
+  public void zeroLengthWindowFindsEventsContainingIt() {
+    EventIndex index = new EventIndex(Arrays.asList(EVENT_1, EVENT_2, EVENT_3));
+    TimeRange window = TimeRange.fromStartDuration(600, 0);
+
+    // Event 1 starts at the window, so the window falls inside it.
+    Assert.assertEquals(Arrays.asList(EVENT_1), index.findEvents(Arrays.asList(PERSON_A), window));
+    Assert.assertEquals(Arrays.asList(EVENT_1), index.findEvents(null, window));
+  }
+
+  @Test
+  public void findEventsOfOneAttendeeInWindow() {
+    EventIndex index = new EventIndex(Arrays.asList(EVENT_1, EVENT_2, EVENT_3));
+
+    Assert.assertEquals(Arrays.asList(EVENT_2, EVENT_1),
+        index.findAttendeeEvents(PERSON_A, TimeRange.fromStartEnd(320, 610, false)));
+    // Events that end where the window starts, or start where it ends, don't overlap it.
+    Assert.assertEquals(Collections.emptyList(),
+        index.findAttendeeEvents(PERSON_A, TimeRange.fromStartEnd(330, 600, false)));
+    // A window with no duration finds the events it falls inside.
+    Assert.assertEquals(Arrays.asList(EVENT_1),
+        index.findAttendeeEvents(PERSON_A, TimeRange.fromStartDuration(600, 0)));
+    Assert.assertEquals(Collections.emptyList(),
+        index.findAttendeeEvents(PERSON_C, TimeRange.WHOLE_DAY));
+  }
+
+  @Test
+  public void findConflictsOfProposedEvent() {
+    EventIndex index = new EventIndex(Arrays.asList(EVENT_1, EVENT_2, EVENT_3));
+    Event proposed = new Event("Proposed", TimeRange.fromStartEnd(310, 460, false),
+        Arrays.asList(PERSON_A, PERSON_B, PERSON_C));
+
+    Map<String, List<Event>> expected = new TreeMap<>();
+    expected.put(PERSON_A, Arrays.asList(EVENT_2));
+    expected.put(PERSON_B, Arrays.asList(EVENT_2, EVENT_3));
+    Assert.assertEquals(expected, index.findConflicts(proposed));
+  }
+
+  @Test
+  public void findEventsMatchesScan() {
+    Random random = new Random(1);
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      int start = random.nextInt(1440);
+      TimeRange when = TimeRange.fromStartDuration(start, random.nextInt(1440 - start + 1));
+      events.add(new Event("Event " + i, when, Arrays.asList(PERSON_A)));
+    }
+    EventIndex index = new EventIndex(events);
+
+    for (int i = 0; i < 200; i++) {
+      int start = random.nextInt(1440);
+      TimeRange window = TimeRange.fromStartDuration(start, random.nextInt(120));
+      List<Event> expected = new ArrayList<>();
+      for (Event event : index.getEvents(PERSON_A)) {
+        if (window.overlaps(event.getWhen())) {
+          expected.add(event);
+        }
+      }
+      Assert.assertEquals(expected.size(), index.findAttendeeEvents(PERSON_A, window).size());
+      Assert.assertTrue(expected.containsAll(index.findAttendeeEvents(PERSON_A, window)));
+    }
+  }
+}
@@ -0,0 +1,84 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class EventSortTest {
+  private static final List<String> ATTENDEES = Arrays.asList("Person A");
+
+  private static List<Event> randomEvents(int count, int maxStart) {
+    Random random = new Random(42);
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      events.add(new Event("Event " + i,
+          TimeRange.fromStartDuration(random.nextInt(maxStart + 1), 30), ATTENDEES));
+    }
+    return events;
+  }
+
+  private static void assertSortsLikeListSort(List<Event> events) {
+    List<Event> expected = new ArrayList<>(events);
+    expected.sort(EventIndex.ORDER_BY_START);
+
+    List<Event> actual = new ArrayList<>(events);
+    EventSort.countingSortByStart(actual);
+    Assert.assertEquals(expected, actual);
+
+    actual = new ArrayList<>(events);
+    EventSort.sortByStart(actual);
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void sortsShortLists() {
+    assertSortsLikeListSort(randomEvents(10, TimeRange.END_OF_DAY));
+  }
+
+  @Test
+  public void sortsLongListsStably() {
+    // Only 60 different starts, so many events share a start and must keep their order.
+    assertSortsLikeListSort(randomEvents(5000, 59));
+  }
+
+  @Test
+  public void sortsEventsAtTheEndOfTheDay() {
+    List<Event> events = randomEvents(EventSort.COUNTING_SORT_THRESHOLD, TimeRange.END_OF_DAY);
+    events.add(new Event("Last", TimeRange.fromStartDuration(TimeRange.WHOLE_DAY.end(), 0),
+        ATTENDEES));
+    Collections.reverse(events);
+
+    assertSortsLikeListSort(events);
+  }
+
+  @Test
+  public void startsOutsideTheDayFallBackToListSort() {
+    List<Event> events = randomEvents(EventSort.COUNTING_SORT_THRESHOLD * 2, TimeRange.END_OF_DAY);
+    events.add(new Event("Before", TimeRange.fromStartDuration(-30, 30), ATTENDEES));
+    events.add(new Event("After", TimeRange.fromStartDuration(2000, 30), ATTENDEES));
+
+    assertSortsLikeListSort(events);
+  }
+}
@@ -0,0 +1,114 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class EventTreeTest {
+  private static final List<String> ATTENDEES = Arrays.asList("Person A");
+
+  private static Event event(int start, int duration) {
+    return new Event("Event", TimeRange.fromStartDuration(start, duration), ATTENDEES);
+  }
+
+  @Test
+  public void eventsAreSortedByStartThenId() {
+    Event early = event(300, 30);
+    Event late = event(600, 30);
+    Event sameStart = event(300, 60);
+    EventTree tree = EventTree.EMPTY.insert(2, late).insert(3, sameStart).insert(1, early);
+
+    Assert.assertEquals(Arrays.asList(early, sameStart, late), tree.toList());
+    Assert.assertEquals(3, tree.size());
+  }
+
+  @Test
+  public void changesDoNotChangeTheOriginal() {
+    Event first = event(300, 30);
+    Event second = event(600, 30);
+    EventTree before = EventTree.EMPTY.insert(1, first).insert(2, second);
+    EventTree after = before.remove(1, first);
+
+    Assert.assertEquals(Arrays.asList(first, second), before.toList());
+    Assert.assertEquals(Arrays.asList(second), after.toList());
+    Assert.assertSame(after, after.remove(1, first));
+    Assert.assertTrue(after.remove(2, second).isEmpty());
+  }
+
+  @Test
+  public void zeroLengthWindowsAndEventsOverlapWhatTheyFallInside() {
+    Event meeting = event(600, 30);
+    Event point = event(700, 0);
+    EventTree tree = EventTree.EMPTY.insert(1, meeting).insert(2, point);
+
+    Assert.assertEquals(Arrays.asList(meeting),
+        tree.findOverlapping(TimeRange.fromStartDuration(600, 0)));
+    Assert.assertEquals(Collections.emptyList(),
+        tree.findOverlapping(TimeRange.fromStartDuration(630, 0)));
+    Assert.assertEquals(Arrays.asList(point),
+        tree.findOverlapping(TimeRange.fromStartEnd(700, 710, false)));
+    Assert.assertEquals(Collections.emptyList(),
+        tree.findOverlapping(TimeRange.fromStartDuration(700, 0)));
+  }
+
+  @Test
+  public void matchesScanUnderRandomChanges() {
+    Random random = new Random(1);
+    List<Event> expected = new ArrayList<>();
+    List<Long> ids = new ArrayList<>();
+    EventTree tree = EventTree.EMPTY;
+    for (long id = 0; id < 2000; id++) {
+      if (!expected.isEmpty() && random.nextInt(3) == 0) {
+        int i = random.nextInt(expected.size());
+        tree = tree.remove(ids.remove(i), expected.remove(i));
+      } else {
+        int start = random.nextInt(1440);
+        Event event = event(start, random.nextInt(Math.min(120, 1440 - start) + 1));
+        tree = tree.insert(id, event);
+        expected.add(event);
+        ids.add(id);
+      }
+
+      if (id % 100 == 0) {
+        Assert.assertEquals(expected.size(), tree.size());
+        for (int j = 0; j < 20; j++) {
+          int start = random.nextInt(1440);
+          TimeRange window = TimeRange.fromStartDuration(start, random.nextInt(60));
+          List<Event> overlapping = new ArrayList<>();
+          for (Event event : tree.toList()) {
+            if (window.overlaps(event.getWhen())) {
+              overlapping.add(event);
+            }
+          }
+          Assert.assertEquals(overlapping, tree.findOverlapping(window));
+        }
+      }
+    }
+    // Insertion order breaks ties in start, so sorting a stable copy by start gives the order.
+    List<Event> sorted = new ArrayList<>(expected);
+    sorted.sort(EventIndex.ORDER_BY_START);
+    Assert.assertEquals(sorted, tree.toList());
+  }
+}
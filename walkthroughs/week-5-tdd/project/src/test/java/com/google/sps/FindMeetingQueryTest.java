@@ -14,6 +14,7 @@
 
 package com.google.sps;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -23,10 +24,11 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.junit.runners.JUnit4;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
 
-/** */
-@RunWith(JUnit4.class)
+/** Runs every test against each of the {@code FindMeetingQuery} engines. */
+@RunWith(Parameterized.class)
 public final class FindMeetingQueryTest {
   private static final Collection<Event> NO_EVENTS = Collections.emptySet();
   private static final Collection<String> NO_ATTENDEES = Collections.emptySet();
@@ -35,6 +37,7 @@ public final class FindMeetingQueryTest {
   private static final String PERSON_A = "Person A";
   private static final String PERSON_B = "Person B";
   private static final String PERSON_C = "Person C";
+  private static final String PERSON_D = "Person D";
 
   // All dates are the first day of the year 2020.
   private static final int TIME_0800AM = TimeRange.getTimeInMinutes(8, 0);
@@ -52,11 +55,25 @@ public final class FindMeetingQueryTest {
   private static final int DURATION_1_HOUR = 60;
   private static final int DURATION_2_HOUR = 120;
 
+  @Parameters(name = "{0}")
+  public static Collection<Object[]> engines() {
+    Collection<Object[]> engines = new ArrayList<>();
+    for (FindMeetingQuery.Engine engine : FindMeetingQuery.Engine.values()) {
+      engines.add(new Object[] {engine});
+    }
+    return engines;
+  }
+
+  private final FindMeetingQuery.Engine engine;
   private FindMeetingQuery query;
 
+  public FindMeetingQueryTest(FindMeetingQuery.Engine engine) {
+    this.engine = engine;
+  }
+
   @Before
   public void setUp() {
-    query = new FindMeetingQuery();
+    query = new FindMeetingQuery(engine);
   }
 
   @Test
@@ -413,4 +430,470 @@ public final class FindMeetingQueryTest {
 
     Assert.assertEquals(expected, actual);
   }
+
+  @Test
+  public void optionalEventMergedWithMandatoryEventIsIgnoredInFallback() {
+    // The optional attendee's event overlaps a mandatory event, so in the timeline of everyone
+    // they merge into one block. The fallback must still see the mandatory attendee's free time.
+    //
+    // Events  : |--A--|    |--B--|
+    //                         |-------A-------|
+    // Day     : |-----------------------------|
+    // Options :       |------|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_0830AM, TIME_0930AM, false),
+            Arrays.asList(PERSON_B)),
+        new Event("Event 3", TimeRange.fromStartEnd(TIME_0900AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_A)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_60_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+
+    Collection<TimeRange> actual = query.query(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TIME_0800AM, TIME_0900AM, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void maximizeOptionalAttendancePicksTimeMostCanMake() {
+    // No time fits every optional attendee. Person B and Person C are busy in the morning and
+    // Person D in the afternoon, so the afternoon loses fewer optional attendees.
+    //
+    // Events  : |--B--|
+    //           |--C--|
+    //                 |-----------D-----------|
+    // Day     : |-----------------------------|
+    // Options :       |-----------------------|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            Arrays.asList(PERSON_B, PERSON_C)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_0900AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_D)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_60_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+    request.addOptionalAttendee(PERSON_C);
+    request.addOptionalAttendee(PERSON_D);
+    request.setMaximizeOptionalAttendance(true);
+
+    Collection<TimeRange> actual = query.query(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TIME_0900AM, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void maximizeOptionalAttendanceRespectsMandatoryAttendees() {
+    // Optional attendees are only scored at times the mandatory attendee is free.
+    //
+    // Events  : |--A--||-C-||-B-|
+    // Day     : |---------------------|
+    // Options :                 |-----|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false),
+            Arrays.asList(PERSON_B)),
+        new Event("Event 3", TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false),
+            Arrays.asList(PERSON_C)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_60_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+    request.addOptionalAttendee(PERSON_C);
+    request.setMaximizeOptionalAttendance(true);
+
+    // Only Person C is busy from 9:00 to 10:00 and only Person B from 10:00 to 11:00, so a meeting
+    // starting at 9:00 or 10:00 is missed by one of them, and any time after 11:00 is missed by
+    // nobody.
+    Collection<TimeRange> actual = query.query(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TIME_1100AM, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void maximizeOptionalAttendanceWithManyOptionalAttendees() {
+    // 150 optional attendees, each busy for one hour. Attendee i is busy from minute i. The only
+    // times everyone can make are before the first hour starts and after the last one ends.
+    int optionalCount = 150;
+    List<Event> events = new ArrayList<>();
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    for (int i = 0; i < optionalCount; i++) {
+      String person = "Optional " + i;
+      events.add(new Event("Event " + i, TimeRange.fromStartDuration(TIME_0800AM + i, 60),
+          Arrays.asList(person)));
+      request.addOptionalAttendee(person);
+    }
+    request.setMaximizeOptionalAttendance(true);
+
+    Collection<TimeRange> actual = query.query(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            TimeRange.fromStartEnd(TIME_0800AM + optionalCount - 1 + 60, TimeRange.END_OF_DAY,
+                true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void resultLimitReturnsEarliestTimes() {
+    // Events  :       |--A--|     |--B--|
+    // Day     : |-----------------------------|
+    // Options : |--1--|     |--2--|     |--3--|
+    //
+    // Only the first two options are wanted.
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartDuration(TIME_0800AM, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartDuration(TIME_0900AM, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_B)));
+
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_30_MINUTES);
+    request.setResultLimit(2);
+
+    Collection<TimeRange> actual = query.query(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            TimeRange.fromStartEnd(TIME_0830AM, TIME_0900AM, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void notBeforeCutsShortEarlierTimes() {
+    // Events  :       |--A--|
+    // Day     : |---------------------|
+    // Options :          |--2--|
+    //
+    // The free time before A starts too early, and the free time after it is cut short to start
+    // at 9:00. Only the first option is wanted.
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0800AM, TIME_0830AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false),
+            Arrays.asList(PERSON_A)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.setNotBefore(TIME_0900AM);
+    request.setResultLimit(1);
+
+    Collection<TimeRange> actual = query.query(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void notBeforeInsideBusyTime() {
+    // The meeting can't start before 8:15, in the middle of A's event. The first option is when
+    // the event ends.
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0800AM, TIME_0830AM, false),
+            Arrays.asList(PERSON_A)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.setNotBefore(TimeRange.getTimeInMinutes(8, 15));
+
+    Collection<TimeRange> actual = query.query(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TIME_0830AM, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void resultLimitAppliesToMandatoryFallback() {
+    // Optional attendee B is busy all day, so the times come from the mandatory attendee A alone.
+    //
+    // Events  :       |--A--|     |--A--|
+    // Optional: |--------------B--------------|
+    // Options : |--1--|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartDuration(TIME_0800AM, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartDuration(TIME_0900AM, DURATION_30_MINUTES),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 3", TimeRange.WHOLE_DAY, Arrays.asList(PERSON_B)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+    request.setResultLimit(1);
+
+    Collection<TimeRange> actual = query.query(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void maximizeOptionalAttendanceWithNotBeforeAndLimit() {
+    // Optional attendee B is busy from 10:00 to 11:00. Nobody is busy before or after, but the
+    // meeting can't start before 9:00 and only the first option is wanted.
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false),
+            Arrays.asList(PERSON_B)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+    request.setMaximizeOptionalAttendance(true);
+    request.setNotBefore(TIME_0900AM);
+    request.setResultLimit(1);
+
+    Collection<TimeRange> actual = query.query(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TIME_0900AM, TIME_1000AM, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void minAttendanceLetsSomeAttendeesMiss() {
+    // Two of the three attendees must be free. A meeting can start at any time except while both
+    // A and B would miss it.
+    //
+    // Events  :       |--A--|
+    //                    |--B--|
+    // Day     : |---------------------------|
+    // Options : |--1--------|  |------2-----|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0800AM, TIME_0900AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_0830AM, TIME_0930AM, false),
+            Arrays.asList(PERSON_B)));
+
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B, PERSON_C), DURATION_30_MINUTES);
+    request.setMinAttendance(2);
+
+    Collection<TimeRange> actual = query.query(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0830AM, false),
+            TimeRange.fromStartEnd(TIME_0900AM, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void minAttendanceAboveAttendeeCount() {
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_30_MINUTES);
+    request.setMinAttendance(3);
+
+    Collection<TimeRange> actual = query.query(NO_EVENTS, request);
+
+    Assert.assertEquals(Arrays.asList(), actual);
+  }
+
+  @Test
+  public void minAttendanceConsidersOptionalAttendees() {
+    // A is busy all day, so only B can make up the quorum of one. The times optional attendee C
+    // can make are returned.
+    //
+    // Events  : |--------------A--------------|
+    // Optional:       |--C--|
+    // Options : |--1--|     |-------2---------|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.WHOLE_DAY, Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_0800AM, TIME_0900AM, false),
+            Arrays.asList(PERSON_C)));
+
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_C);
+    request.setMinAttendance(1);
+
+    Collection<TimeRange> actual = query.query(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            TimeRange.fromStartEnd(TIME_0900AM, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void minAttendanceWithoutAQuorum() {
+    // Both attendees are busy at different times, but both must come. Requiring a quorum of
+    // both gives the same times as requiring everyone.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0800AM, TIME_0900AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false),
+            Arrays.asList(PERSON_B)));
+
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_60_MINUTES);
+    MeetingRequest quorumRequest =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_60_MINUTES);
+    quorumRequest.setMinAttendance(2);
+
+    Assert.assertEquals(query.query(events, request), query.query(events, quorumRequest));
+  }
+
+  @Test
+  public void minAttendanceWithMaximizedOptionalAttendance() {
+    // Every time misses one of the optional attendees C and D, except the meetings that would
+    // run past noon, which miss both.
+    //
+    // Optional: |------C------|
+    //                         |------D------|
+    // Options : |-----1-------|------2------|
+
+    int noon = TimeRange.getTimeInMinutes(12, 0);
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, noon, false),
+            Arrays.asList(PERSON_C)),
+        new Event("Event 2", TimeRange.fromStartEnd(noon, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_D)));
+
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_C);
+    request.addOptionalAttendee(PERSON_D);
+    request.setMaximizeOptionalAttendance(true);
+    request.setMinAttendance(1);
+
+    Collection<TimeRange> actual = query.query(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, noon, false),
+            TimeRange.fromStartEnd(noon, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void paddingNeedsFreeTimeAroundTheMeeting() {
+    // A needs 15 minutes free before the meeting and 30 after it.
+    //
+    // Events  :       |--A--|           |--A--|
+    // Day     : |-------------------------------|
+    // Options : |-1-|         |---2---|         |-3-|
+
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TIME_0800AM, TIME_0830AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1000AM, TIME_1100AM, false),
+            Arrays.asList(PERSON_A)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.setPaddingBefore(DURATION_15_MINUTES);
+    request.setPaddingAfter(DURATION_30_MINUTES);
+
+    Collection<TimeRange> actual = query.query(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM - 30, false),
+            TimeRange.fromStartEnd(TIME_0845AM, TIME_0930AM, false),
+            TimeRange.fromStartEnd(TIME_1100AM + 15, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void paddingCanCloseAGap() {
+    // The 60 minute gap between A's events fits the meeting, but not with 10 minutes of padding.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            Arrays.asList(PERSON_A)),
+        new Event("Event 2", TimeRange.fromStartEnd(TIME_1000AM, TimeRange.END_OF_DAY, true),
+            Arrays.asList(PERSON_B)));
+
+    MeetingRequest request =
+        new MeetingRequest(Arrays.asList(PERSON_A, PERSON_B), DURATION_60_MINUTES);
+    request.setPaddingBefore(10);
+    request.setPaddingAfter(10);
+
+    Collection<TimeRange> actual = query.query(events, request);
+
+    Assert.assertEquals(Arrays.asList(), actual);
+  }
+
+  @Test
+  public void paddingAppliesToOptionalAttendees() {
+    // Optional attendee B needs the padding too, so the first option only fits A, and with
+    // maximized attendance the times B can make are the ones after B's padding.
+    Collection<Event> events = Arrays.asList(
+        new Event("Event 1", TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0900AM, false),
+            Arrays.asList(PERSON_B)));
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+    request.addOptionalAttendee(PERSON_B);
+    request.setPaddingBefore(DURATION_30_MINUTES);
+    request.setMaximizeOptionalAttendance(true);
+
+    Collection<TimeRange> actual = query.query(events, request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TIME_0930AM, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void recurringMeetingIsFreeOnEveryDay() {
+    // A is busy at a different time on each of three days. Only the times free on all three days
+    // are options.
+    //
+    // Day 1   :       |-A-|
+    // Day 2   :             |-A-|
+    // Day 3   :       |-A-|
+    // Options : |--1--|         |-----2-----|
+
+    LocalDate day1 = LocalDate.of(2020, 1, 1);
+    MultiDayCalendar calendar = new MultiDayCalendar.Builder()
+        .add(day1, new Event("Event 1", TimeRange.fromStartEnd(TIME_0800AM, TIME_0830AM, false),
+            Arrays.asList(PERSON_A)))
+        .add(day1.plusDays(1), new Event("Event 2",
+            TimeRange.fromStartEnd(TIME_0900AM, TIME_0930AM, false), Arrays.asList(PERSON_A)))
+        .add(day1.plusDays(2), new Event("Event 3",
+            TimeRange.fromStartEnd(TIME_0800AM, TIME_0830AM, false), Arrays.asList(PERSON_A)))
+        .build();
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_30_MINUTES);
+
+    Collection<TimeRange> actual = query.query(calendar, Recurrence.daily(day1, 3), request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            TimeRange.fromStartEnd(TIME_0830AM, TIME_0900AM, false),
+            TimeRange.fromStartEnd(TIME_0930AM, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void recurringMeetingIgnoresDaysOutsideRecurrence() {
+    // A is busy all day on Saturday, which isn't a weekday.
+    LocalDate monday = LocalDate.of(2020, 1, 6);
+    MultiDayCalendar calendar = new MultiDayCalendar.Builder()
+        .add(monday, new Event("Event 1",
+            TimeRange.fromStartEnd(TIME_0800AM, TIME_0900AM, false), Arrays.asList(PERSON_A)))
+        .add(monday.plusDays(5), new Event("Event 2", TimeRange.WHOLE_DAY,
+            Arrays.asList(PERSON_A)))
+        .build();
+
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_60_MINUTES);
+
+    Collection<TimeRange> actual = query.query(calendar, Recurrence.weekdays(monday, 12), request);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(TimeRange.START_OF_DAY, TIME_0800AM, false),
+            TimeRange.fromStartEnd(TIME_0900AM, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
 }
@@ -0,0 +1,41 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class ForEachTaskTest {
+  @Test
+  public void runsEveryIndexOnce() {
+    AtomicIntegerArray runs = new AtomicIntegerArray(1000);
+    ForEachTask.forEach(new ForkJoinPool(4), runs.length(), 7, runs::incrementAndGet);
+
+    for (int i = 0; i < runs.length(); i++) {
+      Assert.assertEquals(1, runs.get(i));
+    }
+  }
+
+  @Test
+  public void emptyRangeRunsNothing() {
+    ForEachTask.forEach(new ForkJoinPool(1), 0, 7, (int i) -> Assert.fail());
+  }
+}
@@ -0,0 +1,144 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class IntervalSetTest {
+  private static final int END_OF_DAY = TimeRange.WHOLE_DAY.end();
+
+  private static IntervalSet set(int... bounds) {
+    IntervalSet.Builder builder = new IntervalSet.Builder();
+    for (int i = 0; i < bounds.length; i += 2) {
+      builder.add(bounds[i], bounds[i + 1]);
+    }
+    return builder.build();
+  }
+
+  @Test
+  public void builderMergesOverlappingAndTouchingIntervals() {
+    IntervalSet actual = new IntervalSet.Builder()
+        .add(100, 200).add(150, 180).add(200, 250).add(300, 400).build();
+
+    Assert.assertEquals(set(100, 250, 300, 400), actual);
+  }
+
+  @Test
+  public void builderIgnoresEmptyIntervals() {
+    Assert.assertEquals(IntervalSet.EMPTY, new IntervalSet.Builder().add(100, 100).build());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void builderRejectsOutOfOrderIntervals() {
+    new IntervalSet.Builder().add(300, 400).add(100, 200);
+  }
+
+  @Test
+  public void union() {
+    IntervalSet a = set(0, 100, 500, 600);
+    IntervalSet b = set(50, 150, 300, 400, 600, 700);
+
+    Assert.assertEquals(set(0, 150, 300, 400, 500, 700), a.union(b));
+    Assert.assertEquals(a, a.union(IntervalSet.EMPTY));
+  }
+
+  @Test
+  public void intersect() {
+    IntervalSet a = set(0, 100, 200, 400);
+    IntervalSet b = set(50, 250, 300, 350);
+
+    Assert.assertEquals(set(50, 100, 200, 250, 300, 350), a.intersect(b));
+    Assert.assertEquals(IntervalSet.EMPTY, a.intersect(IntervalSet.EMPTY));
+  }
+
+  @Test
+  public void subtract() {
+    IntervalSet a = set(0, 100, 200, 400);
+    IntervalSet b = set(50, 250, 300, 350);
+
+    Assert.assertEquals(set(0, 50, 250, 300, 350, 400), a.subtract(b));
+    Assert.assertEquals(IntervalSet.EMPTY, b.subtract(set(0, 1000)));
+  }
+
+  @Test
+  public void complementWithinDay() {
+    Assert.assertEquals(set(0, 100, 200, END_OF_DAY), set(100, 200).complement());
+    Assert.assertEquals(set(0, END_OF_DAY), IntervalSet.EMPTY.complement());
+    Assert.assertEquals(IntervalSet.EMPTY, set(0, END_OF_DAY).complement());
+  }
+
+  @Test
+  public void gapsOfAtLeast() {
+    IntervalSet busy = set(0, 100, 120, 500, 560, 1400);
+
+    Assert.assertEquals(set(500, 560, 1400, END_OF_DAY), busy.findGaps(30));
+    Assert.assertEquals(set(500, 560), busy.findGaps(45));
+  }
+
+  @Test
+  public void contains() {
+    IntervalSet a = set(100, 200, 300, 400);
+
+    Assert.assertFalse(a.contains(99));
+    Assert.assertTrue(a.contains(100));
+    Assert.assertFalse(a.contains(200));
+    Assert.assertTrue(a.contains(399));
+    Assert.assertFalse(a.contains(400));
+  }
+
+  @Test
+  public void toTimeRanges() {
+    Assert.assertEquals(Arrays.asList(TimeRange.fromStartEnd(100, 200, false),
+        TimeRange.fromStartEnd(300, TimeRange.END_OF_DAY, true)),
+        set(100, 200, 300, END_OF_DAY).toTimeRanges());
+  }
+
+  @Test
+  public void indexOfFirstEndAfter() {
+    IntervalSet a = set(100, 200, 300, 400);
+
+    Assert.assertEquals(0, a.indexOfFirstEndAfter(0));
+    Assert.assertEquals(0, a.indexOfFirstEndAfter(199));
+    Assert.assertEquals(1, a.indexOfFirstEndAfter(200));
+    Assert.assertEquals(1, a.indexOfFirstEndAfter(250));
+    Assert.assertEquals(2, a.indexOfFirstEndAfter(400));
+    Assert.assertEquals(0, IntervalSet.EMPTY.indexOfFirstEndAfter(100));
+  }
+
+  @Test
+  public void dilateWidensAndMergesIntervals() {
+    IntervalSet a = set(100, 200, 230, 300, 500, 600);
+
+    Assert.assertEquals(set(90, 320, 490, 620), a.dilate(10, 20));
+    Assert.assertSame(a, a.dilate(0, 0));
+  }
+
+  @Test
+  public void dilateIsClippedToTheDay() {
+    Assert.assertEquals(set(0, 40, 1400, END_OF_DAY), set(10, 20, 1420, 1430).dilate(20, 20));
+    Assert.assertEquals(set(0, END_OF_DAY), set(10, 20).dilate(10000, 10000));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void dilateRejectsNegativePadding() {
+    set(100, 200).dilate(-1, 0);
+  }
+}
@@ -0,0 +1,104 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class IntervalTreeTest {
+  private static IntervalTree<String> tree(long... startsAndEnds) {
+    IntervalTree.Builder<String> builder = new IntervalTree.Builder<>();
+    for (int i = 0; i < startsAndEnds.length; i += 2) {
+      builder.add(EpochRange.fromStartEnd(startsAndEnds[i], startsAndEnds[i + 1], false),
+          "[" + startsAndEnds[i] + ", " + startsAndEnds[i + 1] + ")");
+    }
+    return builder.build();
+  }
+
+  @Test
+  public void emptyTreeFindsNothing() {
+    IntervalTree<String> tree = new IntervalTree.Builder<String>().build();
+
+    Assert.assertEquals(Collections.emptyList(),
+        tree.findOverlapping(EpochRange.fromStartEnd(0, 100, false)));
+  }
+
+  @Test
+  public void findsOverlappingInOrderOfStart() {
+    IntervalTree<String> tree = tree(500, 600, 0, 1000, 100, 200, 150, 300, 700, 800);
+
+    List<String> actual = tree.findOverlapping(EpochRange.fromStartEnd(180, 520, false));
+    List<String> expected = Arrays.asList("[0, 1000)", "[100, 200)", "[150, 300)", "[500, 600)");
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void touchingIntervalsDoNotOverlap() {
+    IntervalTree<String> tree = tree(100, 200, 300, 400);
+
+    Assert.assertEquals(Collections.emptyList(),
+        tree.findOverlapping(EpochRange.fromStartEnd(200, 300, false)));
+  }
+
+  @Test
+  public void pointsOverlapLikeEpochRange() {
+    // A window with no duration finds the intervals that contain it, and an interval with no
+    // duration is found by the windows that contain it.
+    IntervalTree<String> tree = tree(100, 200, 150, 150);
+
+    Assert.assertEquals(Arrays.asList("[100, 200)"),
+        tree.findOverlapping(EpochRange.fromStartDuration(120, 0)));
+    Assert.assertEquals(Arrays.asList("[100, 200)", "[150, 150)"),
+        tree.findOverlapping(EpochRange.fromStartEnd(140, 160, false)));
+  }
+
+  @Test
+  public void matchesLinearScan() {
+    Random random = new Random(42);
+    List<EpochRange> ranges = new ArrayList<>();
+    IntervalTree.Builder<EpochRange> builder = new IntervalTree.Builder<>();
+    for (int i = 0; i < 2000; i++) {
+      EpochRange range =
+          EpochRange.fromStartDuration(random.nextInt(100000), random.nextInt(500));
+      ranges.add(range);
+      builder.add(range, range);
+    }
+    IntervalTree<EpochRange> tree = builder.build();
+    ranges.sort(EpochRange.ORDER_BY_START);
+
+    for (int i = 0; i < 200; i++) {
+      EpochRange window =
+          EpochRange.fromStartDuration(random.nextInt(100000), random.nextInt(2000));
+      List<EpochRange> expected = new ArrayList<>();
+      for (EpochRange range : ranges) {
+        if (range.overlaps(window)) {
+          expected.add(range);
+        }
+      }
+
+      Assert.assertEquals(expected, tree.findOverlapping(window));
+    }
+  }
+}
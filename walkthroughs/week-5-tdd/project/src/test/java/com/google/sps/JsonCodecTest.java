@@ -0,0 +1,248 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.MalformedJsonException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class JsonCodecTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final TimeRange TIME_0830_0900 = TimeRange.fromStartDuration(510, 30);
+  private static final TimeRange TIME_1000_1100 = TimeRange.fromStartDuration(600, 60);
+
+  private static final Event EVENT =
+      new Event("Event 1", TIME_0830_0900, Arrays.asList(PERSON_B, PERSON_A));
+
+  // The attendees are written in order of their IDs, which depends on which test ran first.
+  private static final String EVENT_JSON = "{\"title\":\"Event 1\",\"when\":{\"start\":510,"
+      + "\"duration\":30},\"attendees\":" + new Gson().toJson(new ArrayList<>(EVENT.getAttendees()))
+      + "}";
+
+  // Gson without the adapters, which is how the types were encoded before.
+  private final Gson reflective = new Gson();
+
+  @Test
+  public void encodesLikeReflection() {
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), 30);
+    request.addOptionalAttendee(PERSON_B);
+    request.setMaximizeOptionalAttendance(true);
+
+    Assert.assertEquals(reflective.toJson(TIME_0830_0900), JsonCodec.GSON.toJson(TIME_0830_0900));
+    // Events hold their attendees' IDs rather than names, so every Gson writes them with the codec.
+    Assert.assertEquals(EVENT_JSON, JsonCodec.GSON.toJson(EVENT));
+    Assert.assertEquals(reflective.toJson(request), JsonCodec.GSON.toJson(request));
+  }
+
+  @Test
+  public void eventRoundTrips() {
+    Event actual = JsonCodec.GSON.fromJson(JsonCodec.GSON.toJson(EVENT), Event.class);
+
+    Assert.assertEquals(EVENT, actual);
+    Assert.assertEquals("Event 1", actual.getTitle());
+    Assert.assertEquals(TIME_0830_0900, actual.getWhen());
+  }
+
+  @Test
+  public void meetingRequestRoundTrips() {
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), 45);
+    request.addOptionalAttendee(PERSON_B);
+    request.setMaximizeOptionalAttendance(true);
+    request.setMinAttendance(1);
+
+    MeetingRequest actual =
+        JsonCodec.GSON.fromJson(JsonCodec.GSON.toJson(request), MeetingRequest.class);
+
+    Assert.assertEquals(Arrays.asList(PERSON_A), new ArrayList<>(actual.getAttendees()));
+    Assert.assertEquals(Arrays.asList(PERSON_B), new ArrayList<>(actual.getOptionalAttendees()));
+    Assert.assertEquals(45, actual.getDuration());
+    Assert.assertTrue(actual.shouldMaximizeOptionalAttendance());
+    Assert.assertEquals(1, actual.getMinAttendance());
+  }
+
+  @Test
+  public void missingFieldsOfMeetingRequestAreEmpty() {
+    MeetingRequest actual =
+        JsonCodec.GSON.fromJson("{\"duration\": 30, \"notes\": [1]}", MeetingRequest.class);
+
+    Assert.assertTrue(actual.getAttendees().isEmpty());
+    Assert.assertTrue(actual.getOptionalAttendees().isEmpty());
+    Assert.assertEquals(30, actual.getDuration());
+    Assert.assertFalse(actual.shouldMaximizeOptionalAttendance());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void maximizingRequestWithoutDurationIsRejected() {
+    // A missing duration reads as zero, which used to send the sweep past the end of the day.
+    JsonCodec.GSON.fromJson(
+        "{\"optional_attendees\": [\"Person A\"], \"maximize_optional_attendance\": true}",
+        MeetingRequest.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void quorumRequestWithoutDurationIsRejected() {
+    JsonCodec.GSON.fromJson(
+        "{\"attendees\": [\"Person A\", \"Person B\"], \"min_attendance\": 1}",
+        MeetingRequest.class);
+  }
+
+  @Test(expected = JsonParseException.class)
+  public void eventWithoutTimeIsRejected() {
+    JsonCodec.GSON.fromJson("{\"title\": \"Event 1\", \"attendees\": []}", Event.class);
+  }
+
+  @Test
+  public void writesTimeRangesAsArray() throws IOException {
+    Collection<TimeRange> ranges = Arrays.asList(TIME_0830_0900, TIME_1000_1100);
+    StringWriter out = new StringWriter();
+
+    JsonCodec.writeTimeRanges(ranges, out);
+
+    Assert.assertEquals(reflective.toJson(ranges), out.toString());
+  }
+
+  @Test
+  public void readsArrayOfMeetingRequests() throws IOException {
+    String json = "[{\"attendees\": [\"Person A\"], \"duration\": 30}, {\"duration\": 60}]";
+
+    List<MeetingRequest> actual =
+        JsonCodec.readMeetingRequests(JsonCodec.GSON.newJsonReader(new StringReader(json)));
+
+    Assert.assertEquals(2, actual.size());
+    Assert.assertEquals(Arrays.asList(PERSON_A), new ArrayList<>(actual.get(0).getAttendees()));
+    Assert.assertEquals(60, actual.get(1).getDuration());
+  }
+
+  @Test
+  public void writesHeatmapAsRuns() throws IOException {
+    EventIndex index = new EventIndex(Arrays.asList(EVENT));
+    AvailabilityHeatmap heatmap = AvailabilityHeatmap.of(index, Arrays.asList(PERSON_A, PERSON_B));
+
+    StringWriter out = new StringWriter();
+    JsonCodec.writeHeatmap(heatmap, out);
+
+    Assert.assertEquals("{\"attendees\":2,\"runs\":[[0,2],[510,0],[540,2]]}", out.toString());
+  }
+
+  @Test
+  public void readsArrayOfNames() throws IOException {
+    List<String> actual = JsonCodec.readNames(
+        JsonCodec.GSON.newJsonReader(new StringReader("[\"Person A\", \"Person B\"]")));
+
+    Assert.assertEquals(Arrays.asList(PERSON_A, PERSON_B), actual);
+  }
+
+  @Test
+  public void readsArrayOfPairs() throws IOException {
+    List<List<String>> actual = JsonCodec.readPairs(JsonCodec.GSON.newJsonReader(
+        new StringReader("[[\"Person A\", \"Person B\"], [\"Person B\", \"Person A\"]]")));
+
+    Assert.assertEquals(Arrays.asList(
+        Arrays.asList(PERSON_A, PERSON_B), Arrays.asList(PERSON_B, PERSON_A)), actual);
+  }
+
+  @Test(expected = IOException.class)
+  public void pairOfOneIsRejected() throws IOException {
+    JsonCodec.readPairs(JsonCodec.GSON.newJsonReader(new StringReader("[[\"Person A\"]]")));
+  }
+
+  @Test
+  public void writesConflictsByAttendee() throws IOException {
+    Map<String, List<Event>> conflicts = new TreeMap<>();
+    conflicts.put(PERSON_A, Arrays.asList(EVENT));
+
+    StringWriter out = new StringWriter();
+    JsonCodec.writeConflicts(conflicts, out);
+
+    Assert.assertEquals("{\"Person A\":[" + EVENT_JSON + "]}", out.toString());
+  }
+
+  @Test
+  public void readsEventAttendeesWithoutRegisteringThem() throws IOException {
+    String name = "Nobody Else " + System.nanoTime();
+    String json = "{\"title\": \"Proposed\", \"when\": {\"start\": 510, \"duration\": 30},"
+        + " \"attendees\": [\"" + PERSON_A + "\", \"" + name + "\"]}";
+    List<String> attendees = new ArrayList<>();
+
+    TimeRange when = JsonCodec.readEventAttendees(
+        JsonCodec.GSON.newJsonReader(new StringReader(json)), attendees);
+
+    Assert.assertEquals(TIME_0830_0900, when);
+    Assert.assertEquals(Arrays.asList(PERSON_A, name), attendees);
+    Assert.assertEquals(-1, AttendeeRegistry.getDefault().idOf(name));
+  }
+
+  @Test
+  public void readsOneEventWithinBounds() throws IOException {
+    Event event = new Event("Event 1", TIME_0830_0900, Arrays.asList(PERSON_A));
+
+    Event actual = JsonCodec.readEventWithin(JsonCodec.GSON.newJsonReader(
+        new StringReader(JsonCodec.GSON.toJson(event) + "\n")), TimeRange.WHOLE_DAY);
+
+    Assert.assertEquals(event, actual);
+  }
+
+  @Test
+  public void eventOutsideBoundsIsRejectedBeforeItsNamesAreRegistered() throws IOException {
+    String name = "Person only in an event past the end of the day";
+    String json = "{\"title\": \"Late\", \"when\": {\"start\": 1430, \"duration\": 30},"
+        + " \"attendees\": [\"" + name + "\"]}";
+
+    try {
+      JsonCodec.readEventWithin(
+          JsonCodec.GSON.newJsonReader(new StringReader(json)), TimeRange.WHOLE_DAY);
+      Assert.fail("Expected the event to be rejected");
+    } catch (MalformedJsonException e) {
+      // Expected.
+    }
+
+    Assert.assertEquals(-1, AttendeeRegistry.getDefault().idOf(name));
+  }
+
+  @Test(expected = MalformedJsonException.class)
+  public void secondEventIsRejected() throws IOException {
+    String json = JsonCodec.GSON.toJson(
+        new Event("Event 1", TIME_0830_0900, Arrays.asList(PERSON_A)));
+
+    JsonCodec.readEventWithin(
+        JsonCodec.GSON.newJsonReader(new StringReader(json + json)), TimeRange.WHOLE_DAY);
+  }
+
+  @Test(expected = MalformedJsonException.class)
+  public void trailingContentAfterEventIsRejected() throws IOException {
+    String json = JsonCodec.GSON.toJson(
+        new Event("Event 1", TIME_0830_0900, Arrays.asList(PERSON_A)));
+
+    JsonCodec.readEventWithin(
+        JsonCodec.GSON.newJsonReader(new StringReader(json + " garbage")), TimeRange.WHOLE_DAY);
+  }
+}
@@ -0,0 +1,120 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class LatencyHistogramTest {
+  @Test
+  public void bucketsCoverEveryValue() {
+    long[] values = {0, 1, 7, 8, 9, 15, 16, 17, 1000, 123456789, Long.MAX_VALUE};
+    for (long value : values) {
+      int bucket = LatencyHistogram.bucketOf(value);
+      Assert.assertTrue(value < LatencyHistogram.upperBoundOf(bucket)
+          || LatencyHistogram.upperBoundOf(bucket) == Long.MAX_VALUE);
+      if (bucket > 0) {
+        Assert.assertTrue(value >= LatencyHistogram.upperBoundOf(bucket - 1));
+      }
+    }
+  }
+
+  @Test
+  public void smallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(3);
+    histogram.record(5);
+
+    Assert.assertEquals(3, histogram.getQuantile(0.5));
+    Assert.assertEquals(5, histogram.getQuantile(1));
+    Assert.assertEquals(5, histogram.getMax());
+    Assert.assertEquals(8, histogram.getSum());
+    Assert.assertEquals(2, histogram.getCount());
+  }
+
+  @Test
+  public void emptyHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    Assert.assertEquals(0, histogram.getCount());
+    Assert.assertEquals(0, histogram.getQuantile(0.99));
+    Assert.assertEquals(0, histogram.getMax());
+  }
+
+  @Test
+  public void quantilesAreWithinOneBucket() {
+    Random random = new Random(42);
+    LatencyHistogram histogram = new LatencyHistogram();
+    List<Long> values = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      long value = 1000 + random.nextInt(10_000_000);
+      values.add(value);
+      histogram.record(value);
+    }
+    values.sort(null);
+
+    for (double quantile : new double[] {0.5, 0.9, 0.99}) {
+      long expected = values.get((int) Math.ceil(quantile * values.size()) - 1);
+      long actual = histogram.getQuantile(quantile);
+      // A bucket is at most an eighth of its lower bound wide.
+      Assert.assertTrue(actual >= expected);
+      Assert.assertTrue(actual <= expected + expected / 8);
+    }
+  }
+
+  @Test
+  public void negativeValuesCountAsZero() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+
+    Assert.assertEquals(1, histogram.getCount());
+    Assert.assertEquals(0, histogram.getQuantile(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void quantileOutOfRange() {
+    new LatencyHistogram().getQuantile(1.5);
+  }
+
+  @Test
+  public void recordsFromManyThreads() throws InterruptedException {
+    LatencyHistogram histogram = new LatencyHistogram();
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; i++) {
+      long value = (i + 1) * 100;
+      threads[i] = new Thread(() -> {
+        for (int j = 0; j < 10000; j++) {
+          histogram.record(value);
+        }
+      });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    Assert.assertEquals(40000, histogram.getCount());
+    Assert.assertEquals(10000L * (100 + 200 + 300 + 400), histogram.getSum());
+    Assert.assertEquals(400, histogram.getMax());
+  }
+}
@@ -44,4 +44,50 @@ public final class MeetingRequestTest {
     int expected = 0;
     Assert.assertEquals(expected, actual);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void DoesNotMaximizeOptionalAttendanceByDefault() {
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_1_HOUR);
+
+    Assert.assertFalse(request.shouldMaximizeOptionalAttendance());
+  }
+
+  @Test
+  public void HasNoResultLimitAndStartsAtMidnightByDefault() {
+    MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), DURATION_1_HOUR);
+
+    Assert.assertEquals(0, request.getResultLimit());
+    Assert.assertEquals(TimeRange.START_OF_DAY, request.getNotBefore());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void RejectsZeroDuration() {
+    new MeetingRequest(Arrays.asList(PERSON_A), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void RejectsNegativeDuration() {
+    new MeetingRequest(Arrays.asList(PERSON_A), -30);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void RejectsNegativeResultLimit() {
+    new MeetingRequest(Arrays.asList(PERSON_A), DURATION_1_HOUR).setResultLimit(-1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void RejectsNegativeMinAttendance() {
+    new MeetingRequest(Arrays.asList(PERSON_A), DURATION_1_HOUR).setMinAttendance(-1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void RejectsNegativePadding() {
+    new MeetingRequest(Arrays.asList(PERSON_A), DURATION_1_HOUR).setPaddingAfter(-1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void RejectsNotBeforeAfterTheDay() {
+    new MeetingRequest(Arrays.asList(PERSON_A), DURATION_1_HOUR)
+        .setNotBefore(TimeRange.WHOLE_DAY.end() + 1);
+  }
+}
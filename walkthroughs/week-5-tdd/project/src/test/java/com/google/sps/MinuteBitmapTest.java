@@ -0,0 +1,151 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class MinuteBitmapTest {
+  @Test
+  public void emptyBitmapIsFreeAllDay() {
+    MinuteBitmap bitmap = new MinuteBitmap();
+
+    Collection<TimeRange> actual = bitmap.findFreeRuns(1);
+    Collection<TimeRange> expected = Arrays.asList(TimeRange.WHOLE_DAY);
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void setBusyAcrossWordBoundaries() {
+    // Minutes 60 to 130 span the first three words of the bitmap.
+    MinuteBitmap bitmap = new MinuteBitmap();
+    bitmap.setBusy(60, 130);
+
+    Assert.assertFalse(bitmap.isBusy(59));
+    Assert.assertTrue(bitmap.isBusy(60));
+    Assert.assertTrue(bitmap.isBusy(64));
+    Assert.assertTrue(bitmap.isBusy(128));
+    Assert.assertTrue(bitmap.isBusy(129));
+    Assert.assertFalse(bitmap.isBusy(130));
+  }
+
+  @Test
+  public void setBusyIsClippedToTheDay() {
+    MinuteBitmap bitmap = new MinuteBitmap();
+    bitmap.setBusy(-10, 10);
+    bitmap.setBusy(1430, 1500);
+
+    Collection<TimeRange> actual = bitmap.findFreeRuns(1);
+    Collection<TimeRange> expected = Arrays.asList(TimeRange.fromStartEnd(10, 1430, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void orCombinesBusyMinutes() {
+    MinuteBitmap a = new MinuteBitmap();
+    a.setBusy(100, 200);
+    MinuteBitmap b = new MinuteBitmap();
+    b.setBusy(300, 400);
+    a.or(b);
+
+    Collection<TimeRange> actual = a.findFreeRuns(1);
+    Collection<TimeRange> expected = Arrays.asList(TimeRange.fromStartEnd(0, 100, false),
+        TimeRange.fromStartEnd(200, 300, false),
+        TimeRange.fromStartEnd(400, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void shortRunsAreSkipped() {
+    MinuteBitmap bitmap = new MinuteBitmap();
+    bitmap.setBusy(0, 100);
+    bitmap.setBusy(110, 1400);
+
+    Collection<TimeRange> actual = bitmap.findFreeRuns(30);
+    Collection<TimeRange> expected =
+        Arrays.asList(TimeRange.fromStartEnd(1400, TimeRange.END_OF_DAY, true));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void fullyBusyDayHasNoRuns() {
+    MinuteBitmap bitmap = new MinuteBitmap();
+    bitmap.setBusy(TimeRange.WHOLE_DAY);
+
+    Assert.assertEquals(Arrays.asList(), bitmap.findFreeRuns(1));
+  }
+
+  @Test
+  public void findFreeRunsFromMinuteWithLimit() {
+    // Free runs: [0, 100), [200, 300), [400, 500), [600, END_OF_DAY].
+    MinuteBitmap bitmap = new MinuteBitmap();
+    bitmap.setBusy(100, 200);
+    bitmap.setBusy(300, 400);
+    bitmap.setBusy(500, 600);
+
+    // The run that is free at minute 250 is cut short to start there.
+    Collection<TimeRange> actual = bitmap.findFreeRuns(30, 250, 2);
+    Collection<TimeRange> expected = Arrays.asList(
+        TimeRange.fromStartEnd(250, 300, false), TimeRange.fromStartEnd(400, 500, false));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void dilateWidensBusyRunsAcrossWords() {
+    MinuteBitmap bitmap = new MinuteBitmap();
+    bitmap.setBusy(100, 110);
+    bitmap.setBusy(300, 301);
+
+    bitmap.dilate(40, 70);
+
+    Assert.assertEquals(IntervalSet.of(60, 180).union(IntervalSet.of(260, 371)),
+        bitmap.toIntervalSet());
+  }
+
+  @Test
+  public void dilateMatchesIntervalSet() {
+    Random random = new Random(42);
+    for (int trial = 0; trial < 200; trial++) {
+      IntervalSet.Builder builder = new IntervalSet.Builder();
+      int start = random.nextInt(200);
+      while (start < MinuteBitmap.MINUTES_PER_DAY) {
+        int end = start + 1 + random.nextInt(60);
+        builder.add(start, end);
+        start = end + 1 + random.nextInt(200);
+      }
+      IntervalSet busy = builder.build();
+      int earlier = random.nextInt(150);
+      int later = random.nextInt(150);
+
+      MinuteBitmap bitmap = new MinuteBitmap();
+      bitmap.setBusy(busy);
+      bitmap.dilate(earlier, later);
+
+      Assert.assertEquals(busy.dilate(earlier, later), bitmap.toIntervalSet());
+    }
+  }
+}
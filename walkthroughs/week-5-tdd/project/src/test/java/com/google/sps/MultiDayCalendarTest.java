@@ -0,0 +1,82 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class MultiDayCalendarTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final LocalDate DAY_1 = LocalDate.of(2020, 1, 1);
+  private static final LocalDate DAY_2 = LocalDate.of(2020, 1, 2);
+  private static final LocalDate DAY_3 = LocalDate.of(2020, 1, 3);
+
+  private static Event event(int start, int end, String... attendees) {
+    return new Event("Event", TimeRange.fromStartEnd(start, end, false), Arrays.asList(attendees));
+  }
+
+  @Test
+  public void daysAreSeparate() {
+    MultiDayCalendar calendar = new MultiDayCalendar.Builder()
+        .add(DAY_1, event(100, 200, PERSON_A))
+        .add(DAY_2, event(300, 400, PERSON_A))
+        .build();
+
+    Assert.assertEquals(
+        IntervalSet.of(100, 200), calendar.getDay(DAY_1).getBusyTimeline(PERSON_A));
+    Assert.assertEquals(
+        IntervalSet.of(300, 400), calendar.getDay(DAY_2).getBusyTimeline(PERSON_A));
+    Assert.assertEquals(IntervalSet.EMPTY, calendar.getDay(DAY_3).getBusyTimeline(PERSON_A));
+    Assert.assertEquals(Arrays.asList(DAY_1, DAY_2), new ArrayList<>(calendar.getDates()));
+  }
+
+  @Test
+  public void busyTimelineCombinesDays() {
+    MultiDayCalendar calendar = new MultiDayCalendar.Builder()
+        .add(DAY_1, event(100, 200, PERSON_A))
+        .add(DAY_2, event(150, 250, PERSON_A))
+        .add(DAY_3, event(500, 600, PERSON_A))
+        .add(DAY_3, event(700, 800, PERSON_B))
+        .build();
+
+    IntervalSet actual = calendar.getBusyTimeline(PERSON_A, Arrays.asList(DAY_1, DAY_2, DAY_3));
+    IntervalSet expected = IntervalSet.of(100, 250).union(IntervalSet.of(500, 600));
+
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test
+  public void busyTimelineOnlyLooksAtGivenDays() {
+    MultiDayCalendar calendar = new MultiDayCalendar.Builder()
+        .add(DAY_1, event(100, 200, PERSON_A))
+        .add(DAY_2, event(300, 400, PERSON_A))
+        .build();
+
+    Assert.assertEquals(IntervalSet.of(300, 400),
+        calendar.getBusyTimeline(PERSON_A, Collections.singletonList(DAY_2)));
+    Assert.assertEquals(IntervalSet.EMPTY,
+        calendar.getBusyTimeline(PERSON_A, Collections.emptyList()));
+  }
+}
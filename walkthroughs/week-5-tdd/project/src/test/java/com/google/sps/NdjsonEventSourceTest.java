@@ -0,0 +1,118 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class NdjsonEventSourceTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final Event EVENT_1 =
+      new Event("Event 1", TimeRange.fromStartDuration(600, 30), Arrays.asList(PERSON_A));
+  private static final Event EVENT_2 =
+      new Event("Event 2", TimeRange.fromStartDuration(300, 30), Arrays.asList(PERSON_A, PERSON_B));
+
+  @Test
+  public void readsOneEventPerLine() throws IOException {
+    Gson gson = new Gson();
+    String input = gson.toJson(EVENT_1) + "\n" + gson.toJson(EVENT_2) + "\n\n";
+
+    try (NdjsonEventSource source = new NdjsonEventSource(new StringReader(input))) {
+      Assert.assertEquals(EVENT_1, source.next());
+      Assert.assertEquals(EVENT_2, source.next());
+      Assert.assertNull(source.next());
+    }
+  }
+
+  @Test
+  public void nullLinesAreSkipped() throws IOException {
+    Gson gson = new Gson();
+    String input = "null\n" + gson.toJson(EVENT_1) + "\nnull\n" + gson.toJson(EVENT_2) + "\nnull\n";
+
+    try (NdjsonEventSource source = new NdjsonEventSource(new StringReader(input))) {
+      Assert.assertEquals(EVENT_1, source.next());
+      Assert.assertEquals(EVENT_2, source.next());
+      Assert.assertNull(source.next());
+    }
+  }
+
+  @Test
+  public void onlyNullLinesHaveNoEvents() throws IOException {
+    try (NdjsonEventSource source = new NdjsonEventSource(new StringReader("null\nnull"))) {
+      Assert.assertNull(source.next());
+    }
+  }
+
+  @Test
+  public void emptyInputHasNoEvents() throws IOException {
+    try (NdjsonEventSource source = new NdjsonEventSource(new StringReader(""))) {
+      Assert.assertNull(source.next());
+    }
+  }
+
+  @Test
+  public void unknownFieldsAreSkipped() throws IOException {
+    String input = "{\"id\": 7, \"title\": \"Event 1\", \"when\": {\"start\": 600, \"duration\": 30,"
+        + " \"timezone\": \"UTC\"}, \"attendees\": [\"Person A\"], \"notes\": {\"a\": [1]}}";
+
+    try (NdjsonEventSource source = new NdjsonEventSource(new StringReader(input))) {
+      Assert.assertEquals(EVENT_1, source.next());
+    }
+  }
+
+  @Test
+  public void missingAttendeesMeansNobody() throws IOException {
+    String input = "{\"title\": \"Event 1\", \"when\": {\"start\": 600, \"duration\": 30}}";
+
+    try (NdjsonEventSource source = new NdjsonEventSource(new StringReader(input))) {
+      Assert.assertEquals(Collections.emptySet(), source.next().getAttendees());
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void eventWithoutTimeIsRejected() throws IOException {
+    String input = "{\"title\": \"Event 1\", \"attendees\": [\"Person A\"]}";
+
+    try (NdjsonEventSource source = new NdjsonEventSource(new StringReader(input))) {
+      source.next();
+    }
+  }
+
+  @Test
+  public void loadsIntoIndex() throws IOException {
+    Gson gson = new Gson();
+    String input = gson.toJson(EVENT_1) + "\n" + gson.toJson(EVENT_2) + "\n";
+
+    EventIndex index;
+    try (NdjsonEventSource source = new NdjsonEventSource(new StringReader(input))) {
+      index = EventIndex.load(source);
+    }
+
+    Assert.assertEquals(Arrays.asList(EVENT_1, EVENT_2), index.getEvents());
+    Assert.assertEquals(Arrays.asList(EVENT_2, EVENT_1), index.getEvents(PERSON_A));
+    Assert.assertEquals(IntervalSet.of(300, 330), index.getBusyTimeline(PERSON_B));
+  }
+}
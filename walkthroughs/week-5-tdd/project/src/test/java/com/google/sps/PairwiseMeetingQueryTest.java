@@ -0,0 +1,118 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.google.sps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class PairwiseMeetingQueryTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+  private static final String PERSON_C = "Person C";
+
+  private static final EventIndex INDEX = new EventIndex(Arrays.asList(
+      new Event("Event 1", TimeRange.fromStartDuration(480, 60), Arrays.asList(PERSON_A)),
+      new Event("Event 2", TimeRange.fromStartDuration(600, 30), Arrays.asList(PERSON_B))));
+
+  private ForkJoinPool pool;
+  private PairwiseMeetingQuery pairwiseQuery;
+
+  @Before
+  public void setUp() {
+    pool = new ForkJoinPool(4);
+    pairwiseQuery = new PairwiseMeetingQuery(pool);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void noPairs() {
+    Assert.assertEquals(Collections.emptyList(),
+        pairwiseQuery.query(INDEX, Collections.<List<String>>emptyList(), 30));
+  }
+
+  @Test
+  public void commonFreeTimesOfEachPair() {
+    List<List<TimeRange>> actual = pairwiseQuery.query(INDEX,
+        Arrays.asList(Arrays.asList(PERSON_A, PERSON_B), Arrays.asList(PERSON_C, PERSON_B)), 30);
+
+    Assert.assertEquals(Arrays.asList(
+        Arrays.asList(TimeRange.fromStartEnd(0, 480, false),
+            TimeRange.fromStartEnd(540, 600, false),
+            TimeRange.fromStartEnd(630, TimeRange.END_OF_DAY, true)),
+        Arrays.asList(TimeRange.fromStartEnd(0, 600, false),
+            TimeRange.fromStartEnd(630, TimeRange.END_OF_DAY, true))),
+        actual);
+  }
+
+  @Test
+  public void matchesOneQueryPerPair() {
+    // Enough people and pairs that both steps are split across several tasks.
+    Random random = new Random(42);
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      TimeRange when = TimeRange.fromStartDuration(
+          random.nextInt(TimeRange.END_OF_DAY - 120), 15 + random.nextInt(90));
+      events.add(new Event("Event " + i, when, Arrays.asList("Person " + random.nextInt(200))));
+    }
+    EventIndex index = new EventIndex(events);
+    List<List<String>> pairs = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      pairs.add(Arrays.asList("Person " + random.nextInt(200), "Person " + random.nextInt(200)));
+    }
+
+    List<List<TimeRange>> actual = pairwiseQuery.query(index, pairs, 45);
+
+    FindMeetingQuery query = new FindMeetingQuery();
+    Assert.assertEquals(pairs.size(), actual.size());
+    for (int i = 0; i < pairs.size(); i++) {
+      Assert.assertEquals(query.query(index, new MeetingRequest(pairs.get(i), 45)), actual.get(i));
+    }
+  }
+
+  @Test
+  public void tooLongForTheDay() {
+    List<List<TimeRange>> actual = pairwiseQuery.query(INDEX,
+        Arrays.asList(Arrays.asList(PERSON_A, PERSON_B)), TimeRange.WHOLE_DAY.duration() + 1);
+
+    Assert.assertEquals(Arrays.asList(Collections.emptyList()), actual);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void pairOfThreeIsRejected() {
+    pairwiseQuery.query(INDEX, Arrays.asList(Arrays.asList(PERSON_A, PERSON_B, PERSON_C)), 30);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullPoolIsRejected() {
+    new PairwiseMeetingQuery(null);
+  }
+}
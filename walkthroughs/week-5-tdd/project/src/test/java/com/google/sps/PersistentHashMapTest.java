@@ -0,0 +1,111 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class PersistentHashMapTest {
+  @Test
+  public void editsDoNotChangeTheOriginal() {
+    PersistentHashMap.Editor<String, Integer> editor =
+        PersistentHashMap.<String, Integer>empty().edit();
+    editor.put("a", 1);
+    editor.put("b", 2);
+    PersistentHashMap<String, Integer> before = editor.build();
+
+    PersistentHashMap.Editor<String, Integer> next = before.edit();
+    next.put("a", 3);
+    next.remove("b");
+    next.put("c", 4);
+    PersistentHashMap<String, Integer> after = next.build();
+
+    Assert.assertEquals(Integer.valueOf(1), before.get("a"));
+    Assert.assertEquals(Integer.valueOf(2), before.get("b"));
+    Assert.assertNull(before.get("c"));
+    Assert.assertEquals(2, before.size());
+    Assert.assertEquals(Integer.valueOf(3), after.get("a"));
+    Assert.assertNull(after.get("b"));
+    Assert.assertEquals(Integer.valueOf(4), after.get("c"));
+    Assert.assertEquals(2, after.size());
+  }
+
+  @Test
+  public void keysWithEqualHashesAreKeptApart() {
+    // "Aa" and "BB" have the same hash code.
+    PersistentHashMap.Editor<String, Integer> editor =
+        PersistentHashMap.<String, Integer>empty().edit();
+    editor.put("Aa", 1);
+    editor.put("BB", 2);
+    PersistentHashMap<String, Integer> map = editor.build();
+
+    Assert.assertEquals(Integer.valueOf(1), map.get("Aa"));
+    Assert.assertEquals(Integer.valueOf(2), map.get("BB"));
+
+    PersistentHashMap.Editor<String, Integer> next = map.edit();
+    next.remove("Aa");
+    Assert.assertNull(next.build().get("Aa"));
+    Assert.assertEquals(Integer.valueOf(2), next.build().get("BB"));
+    Assert.assertEquals(Integer.valueOf(1), map.get("Aa"));
+  }
+
+  @Test
+  public void matchesHashMapUnderRandomEdits() {
+    Random random = new Random(1);
+    Map<Integer, Integer> expected = new HashMap<>();
+    PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+    for (int round = 0; round < 50; round++) {
+      PersistentHashMap<Integer, Integer> previous = map;
+      Map<Integer, Integer> previousExpected = new HashMap<>(expected);
+
+      PersistentHashMap.Editor<Integer, Integer> editor = map.edit();
+      for (int i = 0; i < 200; i++) {
+        // Keys that differ only in their high bits share the low bits that pick children.
+        int key = random.nextInt(1000) << random.nextInt(24);
+        if (random.nextBoolean()) {
+          editor.put(key, i);
+          expected.put(key, i);
+        } else {
+          editor.remove(key);
+          expected.remove(key);
+        }
+      }
+      map = editor.build();
+
+      assertSameEntries(expected, map);
+      assertSameEntries(previousExpected, previous);
+    }
+  }
+
+  private static void assertSameEntries(
+      Map<Integer, Integer> expected, PersistentHashMap<Integer, Integer> actual) {
+    Assert.assertEquals(expected.size(), actual.size());
+    Map<Integer, Integer> entries = new HashMap<>();
+    for (Map.Entry<Integer, Integer> entry : actual.entries()) {
+      entries.put(entry.getKey(), entry.getValue());
+    }
+    Assert.assertEquals(expected, entries);
+    for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+      Assert.assertEquals(entry.getValue(), actual.get(entry.getKey()));
+    }
+  }
+}
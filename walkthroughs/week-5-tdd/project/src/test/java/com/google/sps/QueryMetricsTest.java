@@ -0,0 +1,103 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.google.sps;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class QueryMetricsTest {
+  private static final String PERSON_A = "Person A";
+  private static final String PERSON_B = "Person B";
+
+  private static final Collection<Event> EVENTS = Arrays.asList(
+      new Event("Event 1", TimeRange.fromStartDuration(60, 30), Arrays.asList(PERSON_A)),
+      new Event("Event 2", TimeRange.fromStartDuration(120, 30), Arrays.asList(PERSON_B)),
+      new Event("Event 3", TimeRange.fromStartDuration(600, 30), Arrays.asList("Person C")));
+
+  @Test
+  public void writesPrometheusText() throws Exception {
+    QueryMetrics metrics = new QueryMetrics();
+    metrics.record(QueryMetrics.Phase.TOTAL, 2_000_000);
+    metrics.add(QueryMetrics.Counter.QUERIES, 3);
+
+    StringWriter out = new StringWriter();
+    metrics.writePrometheus(out);
+    String text = out.toString();
+
+    Assert.assertTrue(text.contains("# TYPE sps_query_phase_seconds summary\n"));
+    Assert.assertTrue(
+        text.contains("sps_query_phase_seconds{phase=\"total\",quantile=\"0.99\"} 0.002\n"));
+    Assert.assertTrue(text.contains("sps_query_phase_seconds_sum{phase=\"total\"} 0.002\n"));
+    Assert.assertTrue(text.contains("sps_query_phase_seconds_count{phase=\"total\"} 1\n"));
+    Assert.assertTrue(text.contains("sps_query_phase_seconds_count{phase=\"parse\"} 0\n"));
+    Assert.assertTrue(text.contains("sps_query_phase_max_seconds{phase=\"total\"} 0.002\n"));
+    Assert.assertTrue(text.contains("# TYPE sps_query_queries_total counter\n"));
+    Assert.assertTrue(text.contains("sps_query_queries_total 3\n"));
+    // No servlet filters or sorts events, so those would always be empty.
+    Assert.assertFalse(text.contains("phase=\"filter\""));
+    Assert.assertFalse(text.contains("phase=\"sort\""));
+    Assert.assertFalse(text.contains("sps_query_events_scanned_total"));
+  }
+
+  @Test
+  public void queryRecordsItsPhases() {
+    for (FindMeetingQuery.Engine engine : FindMeetingQuery.Engine.values()) {
+      QueryMetrics metrics = new QueryMetrics();
+      MeetingRequest request = new MeetingRequest(Arrays.asList(PERSON_A), 30);
+      request.addOptionalAttendee(PERSON_B);
+
+      Collection<TimeRange> answer = new FindMeetingQuery(engine, metrics).query(EVENTS, request);
+
+      for (QueryMetrics.Phase phase : Arrays.asList(QueryMetrics.Phase.FILTER,
+          QueryMetrics.Phase.SORT, QueryMetrics.Phase.MERGE, QueryMetrics.Phase.GAPS)) {
+        Assert.assertEquals(1, metrics.getHistogram(phase).getCount());
+      }
+      // Parsing and encoding happen in the servlet.
+      Assert.assertEquals(0, metrics.getHistogram(QueryMetrics.Phase.PARSE).getCount());
+      Assert.assertEquals(1, metrics.getCount(QueryMetrics.Counter.QUERIES));
+      Assert.assertEquals(2, metrics.getCount(QueryMetrics.Counter.ATTENDEES));
+      Assert.assertEquals(3, metrics.getCount(QueryMetrics.Counter.EVENTS_SCANNED));
+      Assert.assertEquals(2, metrics.getCount(QueryMetrics.Counter.EVENTS_MATCHED));
+      Assert.assertEquals(2, metrics.getCount(QueryMetrics.Counter.BUSY_INTERVALS));
+      Assert.assertEquals(answer.size(), metrics.getCount(QueryMetrics.Counter.RESULTS));
+    }
+  }
+
+  @Test
+  public void maximizingRecordsItsPhases() {
+    QueryMetrics metrics = new QueryMetrics();
+    MeetingRequest request = new MeetingRequest(Collections.emptyList(), 30);
+    request.addOptionalAttendee(PERSON_A);
+    request.addOptionalAttendee(PERSON_B);
+    request.setMaximizeOptionalAttendance(true);
+
+    new FindMeetingQuery(FindMeetingQuery.Engine.INTERVAL, metrics)
+        .query(new EventIndex(EVENTS), request);
+
+    Assert.assertEquals(1, metrics.getHistogram(QueryMetrics.Phase.MERGE).getCount());
+    Assert.assertEquals(1, metrics.getHistogram(QueryMetrics.Phase.GAPS).getCount());
+    Assert.assertEquals(0, metrics.getHistogram(QueryMetrics.Phase.FILTER).getCount());
+    Assert.assertEquals(1, metrics.getCount(QueryMetrics.Counter.QUERIES));
+  }
+}
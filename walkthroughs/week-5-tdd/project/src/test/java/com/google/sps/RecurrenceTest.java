@@ -0,0 +1,66 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class RecurrenceTest {
+  // A Wednesday.
+  private static final LocalDate JAN_1 = LocalDate.of(2020, 1, 1);
+
+  @Test
+  public void weekdaysSkipWeekends() {
+    Recurrence recurrence = Recurrence.weekdays(JAN_1, 1);
+
+    Assert.assertEquals(Arrays.asList(JAN_1, LocalDate.of(2020, 1, 2), LocalDate.of(2020, 1, 3),
+        LocalDate.of(2020, 1, 6), LocalDate.of(2020, 1, 7)), recurrence.getDates());
+  }
+
+  @Test
+  public void twelveWeeksOfWeekdaysHaveSixtyOccurrences() {
+    Assert.assertEquals(60, Recurrence.weekdays(JAN_1, 12).size());
+  }
+
+  @Test
+  public void weeklyOnChosenDays() {
+    Recurrence recurrence =
+        Recurrence.weekly(JAN_1, 2, EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY));
+
+    Assert.assertEquals(Arrays.asList(LocalDate.of(2020, 1, 2), LocalDate.of(2020, 1, 6),
+        LocalDate.of(2020, 1, 9), LocalDate.of(2020, 1, 13)), recurrence.getDates());
+  }
+
+  @Test
+  public void dailyIncludesEveryDay() {
+    Recurrence recurrence = Recurrence.daily(JAN_1, 3);
+
+    Assert.assertEquals(Arrays.asList(JAN_1, LocalDate.of(2020, 1, 2), LocalDate.of(2020, 1, 3)),
+        recurrence.getDates());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void negativeWeeksAreRejected() {
+    Recurrence.weekdays(JAN_1, -1);
+  }
+}
@@ -0,0 +1,202 @@
+// Copyright 2019 Google LLC
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.google.sps.servlets;
+
+import com.google.sps.Events;
+import com.google.sps.JsonCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** */
+@RunWith(JUnit4.class)
+public final class GetEventsServletTest {
+  private final GetEventsServlet servlet = new GetEventsServlet();
+
+  @Test
+  public void plainJsonWithoutAcceptEncoding() throws IOException {
+    FakeResponse response = get(new HashMap<>(), new HashMap<>());
+
+    Assert.assertEquals(HttpServletResponse.SC_OK, response.status);
+    Assert.assertNull(response.headers.get("Content-Encoding"));
+    Assert.assertEquals(JsonCodec.GSON.toJson(Arrays.asList(Events.events)) + "\n",
+        response.body());
+    Assert.assertTrue(response.headers.get("ETag").matches("\"[0-9a-f]+\""));
+  }
+
+  @Test
+  public void gzippedJsonWhenAccepted() throws IOException {
+    FakeResponse plain = get(new HashMap<>(), new HashMap<>());
+    FakeResponse gzipped = get(new HashMap<>(), headers("Accept-Encoding", "deflate, gzip"));
+
+    Assert.assertEquals("gzip", gzipped.headers.get("Content-Encoding"));
+    Assert.assertEquals(plain.body(), gunzip(gzipped.bytes.toByteArray()));
+    // The two encodings are different representations, so their ETags differ.
+    Assert.assertNotEquals(plain.headers.get("ETag"), gzipped.headers.get("ETag"));
+    Assert.assertEquals("Accept-Encoding", gzipped.headers.get("Vary"));
+  }
+
+  @Test
+  public void gzipWithZeroQualityIsRefused() throws IOException {
+    FakeResponse response = get(new HashMap<>(), headers("Accept-Encoding", "gzip;q=0"));
+
+    Assert.assertNull(response.headers.get("Content-Encoding"));
+  }
+
+  @Test
+  public void matchingIfNoneMatchGetsNotModified() throws IOException {
+    Map<String, String[]> filter = new HashMap<>();
+    filter.put("attendee", new String[] {"Amelia"});
+    filter.put("start", new String[] {"600"});
+    Map<String, String[]> everything = new HashMap<>();
+    for (Map<String, String[]> parameters : Arrays.asList(everything, filter)) {
+      for (String acceptEncoding : Arrays.asList("identity", "gzip")) {
+        FakeResponse first = get(parameters, headers("Accept-Encoding", acceptEncoding));
+        String etag = first.headers.get("ETag");
+        Map<String, String> revalidate = headers("Accept-Encoding", acceptEncoding);
+        revalidate.put("If-None-Match", "\"other\", W/" + etag);
+
+        FakeResponse second = get(parameters, revalidate);
+
+        Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED, second.status);
+        Assert.assertEquals(etag, second.headers.get("ETag"));
+        Assert.assertEquals(0, second.bytes.size());
+      }
+    }
+  }
+
+  @Test
+  public void staleIfNoneMatchGetsTheEvents() throws IOException {
+    FakeResponse response = get(new HashMap<>(), headers("If-None-Match", "\"stale\""));
+
+    Assert.assertEquals(HttpServletResponse.SC_OK, response.status);
+    Assert.assertTrue(response.bytes.size() > 0);
+  }
+
+  @Test
+  public void invalidWindowIsBadRequest() throws IOException {
+    Map<String, String[]> parameters = new HashMap<>();
+    parameters.put("start", new String[] {"noon"});
+
+    Assert.assertEquals(HttpServletResponse.SC_BAD_REQUEST,
+        get(parameters, new HashMap<>()).status);
+  }
+
+  private FakeResponse get(Map<String, String[]> parameters, Map<String, String> headers)
+      throws IOException {
+    HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(
+        getClass().getClassLoader(), new Class<?>[] {HttpServletRequest.class},
+        (Object proxy, Method method, Object[] args) -> {
+          switch (method.getName()) {
+            case "getParameterValues":
+              return parameters.get(args[0]);
+            case "getParameter":
+              String[] values = parameters.get(args[0]);
+              return values == null ? null : values[0];
+            case "getHeader":
+              return headers.get(args[0]);
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+    FakeResponse response = new FakeResponse();
+    servlet.doGet(request, response.proxy());
+    return response;
+  }
+
+  private static Map<String, String> headers(String name, String value) {
+    Map<String, String> headers = new HashMap<>();
+    headers.put(name, value);
+    return headers;
+  }
+
+  private static String gunzip(byte[] gzipped) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+      byte[] buffer = new byte[4096];
+      for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+        out.write(buffer, 0, read);
+      }
+    }
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Records what a servlet sets on its response.
+   */
+  private static final class FakeResponse {
+    int status = HttpServletResponse.SC_OK;
+    final Map<String, String> headers = new HashMap<>();
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    String body() {
+      return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    HttpServletResponse proxy() {
+      ServletOutputStream out = new ServletOutputStream() {
+        @Override
+        public void write(int b) {
+          bytes.write(b);
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {}
+      };
+      return (HttpServletResponse) Proxy.newProxyInstance(
+          FakeResponse.class.getClassLoader(), new Class<?>[] {HttpServletResponse.class},
+          (Object proxy, Method method, Object[] args) -> {
+            switch (method.getName()) {
+              case "setHeader":
+                headers.put((String) args[0], (String) args[1]);
+                return null;
+              case "setStatus":
+              case "sendError":
+                status = (Integer) args[0];
+                return null;
+              case "getOutputStream":
+                return out;
+              case "setContentType":
+              case "setCharacterEncoding":
+              case "setContentLength":
+                return null;
+              default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+          });
+    }
+  }
+}